@@ -0,0 +1,174 @@
+package fix.parser.message.base;
+
+/**
+ * Decodes numeric FIX values straight from the ASCII bytes of a {@link MessageBytes}, without building an
+ * intermediate {@link String}.
+ * <p>
+ * The methods accept what {@link Long#parseLong(String)} and {@link Double#parseDouble(String)} accept for the
+ * formats FIX allows, and throw {@link NumberFormatException} for anything else.
+ */
+public final class AsciiNumbers {
+    // Up to 18 digits always fit in a long without overflow checks
+    private static final int MAX_SAFE_LONG_DIGITS = 18;
+    // Integers up to 2^53 and powers of ten up to 10^22 are exact doubles, so one division rounds correctly
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private AsciiNumbers() {
+    }
+
+    /**
+     * Decodes an optionally signed decimal integer.
+     *
+     * @throws NumberFormatException If the bytes are not an integer or it does not fit in an {@code int}
+     */
+    public static int parseInt(MessageBytes bytes, int offset, int length) {
+        long value = parseLong(bytes, offset, length);
+        if (value != (int) value) {
+            throw new NumberFormatException("Value out of int range: " + bytes.toString(offset, length));
+        }
+        return (int) value;
+    }
+
+    /**
+     * Decodes an optionally signed decimal integer.
+     *
+     * @throws NumberFormatException If the bytes are not an integer or it does not fit in a {@code long}
+     */
+    public static long parseLong(MessageBytes bytes, int offset, int length) {
+        int pos = offset;
+        int end = offset + length;
+        boolean negative = false;
+        if (pos < end && (bytes.get(pos) == '-' || bytes.get(pos) == '+')) {
+            negative = bytes.get(pos) == '-';
+            pos++;
+        }
+        if (pos == end) {
+            throw new NumberFormatException("Not a number: " + bytes.toString(offset, length));
+        }
+        if (end - pos > MAX_SAFE_LONG_DIGITS) {
+            return Long.parseLong(bytes.toString(offset, length));
+        }
+        long value = 0;
+        for (; pos < end; pos++) {
+            int digit = bytes.get(pos) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Not a number: " + bytes.toString(offset, length));
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Decodes a decimal number such as {@code 150.25} or {@code -0.0001}. Values with at most 15 significant
+     * digits and 22 decimals, which covers FIX prices and quantities, are decoded exactly without allocating;
+     * anything else falls back to {@link Double#parseDouble(String)}.
+     *
+     * @throws NumberFormatException If the bytes are not a number
+     */
+    public static double parseDouble(MessageBytes bytes, int offset, int length) {
+        int pos = offset;
+        int end = offset + length;
+        boolean negative = false;
+        if (pos < end && (bytes.get(pos) == '-' || bytes.get(pos) == '+')) {
+            negative = bytes.get(pos) == '-';
+            pos++;
+        }
+        long mantissa = 0;
+        int digits = 0;             // Significant digits, not counting leading zeros
+        int decimals = 0;
+        boolean point = false;
+        boolean anyDigit = false;
+        for (; pos < end; pos++) {
+            byte b = bytes.get(pos);
+            if (b >= '0' && b <= '9') {
+                if (digits == MAX_SAFE_LONG_DIGITS) {
+                    return parseDoubleSlow(bytes, offset, length);
+                }
+                anyDigit = true;
+                mantissa = mantissa * 10 + (b - '0');
+                if (mantissa != 0) {
+                    digits++;
+                }
+                if (point) {
+                    decimals++;
+                }
+            } else if (b == '.' && !point) {
+                point = true;
+            } else {
+                return parseDoubleSlow(bytes, offset, length);
+            }
+        }
+        if (!anyDigit) {
+            throw new NumberFormatException("Not a number: " + bytes.toString(offset, length));
+        }
+        if (mantissa > MAX_EXACT_MANTISSA || decimals >= POWERS_OF_TEN.length) {
+            return parseDoubleSlow(bytes, offset, length);
+        }
+        double value = mantissa / POWERS_OF_TEN[decimals];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Decodes a decimal number as a fixed-point {@code long} with {@code scale} decimals, so {@code 150.25} at
+     * scale 4 is {@code 1502500}. Extra decimals are rounded half away from zero.
+     *
+     * @throws NumberFormatException    If the bytes are not a plain decimal number
+     * @throws ArithmeticException      If the scaled value does not fit in a {@code long}
+     * @throws IllegalArgumentException If {@code scale} is negative or above 18
+     */
+    public static long parseDecimal(MessageBytes bytes, int offset, int length, int scale) {
+        if (scale < 0 || scale > MAX_SAFE_LONG_DIGITS) {
+            throw new IllegalArgumentException("Unsupported decimal scale: " + scale);
+        }
+        int pos = offset;
+        int end = offset + length;
+        boolean negative = false;
+        if (pos < end && (bytes.get(pos) == '-' || bytes.get(pos) == '+')) {
+            negative = bytes.get(pos) == '-';
+            pos++;
+        }
+        long value = 0;
+        int decimals = -1;          // -1 until the decimal point is seen
+        boolean anyDigit = false;
+        boolean roundUp = false;
+        for (; pos < end; pos++) {
+            byte b = bytes.get(pos);
+            if (b >= '0' && b <= '9') {
+                anyDigit = true;
+                if (decimals < scale) {
+                    value = Math.addExact(Math.multiplyExact(value, 10), b - '0');
+                    if (decimals >= 0) {
+                        decimals++;
+                    }
+                } else if (decimals == scale) {
+                    // First dropped digit decides the rounding, the following ones cannot change it
+                    roundUp = b >= '5';
+                    decimals++;
+                }
+            } else if (b == '.' && decimals < 0) {
+                decimals = 0;
+            } else {
+                throw new NumberFormatException("Not a decimal: " + bytes.toString(offset, length));
+            }
+        }
+        if (!anyDigit) {
+            throw new NumberFormatException("Not a decimal: " + bytes.toString(offset, length));
+        }
+        for (int i = Math.max(decimals, 0); i < scale; i++) {
+            value = Math.multiplyExact(value, 10);
+        }
+        if (roundUp) {
+            value = Math.addExact(value, 1);
+        }
+        return negative ? -value : value;
+    }
+
+    private static double parseDoubleSlow(MessageBytes bytes, int offset, int length) {
+        return Double.parseDouble(bytes.toString(offset, length));
+    }
+}
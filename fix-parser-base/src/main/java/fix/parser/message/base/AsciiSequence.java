@@ -0,0 +1,160 @@
+package fix.parser.message.base;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * A reusable {@link CharSequence} view over ISO-8859-1 bytes, typically a field value inside a raw FIX message.
+ * <p>
+ * A view is re-pointed with {@link #wrap(MessageBytes, int, int)} instead of being reallocated, and its comparison
+ * helpers work on the bytes directly, so reading and comparing string fields allocates nothing, whether the
+ * message is in an array or a direct buffer. The view does not copy the bytes: it is only valid while the
+ * underlying message is. Call {@link #toString()} to keep the value.
+ * <p>
+ * {@link #hashCode()} matches {@link String#hashCode()} for the same characters, while {@link #equals(Object)} is
+ * only true for other {@code AsciiSequence} instances; use {@link #contentEquals(CharSequence)} to compare with
+ * a {@code String}.
+ */
+public final class AsciiSequence implements CharSequence {
+    private MessageBytes bytes;
+    private MessageBytes ownBytes;  // Re-pointed by wrap(byte[], ...), so that wrapping an array does not allocate
+    private int offset;
+    private int length;
+
+    public AsciiSequence() {
+        this.bytes = new MessageBytes();
+    }
+
+    public AsciiSequence(byte[] bytes, int offset, int length) {
+        wrap(bytes, offset, length);
+    }
+
+    /**
+     * Re-points this view at {@code length} bytes of {@code bytes} starting at {@code offset}.
+     *
+     * @return This view
+     */
+    public AsciiSequence wrap(byte[] bytes, int offset, int length) {
+        if (ownBytes == null) {
+            ownBytes = new MessageBytes();
+        }
+        return wrap(ownBytes.wrap(bytes), offset, length);
+    }
+
+    /**
+     * Re-points this view at {@code length} bytes of {@code bytes} starting at {@code offset}. The view keeps a
+     * reference to {@code bytes}, so it follows {@code bytes} if that is re-pointed in turn.
+     *
+     * @return This view
+     */
+    public AsciiSequence wrap(MessageBytes bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+        return (char) (bytes.get(offset + index) & 0xFF);
+    }
+
+    /**
+     * Returns a new view over the same bytes.
+     */
+    @Override
+    public AsciiSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") out of bounds for length " + length);
+        }
+        return new AsciiSequence().wrap(new MessageBytes().wrap(bytes), offset + start, end - start);
+    }
+
+    public byte byteAt(int index) {
+        return bytes.get(offset + index);
+    }
+
+    public boolean contentEquals(CharSequence other) {
+        if (other.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if ((bytes.get(offset + i) & 0xFF) != other.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares with a constant held as ISO-8859-1 bytes, such as a pre-encoded symbol or MsgType.
+     */
+    public boolean contentEquals(byte[] other) {
+        return other.length == length && bytes.contentEquals(offset, other, 0, length);
+    }
+
+    public boolean startsWith(CharSequence prefix) {
+        if (prefix.length() > length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if ((bytes.get(offset + i) & 0xFF) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean startsWith(byte[] prefix) {
+        return prefix.length <= length && bytes.contentEquals(offset, prefix, 0, prefix.length);
+    }
+
+    /**
+     * Copies the bytes into {@code target} at {@code targetOffset}, e.g. to echo a value into an outbound message.
+     */
+    public void copyTo(byte[] target, int targetOffset) {
+        bytes.getBytes(offset, target, targetOffset, length);
+    }
+
+    /**
+     * Copies the bytes into {@code target} at its position, advancing the position.
+     */
+    public void copyTo(ByteBuffer target) {
+        if (length > target.remaining()) {
+            throw new BufferOverflowException();
+        }
+        bytes.getBytes(offset, target, target.position(), length);
+        target.position(target.position() + length);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof AsciiSequence other && other.length == length
+            && bytes.contentEquals(offset, other.bytes, other.offset, length);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + (bytes.get(i) & 0xFF);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return bytes.toString(offset, length);
+    }
+}
@@ -0,0 +1,427 @@
+package fix.parser.message.base;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+
+/**
+ * Writes a FIX message as tag=value fields straight into a caller-supplied buffer, without building Strings.
+ * <p>
+ * {@link #wrap(byte[], int, CharSequence)} writes BeginString(8), room for BodyLength(9) and MsgType(35). The
+ * other fields are written in call order, so the caller keeps to the FIX field order: header fields first, and
+ * every repeating group instance starting with its delimiter. {@link #finish()} then backfills BodyLength and
+ * appends CheckSum(10) in one pass over the message.
+ * <p>
+ * An encoder is reusable but not thread-safe. Writing past the end of the buffer throws
+ * {@link IndexOutOfBoundsException}.
+ */
+public final class FixEncoder {
+    private static final byte FIELD_SEPARATOR = 0x01;
+    private static final int MAX_DECIMAL_SCALE = 18;
+    // Doubles are written with at most this many decimals, enough for any FIX price or quantity
+    private static final int MAX_DOUBLE_DECIMALS = 8;
+    private static final long[] POWERS_OF_TEN = new long[MAX_DECIMAL_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final byte[] prefix;       // "8=<BeginString>\u00019="
+    private byte[] buffer;
+    private int offset;                // Start of the message
+    private int bodyStart;             // First byte counted by BodyLength
+    private int lengthDigits;          // Digits reserved for BodyLength
+    private int position;
+    private ByteBuffer target;         // Buffer to copy the finished message into, or null
+    private byte[] scratch = new byte[0];
+
+    /**
+     * @param beginString The BeginString(8) of every message, such as {@code FIX.4.4}
+     */
+    public FixEncoder(String beginString) {
+        this.prefix = ("8=" + beginString + "\u00019=").getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Starts a message at {@code offset} of {@code buffer}.
+     *
+     * @return This encoder
+     */
+    public FixEncoder wrap(byte[] buffer, int offset, CharSequence msgType) {
+        this.target = null;
+        start(buffer, offset, buffer.length - offset, msgType);
+        return this;
+    }
+
+    /**
+     * Starts a message at the position of {@code buffer}; {@link #finish()} advances the position past it. A heap
+     * buffer is written in place, while a direct or read-only buffer receives the message in one bulk copy when
+     * it is finished.
+     *
+     * @return This encoder
+     */
+    public FixEncoder wrap(ByteBuffer buffer, CharSequence msgType) {
+        if (buffer.hasArray()) {
+            start(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), msgType);
+        } else {
+            if (scratch.length < buffer.remaining()) {
+                scratch = new byte[buffer.remaining()];
+            }
+            start(scratch, 0, buffer.remaining(), msgType);
+        }
+        this.target = buffer;
+        return this;
+    }
+
+    /**
+     * Starts writing bare fields at {@code offset} of {@code buffer}, without BeginString, BodyLength or MsgType,
+     * for splicing them into an existing message. {@link #finish()} cannot be called until the next message.
+     *
+     * @return This encoder
+     */
+    public FixEncoder wrapFields(byte[] buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.target = null;
+        this.bodyStart = -1;
+        this.position = offset;
+        return this;
+    }
+
+    private void start(byte[] buffer, int offset, int capacity, CharSequence msgType) {
+        this.buffer = buffer;
+        this.offset = offset;
+        System.arraycopy(prefix, 0, buffer, offset, prefix.length);
+        // BodyLength cannot have more digits than the capacity has
+        this.lengthDigits = digitCount(capacity);
+        this.bodyStart = offset + prefix.length + lengthDigits + 1;
+        this.position = bodyStart;
+        putString(35, msgType);
+    }
+
+    /**
+     * Backfills BodyLength(9) and appends CheckSum(10).
+     *
+     * @return The length of the message in bytes
+     * @throws IllegalStateException If bare fields are being written
+     */
+    public int finish() {
+        if (bodyStart < 0) {
+            throw new IllegalStateException("Not encoding a message");
+        }
+        int bodyLength = position - bodyStart;
+        int digits = digitCount(bodyLength);
+        int shift = lengthDigits - digits;
+        int checksum = 0;
+        if (shift > 0) {
+            // Close the gap left by the digits reserved for BodyLength, summing the body as it is moved
+            for (int i = bodyStart; i < position; i++) {
+                byte b = buffer[i];
+                buffer[i - shift] = b;
+                checksum += b;
+            }
+            bodyStart -= shift;
+            position -= shift;
+        } else {
+            for (int i = bodyStart; i < position; i++) {
+                checksum += buffer[i];
+            }
+        }
+        writeDigits(bodyStart - 1 - digits, bodyLength, digits);
+        buffer[bodyStart - 1] = FIELD_SEPARATOR;
+        // Then the few bytes of BeginString and BodyLength, so the body is read only once
+        for (int i = offset; i < bodyStart; i++) {
+            checksum += buffer[i];
+        }
+        putTag(10);
+        writeDigits(position, checksum & 0xFF, 3);
+        position += 3;
+        buffer[position++] = FIELD_SEPARATOR;
+
+        int length = position - offset;
+        if (target != null) {
+            if (target.hasArray()) {
+                target.position(target.position() + length);
+            } else {
+                target.put(buffer, offset, length);
+            }
+            target = null;
+        }
+        return length;
+    }
+
+    /**
+     * @return Bytes written so far, including the room reserved for BodyLength when encoding a message
+     */
+    public int length() {
+        return position - offset;
+    }
+
+    public FixEncoder putString(int tag, CharSequence value) {
+        putTag(tag);
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            buffer[position + i] = (byte) value.charAt(i);
+        }
+        position += length;
+        buffer[position++] = FIELD_SEPARATOR;
+        return this;
+    }
+
+    /**
+     * Writes a DATA value, which may contain any byte including the field separator.
+     */
+    public FixEncoder putBytes(int tag, byte[] value, int valueOffset, int valueLength) {
+        putTag(tag);
+        System.arraycopy(value, valueOffset, buffer, position, valueLength);
+        position += valueLength;
+        buffer[position++] = FIELD_SEPARATOR;
+        return this;
+    }
+
+    public FixEncoder putChar(int tag, char value) {
+        putTag(tag);
+        buffer[position++] = (byte) value;
+        buffer[position++] = FIELD_SEPARATOR;
+        return this;
+    }
+
+    public FixEncoder putBoolean(int tag, boolean value) {
+        return putChar(tag, value ? 'Y' : 'N');
+    }
+
+    public FixEncoder putInt(int tag, int value) {
+        return putLong(tag, value);
+    }
+
+    public FixEncoder putLong(int tag, long value) {
+        putTag(tag);
+        writeLong(value);
+        buffer[position++] = FIELD_SEPARATOR;
+        return this;
+    }
+
+    /**
+     * Writes a fixed-point value with {@code scale} decimals, so {@code 1502500} at scale 4 is {@code 150.2500}.
+     *
+     * @throws IllegalArgumentException If {@code scale} is negative or above 18
+     */
+    public FixEncoder putDecimal(int tag, long unscaled, int scale) {
+        if (scale < 0 || scale > MAX_DECIMAL_SCALE) {
+            throw new IllegalArgumentException("Unsupported decimal scale: " + scale);
+        }
+        putTag(tag);
+        writeDecimal(unscaled, scale);
+        buffer[position++] = FIELD_SEPARATOR;
+        return this;
+    }
+
+    /**
+     * Writes a decimal number with the fewest decimals that read back as the same {@code double}, rounding to
+     * eight decimals at most. Values too large for that fixed-point form are written through {@link BigDecimal}.
+     *
+     * @throws IllegalArgumentException If {@code value} is NaN or infinite
+     */
+    public FixEncoder putDouble(int tag, double value) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("Not a FIX decimal: " + value);
+        }
+        putTag(tag);
+        if (Math.abs(value) * POWERS_OF_TEN[MAX_DOUBLE_DECIMALS] >= Long.MAX_VALUE) {
+            String plain = BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+            for (int i = 0; i < plain.length(); i++) {
+                buffer[position++] = (byte) plain.charAt(i);
+            }
+        } else {
+            int scale = 0;
+            long unscaled = Math.round(value);
+            while (scale < MAX_DOUBLE_DECIMALS && unscaled / (double) POWERS_OF_TEN[scale] != value) {
+                scale++;
+                unscaled = Math.round(value * POWERS_OF_TEN[scale]);
+            }
+            writeDecimal(unscaled, scale);
+        }
+        buffer[position++] = FIELD_SEPARATOR;
+        return this;
+    }
+
+    /**
+     * Writes a UTCTimestamp with millisecond precision.
+     */
+    public FixEncoder putEpochMillis(int tag, long epochMillis) {
+        return putTimestamp(tag, Math.floorDiv(epochMillis, 1_000L), Math.floorMod(epochMillis, 1_000L) * 1_000_000L, 3);
+    }
+
+    /**
+     * Writes a UTCTimestamp with microsecond precision.
+     */
+    public FixEncoder putEpochMicros(int tag, long epochMicros) {
+        return putTimestamp(tag, Math.floorDiv(epochMicros, 1_000_000L), Math.floorMod(epochMicros, 1_000_000L) * 1_000L, 6);
+    }
+
+    /**
+     * Writes a UTCTimestamp with nanosecond precision.
+     */
+    public FixEncoder putEpochNanos(int tag, long epochNanos) {
+        return putTimestamp(tag, Math.floorDiv(epochNanos, 1_000_000_000L), Math.floorMod(epochNanos, 1_000_000_000L), 9);
+    }
+
+    /**
+     * Writes a UTCTimestamp with millisecond, microsecond or nanosecond precision, whichever keeps every digit.
+     */
+    public FixEncoder putInstant(int tag, Instant value) {
+        return putTimestamp(tag, value.getEpochSecond(), value.getNano(), fractionDigits(value.getNano()));
+    }
+
+    /**
+     * Writes a UTCTimeOnly with millisecond, microsecond or nanosecond precision, whichever keeps every digit.
+     */
+    public FixEncoder putNanoOfDay(int tag, long nanoOfDay) {
+        putTag(tag);
+        int nanos = (int) (nanoOfDay % 1_000_000_000L);
+        writeTime(nanoOfDay / 1_000_000_000L, nanos, fractionDigits(nanos));
+        buffer[position++] = FIELD_SEPARATOR;
+        return this;
+    }
+
+    public FixEncoder putLocalTime(int tag, LocalTime value) {
+        return putNanoOfDay(tag, value.toNanoOfDay());
+    }
+
+    /**
+     * Writes a UTCDateOnly or LocalMktDate given as an {@code int} of the form {@code yyyymmdd}.
+     */
+    public FixEncoder putDate(int tag, int yyyymmdd) {
+        putTag(tag);
+        writeDigits(position, yyyymmdd, 8);
+        position += 8;
+        buffer[position++] = FIELD_SEPARATOR;
+        return this;
+    }
+
+    public FixEncoder putLocalDate(int tag, LocalDate value) {
+        return putDate(tag, value.getYear() * 10_000 + value.getMonthValue() * 100 + value.getDayOfMonth());
+    }
+
+    public FixEncoder putYearMonth(int tag, YearMonth value) {
+        putTag(tag);
+        writeDigits(position, value.getYear() * 100 + value.getMonthValue(), 6);
+        position += 6;
+        buffer[position++] = FIELD_SEPARATOR;
+        return this;
+    }
+
+    private FixEncoder putTimestamp(int tag, long epochSecond, long nanos, int fractionDigits) {
+        putTag(tag);
+        long epochDay = Math.floorDiv(epochSecond, 86_400L);
+        writeDate(epochDay);
+        buffer[position++] = '-';
+        writeTime(epochSecond - epochDay * 86_400L, (int) nanos, fractionDigits);
+        buffer[position++] = FIELD_SEPARATOR;
+        return this;
+    }
+
+    private void putTag(int tag) {
+        int digits = digitCount(tag);
+        writeDigits(position, tag, digits);
+        position += digits;
+        buffer[position++] = '=';
+    }
+
+    private void writeLong(long value) {
+        if (value < 0) {
+            buffer[position++] = '-';
+        }
+        // Digits are taken from the negative value, which also covers Long.MIN_VALUE
+        long negative = value < 0 ? value : -value;
+        int digits = 1;
+        for (long v = negative; v <= -10; v /= 10) {
+            digits++;
+        }
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' - negative % 10);
+            negative /= 10;
+        }
+        position += digits;
+    }
+
+    private void writeDecimal(long unscaled, int scale) {
+        if (scale == 0) {
+            writeLong(unscaled);
+            return;
+        }
+        long power = POWERS_OF_TEN[scale];
+        if (unscaled < 0) {
+            buffer[position++] = '-';
+        }
+        long negative = unscaled < 0 ? unscaled : -unscaled;
+        writeLong(-(negative / power));
+        buffer[position++] = '.';
+        writeDigits(position, -(negative % power), scale);
+        position += scale;
+    }
+
+    /**
+     * Writes {@code YYYYMMDD} for days since the epoch, inverting the calendar arithmetic of
+     * {@link FixTimestamps#epochDay(MessageBytes, int, int)}.
+     */
+    private void writeDate(long epochDay) {
+        long dayOfEra = epochDay + 719_468;
+        long era = Math.floorDiv(dayOfEra, 146_097);
+        dayOfEra -= era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long monthIndex = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * monthIndex + 2) / 5 + 1);
+        int month = (int) (monthIndex < 10 ? monthIndex + 3 : monthIndex - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        writeDigits(position, year * 10_000 + month * 100 + day, 8);
+        position += 8;
+    }
+
+    private void writeTime(long secondOfDay, int nanos, int fractionDigits) {
+        writeDigits(position, secondOfDay / 3600, 2);
+        buffer[position + 2] = ':';
+        writeDigits(position + 3, secondOfDay / 60 % 60, 2);
+        buffer[position + 5] = ':';
+        writeDigits(position + 6, secondOfDay % 60, 2);
+        position += 8;
+        if (fractionDigits > 0) {
+            buffer[position++] = '.';
+            writeDigits(position, nanos / POWERS_OF_TEN[9 - fractionDigits], fractionDigits);
+            position += fractionDigits;
+        }
+    }
+
+    /**
+     * Writes the last {@code digits} decimal digits of the non-negative {@code value} at {@code pos}, zero-padded.
+     */
+    private void writeDigits(int pos, long value, int digits) {
+        for (int i = pos + digits - 1; i >= pos; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static int fractionDigits(int nanos) {
+        if (nanos % 1_000_000 == 0) {
+            return 3;
+        }
+        return nanos % 1_000 == 0 ? 6 : 9;
+    }
+
+    private static int digitCount(long value) {
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        return digits;
+    }
+}
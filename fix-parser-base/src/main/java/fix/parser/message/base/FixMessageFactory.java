@@ -0,0 +1,26 @@
+package fix.parser.message.base;
+
+/**
+ * Creates the generated message wrappers of one FIX specification version, dispatching on the raw MsgType(35)
+ * bytes without creating a {@code String}.
+ * <p>
+ * Message types are identified by a dense index in {@code [0, messageTypeCount())}, which callers can use to
+ * index their own per-type arrays.
+ */
+public interface FixMessageFactory {
+    /**
+     * @return The number of message types of the specification
+     */
+    int messageTypeCount();
+
+    /**
+     * @return The index of the message type held in {@code length} bytes of {@code bytes} starting at
+     * {@code offset}, or -1 if the specification does not define it
+     */
+    int messageIndex(byte[] bytes, int offset, int length);
+
+    /**
+     * Wraps {@code segment} in the generated class of the message type at {@code messageIndex}.
+     */
+    FixMessage create(int messageIndex, Segment segment);
+}
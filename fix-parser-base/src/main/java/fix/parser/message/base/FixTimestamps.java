@@ -0,0 +1,182 @@
+package fix.parser.message.base;
+
+/**
+ * Decodes FIX date and time values straight from the ASCII bytes of a {@link MessageBytes} into primitives,
+ * without allocating.
+ * <p>
+ * Supported formats are UTCTimestamp {@code YYYYMMDD-HH:MM:SS[.s...]}, UTCTimeOnly {@code HH:MM:SS[.s...]} and
+ * UTCDateOnly / LocalMktDate {@code YYYYMMDD}. The fraction may have one to nine digits, so millisecond,
+ * microsecond and nanosecond precision are all accepted.
+ * <p>
+ * Dates are checked against the proleptic Gregorian calendar, so a day past the end of its month, such as
+ * {@code 20230231}, is rejected. FIX allows second 60 for a leap second, and it is read as second 59 of the same
+ * minute, fraction included, as {@link java.time.format.DateTimeFormatter#ISO_INSTANT} does. Decoded values
+ * therefore never leave their day, and the {@link java.time} types built from them are always valid.
+ */
+public final class FixTimestamps {
+    private static final int DATE_LENGTH = 8;                      // YYYYMMDD
+    private static final int TIME_LENGTH = 8;                      // HH:MM:SS
+    private static final int TIMESTAMP_LENGTH = DATE_LENGTH + 1 + TIME_LENGTH;
+    private static final int MAX_FRACTION_DIGITS = 9;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    private FixTimestamps() {
+    }
+
+    /**
+     * Decodes a UTCTimestamp into nanoseconds since the epoch.
+     *
+     * @throws IllegalArgumentException If the bytes are not a UTCTimestamp
+     */
+    public static long epochNanos(MessageBytes bytes, int offset, int length) {
+        return epochSecond(bytes, offset, length) * NANOS_PER_SECOND + fractionNanos(bytes, offset, length, TIMESTAMP_LENGTH);
+    }
+
+    /**
+     * Decodes a UTCTimestamp into microseconds since the epoch, truncating any nanoseconds.
+     *
+     * @throws IllegalArgumentException If the bytes are not a UTCTimestamp
+     */
+    public static long epochMicros(MessageBytes bytes, int offset, int length) {
+        return epochSecond(bytes, offset, length) * 1_000_000L + fractionNanos(bytes, offset, length, TIMESTAMP_LENGTH) / 1_000;
+    }
+
+    /**
+     * Decodes a UTCTimestamp into milliseconds since the epoch, truncating any micro- or nanoseconds.
+     *
+     * @throws IllegalArgumentException If the bytes are not a UTCTimestamp
+     */
+    public static long epochMillis(MessageBytes bytes, int offset, int length) {
+        return epochSecond(bytes, offset, length) * 1_000L + fractionNanos(bytes, offset, length, TIMESTAMP_LENGTH) / 1_000_000;
+    }
+
+    /**
+     * Decodes a UTCTimeOnly into nanoseconds since midnight.
+     *
+     * @throws IllegalArgumentException If the bytes are not a UTCTimeOnly
+     */
+    public static long nanoOfDay(MessageBytes bytes, int offset, int length) {
+        int secondOfDay = length < TIME_LENGTH ? -1 : secondOfDay(bytes, offset);
+        if (secondOfDay < 0) {
+            throw invalid("UTCTimeOnly", bytes, offset, length);
+        }
+        return secondOfDay * NANOS_PER_SECOND + fractionNanos(bytes, offset, length, TIME_LENGTH);
+    }
+
+    /**
+     * Decodes a UTCDateOnly or LocalMktDate into an {@code int} of the form {@code yyyymmdd}, e.g. {@code 20230615}.
+     *
+     * @throws IllegalArgumentException If the bytes are not a date
+     */
+    public static int date(MessageBytes bytes, int offset, int length) {
+        int date = length != DATE_LENGTH ? -1 : digits(bytes, offset, DATE_LENGTH);
+        if (date < 0 || !isValidDate(date / 10_000, date / 100 % 100, date % 100)) {
+            throw invalid("date", bytes, offset, length);
+        }
+        return date;
+    }
+
+    /**
+     * Decodes a UTCDateOnly or LocalMktDate, or the date part of a UTCTimestamp, into days since the epoch.
+     *
+     * @throws IllegalArgumentException If the bytes do not start with a date
+     */
+    public static long epochDay(MessageBytes bytes, int offset, int length) {
+        int year = length < DATE_LENGTH ? -1 : digits(bytes, offset, 4);
+        int month = year < 0 ? -1 : digits(bytes, offset + 4, 2);
+        int day = month < 0 ? -1 : digits(bytes, offset + 6, 2);
+        if (!isValidDate(year, month, day)) {
+            throw invalid("date", bytes, offset, length);
+        }
+        return epochDay(year, month, day);
+    }
+
+    private static long epochSecond(MessageBytes bytes, int offset, int length) {
+        int secondOfDay = length < TIMESTAMP_LENGTH || bytes.get(offset + DATE_LENGTH) != '-'
+            ? -1 : secondOfDay(bytes, offset + DATE_LENGTH + 1);
+        if (secondOfDay < 0) {
+            throw invalid("UTCTimestamp", bytes, offset, length);
+        }
+        return epochDay(bytes, offset, length) * SECONDS_PER_DAY + secondOfDay;
+    }
+
+    /**
+     * Decodes {@code HH:MM:SS} at {@code pos}, or returns -1 if it is not a valid time.
+     */
+    private static int secondOfDay(MessageBytes bytes, int pos) {
+        if (bytes.get(pos + 2) != ':' || bytes.get(pos + 5) != ':') {
+            return -1;
+        }
+        int hour = digits(bytes, pos, 2);
+        int minute = digits(bytes, pos + 3, 2);
+        int second = digits(bytes, pos + 6, 2);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 60) {
+            return -1;
+        }
+        // A leap second is folded into the second before it
+        return hour * 3600 + minute * 60 + Math.min(second, 59);
+    }
+
+    /**
+     * Decodes the optional {@code .s...} fraction that follows the first {@code fixedLength} bytes.
+     */
+    private static long fractionNanos(MessageBytes bytes, int offset, int length, int fixedLength) {
+        int fractionDigits = length - fixedLength - 1;
+        if (length == fixedLength) {
+            return 0;
+        }
+        long nanos = fractionDigits < 1 || fractionDigits > MAX_FRACTION_DIGITS || bytes.get(offset + fixedLength) != '.'
+            ? -1 : digits(bytes, offset + fixedLength + 1, fractionDigits);
+        if (nanos < 0) {
+            throw invalid("time fraction", bytes, offset, length);
+        }
+        for (int i = fractionDigits; i < MAX_FRACTION_DIGITS; i++) {
+            nanos *= 10;
+        }
+        return nanos;
+    }
+
+    /**
+     * Decodes {@code count} ASCII digits, or returns -1 if any of them is not a digit.
+     */
+    private static int digits(MessageBytes bytes, int pos, int count) {
+        int result = 0;
+        for (int i = pos; i < pos + count; i++) {
+            int digit = bytes.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    private static boolean isValidDate(int year, int month, int day) {
+        if (month < 1 || month > 12 || day < 1) {
+            return false;
+        }
+        if (month == 2) {
+            boolean leapYear = (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+            return day <= (leapYear ? 29 : 28);
+        }
+        return day <= (month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31);
+    }
+
+    /**
+     * Days since 1970-01-01 in the proleptic Gregorian calendar, counting years from March so that the leap day
+     * comes last.
+     */
+    private static long epochDay(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - 719_468;
+    }
+
+    private static IllegalArgumentException invalid(String kind, MessageBytes bytes, int offset, int length) {
+        return new IllegalArgumentException("Invalid " + kind + ": " + bytes.toString(offset, length));
+    }
+}
@@ -0,0 +1,15 @@
+package fix.parser.message.base;
+
+/**
+ * Builds the repeating group segments of a message on demand, for parsers that defer group parsing until a
+ * group is first read.
+ */
+@FunctionalInterface
+public interface GroupMaterializer {
+    /**
+     * Adds the group instance segments of the whole message below {@code root}.
+     *
+     * @param pool The holder to take pooled segments from, or null to allocate them
+     */
+    void materialize(Segment root, MutableFixMessage pool);
+}
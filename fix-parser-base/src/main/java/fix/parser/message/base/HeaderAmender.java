@@ -0,0 +1,372 @@
+package fix.parser.message.base;
+
+import fix.parser.spec.ComponentDef;
+import fix.parser.spec.ComponentRef;
+import fix.parser.spec.FieldDef;
+import fix.parser.spec.FixSpec;
+import fix.parser.spec.GroupDef;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Forwards a parsed message with some header fields replaced, added or removed, without re-encoding it.
+ * <p>
+ * The amended fields are spliced in using the value positions of the parsed {@link UnderlyingMessage}: the bytes
+ * between them are copied as they are, so the body after the last amended field is one bulk copy. BodyLength(9)
+ * and CheckSum(10) are adjusted by the difference the amendments make rather than recomputed, so the work per
+ * message depends on the header, not on the body. A message whose CheckSum was wrong is forwarded with an
+ * equally wrong one; parse with checksum verification to reject it first.
+ * <p>
+ * Only the parsed fields are looked at, so a routing parse is enough when its routing tags include every amended
+ * tag; a field the parse stopped before is added again rather than replaced. The search for an amended field stops
+ * at the first field that is not in the standard header of the specification, so neither a field of the body nor
+ * the size of the body affects it. New fields are inserted right after MsgType(35). Only fields of the header
+ * itself can be amended, not those of its repeating groups. An amender is reusable and allocates nothing once its
+ * buffers have grown, but it is not thread-safe.
+ */
+public final class HeaderAmender {
+    private static final byte FIELD_SEPARATOR = 0x01;
+    private static final int BEGIN_STRING = 8;
+    private static final int BODY_LENGTH = 9;
+    private static final int CHECKSUM = 10;
+    private static final int MSG_TYPE = 35;
+    private static final int CHECKSUM_FIELD_LENGTH = "10=000\u0001".length();
+    // Room for a tag, a 64-bit number or a nanosecond timestamp and the separators
+    private static final int MAX_FORMATTED_LENGTH = 48;
+
+    private final BitSet headerTags = new BitSet();     // Every tag of the header, including its groups
+    private final BitSet amendableTags = new BitSet();  // Fields of the header outside its groups
+    // Formats the amended fields; its BeginString is never written
+    private final FixEncoder formatter = new FixEncoder("");
+    private byte[] fieldBytes = new byte[256];     // Every amended field as "tag=value<SOH>", back to back
+    private int fieldBytesLength;
+    private int[] amendedTags = new int[8];         // 0 for an amendment replaced by a later one of the same tag
+    private int[] fieldStarts = new int[8];         // Range of each amendment in fieldBytes, empty for a removal
+    private int[] fieldEnds = new int[8];
+    private int[] splicePositions = new int[8];     // Where each amendment goes in the original message
+    private int[] spliceLengths = new int[8];       // How many original bytes it replaces there
+    private int amendmentCount;
+    private UnderlyingMessage message;
+
+    /**
+     * @param spec The specification whose standard header decides which fields can be amended
+     */
+    public HeaderAmender(FixSpec spec) {
+        if (spec.header() != null) {
+            for (FieldDef field : spec.header().fields()) {
+                amendableTags.set(field.number());
+            }
+            headerTags.or(amendableTags);
+            addGroupTags(spec, spec.header().groups());
+        }
+        for (int tag : new int[]{BEGIN_STRING, BODY_LENGTH, MSG_TYPE, CHECKSUM}) {
+            amendableTags.clear(tag);
+        }
+    }
+
+    private void addGroupTags(FixSpec spec, List<GroupDef> groups) {
+        for (GroupDef group : groups) {
+            headerTags.set(spec.fields().get(group.name()).number());
+            addMemberTags(spec, group.fields(), group.groups(), group.components());
+        }
+    }
+
+    private void addMemberTags(FixSpec spec, List<FieldDef> fields, List<GroupDef> groups,
+                               List<ComponentRef> components) {
+        for (FieldDef field : fields) {
+            headerTags.set(field.number());
+        }
+        addGroupTags(spec, groups);
+        for (ComponentRef ref : components) {
+            ComponentDef component = spec.components().get(ref.name());
+            addMemberTags(spec, component.fields(), component.groups(), component.components());
+        }
+    }
+
+    /**
+     * Starts amending {@code message}, dropping the amendments of the previous one.
+     *
+     * @throws IllegalArgumentException If the message does not start with BeginString(8), BodyLength(9) and
+     *                                  MsgType(35)
+     */
+    public HeaderAmender wrap(UnderlyingMessage message) {
+        if (message.fieldCount() < 3 || message.tag(0) != BEGIN_STRING || message.tag(1) != BODY_LENGTH
+            || message.tag(2) != MSG_TYPE) {
+            throw new IllegalArgumentException("Message must start with BeginString(8), BodyLength(9) and MsgType(35)");
+        }
+        this.message = message;
+        this.fieldBytesLength = 0;
+        this.amendmentCount = 0;
+        return this;
+    }
+
+    /**
+     * Replaces the value of header field {@code tag}, or adds the field if the message does not have it.
+     *
+     * @throws IllegalArgumentException If {@code tag} is not a field of the header, or is one of BeginString(8),
+     *                                  BodyLength(9) and MsgType(35)
+     */
+    public HeaderAmender set(int tag, CharSequence value) {
+        ensureFieldBytes(MAX_FORMATTED_LENGTH + value.length());
+        formatter.wrapFields(fieldBytes, fieldBytesLength).putString(tag, value);
+        return addAmendment(tag, formatter.length());
+    }
+
+    public HeaderAmender setLong(int tag, long value) {
+        ensureFieldBytes(MAX_FORMATTED_LENGTH);
+        formatter.wrapFields(fieldBytes, fieldBytesLength).putLong(tag, value);
+        return addAmendment(tag, formatter.length());
+    }
+
+    /**
+     * Sets a UTCTimestamp with millisecond precision, such as SendingTime(52).
+     */
+    public HeaderAmender setEpochMillis(int tag, long epochMillis) {
+        ensureFieldBytes(MAX_FORMATTED_LENGTH);
+        formatter.wrapFields(fieldBytes, fieldBytesLength).putEpochMillis(tag, epochMillis);
+        return addAmendment(tag, formatter.length());
+    }
+
+    /**
+     * Sets a UTCTimestamp with nanosecond precision.
+     */
+    public HeaderAmender setEpochNanos(int tag, long epochNanos) {
+        ensureFieldBytes(MAX_FORMATTED_LENGTH);
+        formatter.wrapFields(fieldBytes, fieldBytesLength).putEpochNanos(tag, epochNanos);
+        return addAmendment(tag, formatter.length());
+    }
+
+    /**
+     * Removes header field {@code tag} if the message has it.
+     */
+    public HeaderAmender remove(int tag) {
+        return addAmendment(tag, 0);
+    }
+
+    /**
+     * Writes the amended message at {@code offset} of {@code target}.
+     *
+     * @return The length of the amended message in bytes
+     * @throws IllegalArgumentException  If the CheckSum(10) field is not where BodyLength(9) says
+     * @throws IndexOutOfBoundsException If the amended message does not fit
+     */
+    public int writeTo(byte[] target, int offset) {
+        return write(target, offset, null);
+    }
+
+    /**
+     * Writes the amended message at the position of {@code target}, advancing the position past it.
+     *
+     * @return The length of the amended message in bytes
+     * @see #writeTo(byte[], int)
+     */
+    public int writeTo(ByteBuffer target) {
+        int length = target.hasArray()
+            ? write(target.array(), target.arrayOffset() + target.position(), null)
+            : write(null, target.position(), target);
+        target.position(target.position() + length);
+        return length;
+    }
+
+    private HeaderAmender addAmendment(int tag, int length) {
+        if (!amendableTags.get(tag)) {
+            throw new IllegalArgumentException("Field " + tag + " cannot be amended");
+        }
+        for (int i = 0; i < amendmentCount; i++) {
+            if (amendedTags[i] == tag) {
+                amendedTags[i] = 0;
+            }
+        }
+        if (amendmentCount == amendedTags.length) {
+            int capacity = amendmentCount * 2;
+            amendedTags = Arrays.copyOf(amendedTags, capacity);
+            fieldStarts = Arrays.copyOf(fieldStarts, capacity);
+            fieldEnds = Arrays.copyOf(fieldEnds, capacity);
+            splicePositions = Arrays.copyOf(splicePositions, capacity);
+            spliceLengths = Arrays.copyOf(spliceLengths, capacity);
+        }
+        amendedTags[amendmentCount] = tag;
+        fieldStarts[amendmentCount] = fieldBytesLength;
+        fieldEnds[amendmentCount] = fieldBytesLength + length;
+        amendmentCount++;
+        fieldBytesLength += length;
+        return this;
+    }
+
+    private void ensureFieldBytes(int length) {
+        if (fieldBytesLength + length > fieldBytes.length) {
+            fieldBytes = Arrays.copyOf(fieldBytes, Math.max(fieldBytes.length * 2, fieldBytesLength + length));
+        }
+    }
+
+    private int write(byte[] target, int offset, ByteBuffer directTarget) {
+        MessageBytes raw = message.bytes();
+
+        int messageStart = message.valuePosition(0) - "8=".length();
+        int lengthStart = message.valuePosition(1);
+        int lengthEnd = lengthStart + message.valueLength(1);
+        int bodyStart = lengthEnd + 1;
+        int bodyLength = AsciiNumbers.parseInt(raw, lengthStart, lengthEnd - lengthStart);
+        int checksumStart = bodyStart + bodyLength;
+        int checksumEnd = checksumStart + CHECKSUM_FIELD_LENGTH;
+        if (checksumEnd > raw.capacity() || raw.get(checksumStart) != '1' || raw.get(checksumStart + 1) != '0'
+            || raw.get(checksumStart + 2) != '=' || raw.get(checksumEnd - 1) != FIELD_SEPARATOR) {
+            throw new IllegalArgumentException("No CheckSum(10) field after BodyLength(9) = " + bodyLength + " bytes");
+        }
+        int checksum = AsciiNumbers.parseInt(raw, checksumStart + 3, 3);
+
+        // Place every amendment: over the field it replaces, or after MsgType(35) when the message lacks it
+        int insertPosition = message.valuePosition(2) + message.valueLength(2) + 1;
+        int sizeChange = 0;
+        int sumChange = 0;
+        for (int i = 0; i < amendmentCount; i++) {
+            if (amendedTags[i] == 0) {
+                splicePositions[i] = insertPosition;
+                spliceLengths[i] = 0;
+                fieldEnds[i] = fieldStarts[i];
+                continue;
+            }
+            int index = headerIndexOf(amendedTags[i]);
+            if (index < 0) {
+                splicePositions[i] = insertPosition;
+                spliceLengths[i] = 0;
+            } else {
+                int valuePosition = message.valuePosition(index);
+                int fieldEnd = valuePosition + message.valueLength(index) + 1;
+                splicePositions[i] = valuePosition - 1 - digitCount(amendedTags[i]);
+                spliceLengths[i] = fieldEnd - splicePositions[i];
+            }
+            sizeChange += fieldEnds[i] - fieldStarts[i] - spliceLengths[i];
+            sumChange += sum(fieldBytes, fieldStarts[i], fieldEnds[i]) - sum(raw, splicePositions[i], splicePositions[i] + spliceLengths[i]);
+        }
+        sortByPosition();
+
+        // BeginString and the new BodyLength, whose digits also change the checksum
+        int newBodyLength = bodyLength + sizeChange;
+        int lengthDigits = digitCount(newBodyLength);
+        int position = offset;
+        position = copy(raw, messageStart, lengthStart - messageStart, target, position, directTarget);
+        ensureFieldBytes(lengthDigits + CHECKSUM_FIELD_LENGTH);
+        byte[] digits = fieldBytes;
+        int scratch = fieldBytesLength;
+        writeDigits(digits, scratch, newBodyLength, lengthDigits);
+        digits[scratch + lengthDigits] = FIELD_SEPARATOR;
+        position = copy(digits, scratch, lengthDigits + 1, target, position, directTarget);
+        sumChange += sum(digits, scratch, scratch + lengthDigits) - sum(raw, lengthStart, lengthEnd);
+
+        // The body with the amendments spliced in, ending with one bulk copy up to CheckSum
+        int cursor = bodyStart;
+        for (int i = 0; i < amendmentCount; i++) {
+            position = copy(raw, cursor, splicePositions[i] - cursor, target, position, directTarget);
+            position = copy(fieldBytes, fieldStarts[i], fieldEnds[i] - fieldStarts[i], target, position, directTarget);
+            cursor = splicePositions[i] + spliceLengths[i];
+        }
+        position = copy(raw, cursor, checksumStart - cursor, target, position, directTarget);
+
+        digits[scratch] = '1';
+        digits[scratch + 1] = '0';
+        digits[scratch + 2] = '=';
+        writeDigits(digits, scratch + 3, (checksum + sumChange) & 0xFF, 3);
+        digits[scratch + 6] = FIELD_SEPARATOR;
+        position = copy(digits, scratch, CHECKSUM_FIELD_LENGTH, target, position, directTarget);
+        return position - offset;
+    }
+
+    /**
+     * Finds a header field by scanning the fields after MsgType up to the first field that is not in the header,
+     * where the body starts.
+     */
+    private int headerIndexOf(int tag) {
+        int fieldCount = message.fieldCount();
+        for (int i = 3; i < fieldCount; i++) {
+            int fieldTag = message.tag(i);
+            if (fieldTag == tag) {
+                return i;
+            }
+            if (!headerTags.get(fieldTag)) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Insertion sort of the amendments by splice position, keeping the call order of inserted fields and putting
+     * them before a replaced field that starts at the same position.
+     */
+    private void sortByPosition() {
+        for (int i = 1; i < amendmentCount; i++) {
+            int tag = amendedTags[i];
+            int start = fieldStarts[i];
+            int end = fieldEnds[i];
+            int splicePosition = splicePositions[i];
+            int spliceLength = spliceLengths[i];
+            int j = i - 1;
+            for (; j >= 0 && (splicePositions[j] > splicePosition
+                || splicePositions[j] == splicePosition && spliceLengths[j] > spliceLength); j--) {
+                amendedTags[j + 1] = amendedTags[j];
+                fieldStarts[j + 1] = fieldStarts[j];
+                fieldEnds[j + 1] = fieldEnds[j];
+                splicePositions[j + 1] = splicePositions[j];
+                spliceLengths[j + 1] = spliceLengths[j];
+            }
+            amendedTags[j + 1] = tag;
+            fieldStarts[j + 1] = start;
+            fieldEnds[j + 1] = end;
+            splicePositions[j + 1] = splicePosition;
+            spliceLengths[j + 1] = spliceLength;
+        }
+    }
+
+    private static int copy(MessageBytes source, int from, int length, byte[] target, int position, ByteBuffer directTarget) {
+        if (directTarget != null) {
+            source.getBytes(from, directTarget, position, length);
+        } else {
+            source.getBytes(from, target, position, length);
+        }
+        return position + length;
+    }
+
+    private static int copy(byte[] source, int from, int length, byte[] target, int position, ByteBuffer directTarget) {
+        if (directTarget != null) {
+            directTarget.put(position, source, from, length);
+        } else {
+            System.arraycopy(source, from, target, position, length);
+        }
+        return position + length;
+    }
+
+    private static int sum(MessageBytes bytes, int from, int to) {
+        int sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += bytes.get(i);
+        }
+        return sum;
+    }
+
+    private static int sum(byte[] bytes, int from, int to) {
+        int sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += bytes[i];
+        }
+        return sum;
+    }
+
+    private static void writeDigits(byte[] bytes, int pos, int value, int digits) {
+        for (int i = pos + digits - 1; i >= pos; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static int digitCount(int value) {
+        int digits = 1;
+        for (int v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        return digits;
+    }
+}
@@ -0,0 +1,176 @@
+package fix.parser.message.base;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The bytes a message is read from: either a heap array or a {@link ByteBuffer}, typically a direct buffer
+ * filled by a socket read or a mapped file, which is read in place without being copied to the heap.
+ * <p>
+ * Positions are absolute indexes into the array or buffer, as in the field index of {@link UnderlyingMessage};
+ * the position and limit of a buffer are ignored. An instance is re-pointed with {@code wrap} instead of being
+ * reallocated, and holds no copy of the bytes, so it is only valid while they stay unchanged.
+ */
+public final class MessageBytes {
+    private static final VarHandle ARRAY_LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle BUFFER_LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final byte[] EMPTY = new byte[0];
+
+    private byte[] array = EMPTY;
+    private ByteBuffer buffer;      // Read instead of the array when not null
+
+    public MessageBytes() {
+    }
+
+    public MessageBytes(byte[] array) {
+        wrap(array);
+    }
+
+    public MessageBytes(ByteBuffer buffer) {
+        wrap(buffer);
+    }
+
+    /**
+     * @return This instance
+     */
+    public MessageBytes wrap(byte[] array) {
+        this.array = array;
+        this.buffer = null;
+        return this;
+    }
+
+    /**
+     * Re-points this instance at a buffer, which is read through absolute indexes whatever its byte order.
+     *
+     * @return This instance
+     */
+    public MessageBytes wrap(ByteBuffer buffer) {
+        this.array = null;
+        this.buffer = buffer;
+        return this;
+    }
+
+    /**
+     * Re-points this instance at the same bytes as {@code other}.
+     *
+     * @return This instance
+     */
+    public MessageBytes wrap(MessageBytes other) {
+        this.array = other.array;
+        this.buffer = other.buffer;
+        return this;
+    }
+
+    /**
+     * @return The backing array, or null when the bytes are read from a buffer
+     */
+    public byte[] array() {
+        return array;
+    }
+
+    /**
+     * @return The buffer the bytes are read from, or null when they are in an array
+     */
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * @return One more than the largest readable index: the length of the array or the limit of the buffer
+     */
+    public int capacity() {
+        return array != null ? array.length : buffer.limit();
+    }
+
+    public byte get(int index) {
+        return array != null ? array[index] : buffer.get(index);
+    }
+
+    /**
+     * Reads eight bytes as a little-endian {@code long}, so the byte at {@code index} is in the lowest bits.
+     */
+    public long getLongLittleEndian(int index) {
+        return array != null ? (long) ARRAY_LONGS.get(array, index) : (long) BUFFER_LONGS.get(buffer, index);
+    }
+
+    /**
+     * Copies {@code length} bytes starting at {@code index} into {@code target} at {@code targetOffset}.
+     */
+    public void getBytes(int index, byte[] target, int targetOffset, int length) {
+        if (array != null) {
+            System.arraycopy(array, index, target, targetOffset, length);
+        } else {
+            buffer.get(index, target, targetOffset, length);
+        }
+    }
+
+    /**
+     * Copies {@code length} bytes starting at {@code index} into {@code target} at the absolute index
+     * {@code targetIndex}, leaving the position of {@code target} unchanged.
+     */
+    public void getBytes(int index, ByteBuffer target, int targetIndex, int length) {
+        if (array != null) {
+            target.put(targetIndex, array, index, length);
+        } else {
+            target.put(targetIndex, buffer, index, length);
+        }
+    }
+
+    /**
+     * @return A new array holding {@code length} bytes starting at {@code index}
+     */
+    public byte[] toArray(int index, int length) {
+        if (array != null) {
+            return Arrays.copyOfRange(array, index, index + length);
+        }
+        byte[] copy = new byte[length];
+        buffer.get(index, copy);
+        return copy;
+    }
+
+    /**
+     * Decodes {@code length} bytes starting at {@code index} as ISO-8859-1.
+     */
+    public String toString(int index, int length) {
+        if (array != null) {
+            return new String(array, index, length, StandardCharsets.ISO_8859_1);
+        }
+        return new String(toArray(index, length), StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * @return Whether the {@code length} bytes starting at {@code index} equal those of {@code other} starting
+     * at {@code otherOffset}
+     */
+    public boolean contentEquals(int index, byte[] other, int otherOffset, int length) {
+        if (array != null) {
+            return Arrays.equals(array, index, index + length, other, otherOffset, otherOffset + length);
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(index + i) != other[otherOffset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Whether the {@code length} bytes starting at {@code index} equal those of {@code other} starting
+     * at {@code otherIndex}
+     */
+    public boolean contentEquals(int index, MessageBytes other, int otherIndex, int length) {
+        if (other.array != null) {
+            return contentEquals(index, other.array, otherIndex, length);
+        }
+        for (int i = 0; i < length; i++) {
+            if (get(index + i) != other.buffer.get(otherIndex + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,83 @@
+package fix.parser.message.base;
+
+import java.util.Arrays;
+
+/**
+ * Caller-owned, reusable holder for parsed FIX messages.
+ * <p>
+ * The holder owns one {@link UnderlyingMessage} with growable index arrays, a pool of {@link Segment}s for
+ * repeating group instances, and one generated message wrapper per message type. Every parse into the holder
+ * re-points these objects instead of allocating new ones, so steady-state parsing allocates nothing.
+ * <p>
+ * A message obtained from the holder, and every segment or wrapper reachable from it, is only valid until the
+ * next parse into the same holder. The holder is not thread-safe; use one per parsing thread.
+ */
+public final class MutableFixMessage {
+    private final UnderlyingMessage underlyingMessage = new UnderlyingMessage();
+    private final Segment segment = new Segment(underlyingMessage, 0, 0);
+
+    private Segment[] pool = new Segment[16];
+    private int pooled;
+    private int acquired;
+
+    private FixMessage[] messages = new FixMessage[0];  // Indexed by FixMessageFactory message index
+
+    public UnderlyingMessage underlyingMessage() {
+        return underlyingMessage;
+    }
+
+    /**
+     * @return The root segment spanning the whole message
+     */
+    public Segment segment() {
+        return segment;
+    }
+
+    /**
+     * Re-points the holder at new raw bytes, releases all pooled group segments and resets the root segment
+     * to span {@code fieldCount} fields.
+     *
+     * @return The root segment
+     */
+    public Segment reset(MessageBytes rawMessage, int fieldCount) {
+        underlyingMessage.reset(rawMessage, fieldCount);
+        segment.reset(0, fieldCount);
+        acquired = 0;
+        return segment;
+    }
+
+    /**
+     * Hands out a pooled segment over the given field range, allocating only when the pool is exhausted.
+     */
+    public Segment acquireSegment(int start, int end) {
+        if (acquired == pooled) {
+            if (pooled == pool.length) {
+                pool = Arrays.copyOf(pool, pooled * 2);
+            }
+            pool[pooled++] = new Segment(underlyingMessage, start, end);
+        }
+        Segment acquiredSegment = pool[acquired++];
+        acquiredSegment.reset(start, end);
+        return acquiredSegment;
+    }
+
+    /**
+     * Looks up the message wrapper previously cached for a message type.
+     *
+     * @param messageIndex The message type index given by a {@link FixMessageFactory}
+     * @return The cached wrapper over {@link #segment()}, or null if none was cached yet
+     */
+    public FixMessage cachedMessage(int messageIndex) {
+        return messageIndex < messages.length ? messages[messageIndex] : null;
+    }
+
+    /**
+     * Caches a message wrapper over {@link #segment()} so that later parses of the same type can reuse it.
+     */
+    public void cacheMessage(int messageIndex, FixMessage message) {
+        if (messageIndex >= messages.length) {
+            messages = Arrays.copyOf(messages, messageIndex + 1);
+        }
+        messages[messageIndex] = message;
+    }
+}
@@ -9,45 +9,228 @@ import java.util.Arrays;
 /**
  * Represents a segment of a FIX message, which can be either the main message or a repeating group.
  * Each segment has a reference to the underlying message and maintains its boundaries within that message.
+ * <p>
+ * Segments owned by a {@link MutableFixMessage} are re-pointed on every parse instead of being reallocated.
  */
-public record Segment(
-    UnderlyingMessage rawMessage,  // Underlying FIX message
-    int start,                     // Inclusive start position in the raw message
-    int end,                       // Exclusive end position in the raw message
-    Segment[] segments             // Nested segments (e.g., repeating groups)
-) {
+public final class Segment {
+    private static final Segment[] EMPTY = new Segment[0];
 
-    public char getChar(int tag) {
-        return getString(tag).charAt(0);
+    private final UnderlyingMessage rawMessage;  // Underlying FIX message
+    private int start;                           // Inclusive start position in the raw message
+    private int end;                             // Exclusive end position in the raw message
+    private Segment[] segments;                  // Nested segments (e.g., repeating groups)
+    private int segmentCount;
+    private AsciiSequence view;                  // Lazily created, reused by getView(int)
+    private GroupMaterializer pendingGroups;     // Set while the nested segments have not been built yet
+    private MutableFixMessage pool;
+
+    public Segment(UnderlyingMessage rawMessage, int start, int end, Segment[] segments) {
+        this.rawMessage = rawMessage;
+        this.start = start;
+        this.end = end;
+        this.segments = segments;
+        this.segmentCount = segments.length;
+    }
+
+    public Segment(UnderlyingMessage rawMessage, int start, int end) {
+        this(rawMessage, start, end, EMPTY);
+    }
+
+    public UnderlyingMessage rawMessage() {
+        return rawMessage;
+    }
+
+    public int start() {
+        return start;
+    }
+
+    public int end() {
+        return end;
+    }
+
+    public Segment[] segments() {
+        materializeGroups();
+        return Arrays.copyOf(segments, segmentCount);
+    }
+
+    public int segmentCount() {
+        materializeGroups();
+        return segmentCount;
+    }
+
+    public Segment segment(int index) {
+        materializeGroups();
+        return segments[index];
+    }
+
+    /**
+     * Re-points this segment at new boundaries and drops its nested segments.
+     */
+    public void reset(int start, int end) {
+        this.start = start;
+        this.end = end;
+        Arrays.fill(segments, 0, segmentCount, null);
+        this.segmentCount = 0;
+        this.pendingGroups = null;
+        this.pool = null;
+    }
+
+    /**
+     * Defers building the nested segments until they are first read, when {@code materializer} is called once.
+     *
+     * @param pool The holder to take pooled segments from, or null to allocate them
+     */
+    public void deferGroups(GroupMaterializer materializer, MutableFixMessage pool) {
+        this.pendingGroups = materializer;
+        this.pool = pool;
+    }
+
+    private void materializeGroups() {
+        if (pendingGroups != null) {
+            GroupMaterializer materializer = pendingGroups;
+            pendingGroups = null;
+            materializer.materialize(this, pool);
+            pool = null;
+        }
+    }
+
+    /**
+     * Moves the exclusive end of this segment, keeping its nested segments.
+     */
+    public void extend(int end) {
+        this.end = end;
+    }
+
+    /**
+     * Appends a nested segment, growing the backing array when it is full.
+     */
+    public void addSegment(Segment segment) {
+        if (segmentCount == segments.length) {
+            segments = Arrays.copyOf(segments, Math.max(4, segmentCount * 2));
+        }
+        segments[segmentCount++] = segment;
+    }
+
+    public char getChar(int tagNumber) {
+        int index = rawMessage.indexOfTag(tagNumber, start, end);
+        return (char) (rawMessage.bytes().get(rawMessage.valuePosition(index)) & 0xFF);
     }
 
     public String getString(int tagNumber) {
         int index = rawMessage.indexOfTag(tagNumber, start, end);
-        return new String(rawMessage.rawMessage(), rawMessage.valuePositions()[index], rawMessage.valueLengths()[index]);
+        return rawMessage.bytes().toString(rawMessage.valuePosition(index), rawMessage.valueLength(index));
+    }
+
+    /**
+     * Returns a string field through {@code cache}, so repeated values give back the same {@code String} without
+     * decoding it again.
+     */
+    public String getString(int tagNumber, StringCache cache) {
+        int index = rawMessage.indexOfTag(tagNumber, start, end);
+        return cache.intern(rawMessage.bytes(), rawMessage.valuePosition(index), rawMessage.valueLength(index));
+    }
+
+    /**
+     * Returns a view over a string field without copying it. The view is owned by this segment and re-pointed by
+     * the next call, so compare or copy the value before reading another field through this method.
+     */
+    public AsciiSequence getView(int tagNumber) {
+        if (view == null) {
+            view = new AsciiSequence();
+        }
+        return getView(tagNumber, view);
+    }
+
+    /**
+     * Re-points {@code target} at a string field without copying it.
+     *
+     * @return {@code target}
+     */
+    public AsciiSequence getView(int tagNumber, AsciiSequence target) {
+        int index = rawMessage.indexOfTag(tagNumber, start, end);
+        return target.wrap(rawMessage.bytes(), rawMessage.valuePosition(index), rawMessage.valueLength(index));
     }
 
     public int getInt(int tagNumber) {
-        return Integer.parseInt(getString(tagNumber));
+        int index = rawMessage.indexOfTag(tagNumber, start, end);
+        return AsciiNumbers.parseInt(rawMessage.bytes(), rawMessage.valuePosition(index), rawMessage.valueLength(index));
+    }
+
+    public long getLong(int tagNumber) {
+        int index = rawMessage.indexOfTag(tagNumber, start, end);
+        return AsciiNumbers.parseLong(rawMessage.bytes(), rawMessage.valuePosition(index), rawMessage.valueLength(index));
     }
 
     public double getDouble(int tagNumber) {
-        return Double.parseDouble(getString(tagNumber));
+        int index = rawMessage.indexOfTag(tagNumber, start, end);
+        return AsciiNumbers.parseDouble(rawMessage.bytes(), rawMessage.valuePosition(index), rawMessage.valueLength(index));
+    }
+
+    /**
+     * Returns a decimal field as a fixed-point {@code long} with {@code scale} decimals, without going through
+     * {@code double}. Extra decimals are rounded half away from zero.
+     */
+    public long getDecimal(int tagNumber, int scale) {
+        int index = rawMessage.indexOfTag(tagNumber, start, end);
+        return AsciiNumbers.parseDecimal(rawMessage.bytes(), rawMessage.valuePosition(index), rawMessage.valueLength(index), scale);
     }
 
     public boolean getBoolean(int tagNumber) {
-        return "Y".equals(getString(tagNumber));
+        int index = rawMessage.indexOfTag(tagNumber, start, end);
+        return rawMessage.valueLength(index) == 1 && rawMessage.bytes().get(rawMessage.valuePosition(index)) == 'Y';
     }
 
     public Instant getInstant(int tagNumber) {
-        return Instant.parse(getString(tagNumber));
+        return Instant.ofEpochSecond(0, getEpochNanos(tagNumber));
+    }
+
+    /**
+     * Returns a UTCTimestamp field as nanoseconds since the epoch.
+     */
+    public long getEpochNanos(int tagNumber) {
+        int index = rawMessage.indexOfTag(tagNumber, start, end);
+        return FixTimestamps.epochNanos(rawMessage.bytes(), rawMessage.valuePosition(index), rawMessage.valueLength(index));
+    }
+
+    /**
+     * Returns a UTCTimestamp field as microseconds since the epoch.
+     */
+    public long getEpochMicros(int tagNumber) {
+        int index = rawMessage.indexOfTag(tagNumber, start, end);
+        return FixTimestamps.epochMicros(rawMessage.bytes(), rawMessage.valuePosition(index), rawMessage.valueLength(index));
+    }
+
+    /**
+     * Returns a UTCTimestamp field as milliseconds since the epoch.
+     */
+    public long getEpochMillis(int tagNumber) {
+        int index = rawMessage.indexOfTag(tagNumber, start, end);
+        return FixTimestamps.epochMillis(rawMessage.bytes(), rawMessage.valuePosition(index), rawMessage.valueLength(index));
     }
 
     public LocalDate getLocalDate(int tagNumber) {
-        return LocalDate.parse(getString(tagNumber));
+        int index = rawMessage.indexOfTag(tagNumber, start, end);
+        return LocalDate.ofEpochDay(FixTimestamps.epochDay(rawMessage.bytes(), rawMessage.valuePosition(index), rawMessage.valueLength(index)));
+    }
+
+    /**
+     * Returns a UTCDateOnly or LocalMktDate field as an {@code int} of the form {@code yyyymmdd}.
+     */
+    public int getDate(int tagNumber) {
+        int index = rawMessage.indexOfTag(tagNumber, start, end);
+        return FixTimestamps.date(rawMessage.bytes(), rawMessage.valuePosition(index), rawMessage.valueLength(index));
     }
 
     public LocalTime getLocalTime(int tagNumber) {
-        return LocalTime.parse(getString(tagNumber));
+        return LocalTime.ofNanoOfDay(getNanoOfDay(tagNumber));
+    }
+
+    /**
+     * Returns a UTCTimeOnly field as nanoseconds since midnight.
+     */
+    public long getNanoOfDay(int tagNumber) {
+        int index = rawMessage.indexOfTag(tagNumber, start, end);
+        return FixTimestamps.nanoOfDay(rawMessage.bytes(), rawMessage.valuePosition(index), rawMessage.valueLength(index));
     }
 
     public YearMonth getYearMonth(int tagNumber) {
@@ -56,27 +239,87 @@ public record Segment(
 
     public byte[] getBytes(int tagNumber) {
         int index = rawMessage.indexOfTag(tagNumber, start, end);
-        return Arrays.copyOfRange(
-            rawMessage.rawMessage(),
-            rawMessage.valuePositions()[index],
-            rawMessage.valuePositions()[index] + rawMessage.valueLengths()[index]
-        );
+        return rawMessage.bytes().toArray(rawMessage.valuePosition(index), rawMessage.valueLength(index));
+    }
+
+    /**
+     * Returns the index of the nested segment holding the first instance of the repeating group counted by the
+     * NUMINGROUP field {@code numInGroupTag}, or -1 if this segment has no such field or the group is empty.
+     * The instances of a group are adjacent in the message, so they are held at consecutive indexes.
+     */
+    public int firstGroupSegment(int numInGroupTag) {
+        materializeGroups();
+        int index = rawMessage.indexOfTag(numInGroupTag, start, end);
+        if (index < 0) {
+            return -1;
+        }
+        // Nested segments are kept in message order, and the first instance starts right after the NUMINGROUP field
+        int low = 0;
+        int high = segmentCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midStart = segments[mid].start;
+            if (midStart <= index) {
+                low = mid + 1;
+            } else if (midStart > index + 1) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of instances of the group whose first instance is the nested segment at
+     * {@code firstSegment}, as found by {@link #firstGroupSegment(int)}, or 0 if {@code firstSegment} is -1.
+     */
+    public int groupSize(int firstSegment) {
+        if (firstSegment < 0) {
+            return 0;
+        }
+        int delimiter = rawMessage.tag(segments[firstSegment].start);
+        int last = firstSegment;
+        while (last + 1 < segmentCount
+            && segments[last + 1].start == segments[last].end
+            && rawMessage.tag(segments[last + 1].start) == delimiter) {
+            last++;
+        }
+        return last - firstSegment + 1;
+    }
+
+    /**
+     * Returns the instance at {@code index} of the repeating group counted by the NUMINGROUP field
+     * {@code numInGroupTag}.
+     *
+     * @throws IndexOutOfBoundsException If the group has no instance at {@code index}
+     */
+    public Segment groupInstance(int numInGroupTag, int index) {
+        int first = firstGroupSegment(numInGroupTag);
+        int size = groupSize(first);
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for group size " + size);
+        }
+        return segments[first + index];
     }
 
     public Segment[] getSegments(int tagNumber) {
+        materializeGroups();
         int count = 0;
-        for (Segment segment : segments) {
-            if (segment.rawMessage.tags()[segment.start()] == tagNumber) {
+        for (int i = 0; i < segmentCount; i++) {
+            Segment segment = segments[i];
+            if (segment.rawMessage.tag(segment.start) == tagNumber) {
                 count++;
             }
         }
         Segment[] matchedSegments = new Segment[count];
         int index = 0;
-        for (Segment segment : segments) {
-            if (segment.rawMessage.tags()[segment.start()] == tagNumber) {
+        for (int i = 0; i < segmentCount; i++) {
+            Segment segment = segments[i];
+            if (segment.rawMessage.tag(segment.start) == tagNumber) {
                 matchedSegments[index++] = segment;
             }
         }
         return matchedSegments;
     }
-}
\ No newline at end of file
+}
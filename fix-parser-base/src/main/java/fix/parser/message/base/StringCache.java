@@ -0,0 +1,75 @@
+package fix.parser.message.base;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A bounded, thread-safe cache of canonical {@link String}s looked up by their ISO-8859-1 bytes.
+ * <p>
+ * Meant for low-cardinality fields such as Symbol(55) or SenderCompID(49): a repeated value is found by hashing
+ * the raw bytes and comparing them with the cached key, so no {@code String} is created on a hit. The cache is
+ * set-associative with {@value #WAYS} entries per set; once a set is full, a new value replaces one of its entries.
+ * <p>
+ * Entries are immutable and published through a plain array, so concurrent readers may miss a value another thread
+ * has just added and create a duplicate {@code String}, but never see a partially built entry.
+ */
+public final class StringCache {
+    private static final int WAYS = 4;
+
+    private final Entry[] entries;
+    private final int setMask;
+
+    /**
+     * @param capacity Maximum number of cached values, rounded up to a power of two of at least {@value #WAYS}
+     */
+    public StringCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        int size = Math.max(WAYS, Integer.highestOneBit(capacity - 1) << 1);
+        this.entries = new Entry[size];
+        this.setMask = size / WAYS - 1;
+    }
+
+    public int capacity() {
+        return entries.length;
+    }
+
+    /**
+     * Returns the canonical {@code String} for {@code length} bytes of {@code bytes} starting at {@code offset},
+     * adding it to the cache if it is not there yet.
+     */
+    public String intern(MessageBytes bytes, int offset, int length) {
+        int hash = hash(bytes, offset, length);
+        int set = (hash ^ (hash >>> 16)) & setMask;
+        int base = set * WAYS;
+        for (int i = base; i < base + WAYS; i++) {
+            Entry entry = entries[i];
+            if (entry == null) {
+                return add(i, hash, bytes, offset, length);
+            }
+            if (entry.hash == hash && entry.key.length == length && bytes.contentEquals(offset, entry.key, 0, length)) {
+                return entry.value;
+            }
+        }
+        // Set is full: evict an entry picked from hash bits not used for the set index
+        return add(base + ((hash >>> 28) & (WAYS - 1)), hash, bytes, offset, length);
+    }
+
+    private String add(int slot, int hash, MessageBytes bytes, int offset, int length) {
+        byte[] key = bytes.toArray(offset, length);
+        String value = new String(key, StandardCharsets.ISO_8859_1);
+        entries[slot] = new Entry(hash, key, value);
+        return value;
+    }
+
+    private static int hash(MessageBytes bytes, int offset, int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + (bytes.get(i) & 0xFF);
+        }
+        return hash;
+    }
+
+    private record Entry(int hash, byte[] key, String value) {
+    }
+}
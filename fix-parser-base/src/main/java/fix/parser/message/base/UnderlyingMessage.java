@@ -1,29 +1,263 @@
 package fix.parser.message.base;
 
 /**
- * Represents the underlying FIX message with its raw data and index arrays for efficient field access.
+ * Represents the underlying FIX message with its raw data and a packed field index for efficient field access.
+ * The raw data is read through {@link MessageBytes}, so a message in a direct buffer is read in place.
+ * <p>
+ * The index keeps {@link #FIELD_STRIDE} longs per field, so that the tag, value position and value length of a
+ * field share a cache line and a message needs a single index array:
+ * <pre>
+ * fields[2 * i]     = tag         &lt;&lt; 32 | valuePosition
+ * fields[2 * i + 1] = valueLength &lt;&lt; 32 | groupParent + 1
+ * </pre>
+ * The group parent is the index of the NUMINGROUP field whose group instance holds the field, or -1 for fields
+ * outside repeating groups; it is filled in when the parser builds the group segments. The index array may be
+ * larger than the message when the instance is reused through {@link MutableFixMessage}; only the first
+ * {@link #fieldCount()} fields are meaningful.
+ * <p>
+ * An optional tag index, built by {@link #indexTags(int)}, lists the fields of each tag below the index size in
+ * message order, so {@link #indexOfTag(int, int, int)} is a binary search among the fields with that tag. A
+ * lookup in the k-th instance of a repeating group therefore costs O(log k) rather than a walk past the k - 1
+ * instances before it.
  */
-public record UnderlyingMessage(
-    byte[] rawMessage,     // Raw message bytes
-    int[] tags,
-    // tag[i] is the tag number of the i-th field (including nested groups/components) in the rawMessage
-    int[] valuePositions,
-    // rawMessage[valuePositions[i]] is the first byte of the value of the i-th field (including nested groups/components) in the rawMessage
-    int[] valueLengths
-    // rawMessage[valuePositions[i] + valueLengths[i] - 1] is the last byte of the value of the i-th field (including nested groups/components) in the rawMessage
-) {
-    /**
-     * Finds the index of a specific tag in the tags array.
+public final class UnderlyingMessage {
+    /**
+     * Longs per field in the index array.
+     */
+    public static final int FIELD_STRIDE = 2;
+    private static final long[] EMPTY = new long[0];
+    private static final long LOW_BITS = 0xFFFFFFFFL;
+    // Ranges this short, such as most repeating group instances, are scanned faster than the tag index is searched
+    private static final int LINEAR_SCAN_LIMIT = 8;
+
+    private final MessageBytes bytes = new MessageBytes();  // Re-pointed at the raw bytes of every message
+    private long[] fields;         // Packed tag, value position, value length and group parent of every field
+    private int fieldCount;
+
+    private int[] tagRanges;    // tagRanges[2 * tag] and [2 * tag + 1] are the start and count of its fields below
+    private int[] fieldsByTag;  // Field indexes grouped by tag, each group in message order
+    private boolean tagsIndexed;
+
+    /**
+     * @param fields The packed field index, {@link #FIELD_STRIDE} longs per field
+     */
+    public UnderlyingMessage(byte[] rawMessage, long[] fields, int fieldCount) {
+        this.bytes.wrap(rawMessage);
+        this.fields = fields;
+        this.fieldCount = fieldCount;
+    }
+
+    /**
+     * Creates an empty, reusable message whose index array grows on demand in {@link #reset(MessageBytes, int)}.
+     */
+    public UnderlyingMessage() {
+        this.fields = EMPTY;
+    }
+
+    /**
+     * Packs the first index word of a field.
+     */
+    public static long tagWord(int tag, int valuePosition) {
+        return (long) tag << 32 | valuePosition;
+    }
+
+    /**
+     * Packs the second index word of a field.
+     *
+     * @param groupParent The index of the NUMINGROUP field of the enclosing group instance, or -1
+     */
+    public static long lengthWord(int valueLength, int groupParent) {
+        return (long) valueLength << 32 | (groupParent + 1);
+    }
+
+    /**
+     * @return The raw message bytes, re-pointed rather than replaced when the message is reset
+     */
+    public MessageBytes bytes() {
+        return bytes;
+    }
+
+    /**
+     * @return The packed field index, {@link #FIELD_STRIDE} longs per field
+     */
+    public long[] fields() {
+        return fields;
+    }
+
+    public int tag(int index) {
+        return tag(fields, index);
+    }
+
+    public int valuePosition(int index) {
+        return valuePosition(fields, index);
+    }
+
+    public int valueLength(int index) {
+        return valueLength(fields, index);
+    }
+
+    /**
+     * Reads the tag of the field at {@code index} from a packed index that is not wrapped yet.
+     */
+    public static int tag(long[] fields, int index) {
+        return (int) (fields[index * FIELD_STRIDE] >>> 32);
+    }
+
+    public static int valuePosition(long[] fields, int index) {
+        return (int) fields[index * FIELD_STRIDE];
+    }
+
+    public static int valueLength(long[] fields, int index) {
+        return (int) (fields[index * FIELD_STRIDE + 1] >>> 32);
+    }
+
+    /**
+     * @return The index of the NUMINGROUP field whose group instance holds the field at {@code index}, or -1 if
+     * it is not in a repeating group or the groups have not been built yet
+     */
+    public int groupParent(int index) {
+        return (int) (fields[index * FIELD_STRIDE + 1] & LOW_BITS) - 1;
+    }
+
+    /**
+     * @return How many repeating groups enclose the field at {@code index}
+     */
+    public int groupDepth(int index) {
+        int depth = 0;
+        for (int parent = groupParent(index); parent >= 0; parent = groupParent(parent)) {
+            depth++;
+        }
+        return depth;
+    }
+
+    /**
+     * Records that the field at {@code index} belongs to an instance of the group counted by the NUMINGROUP field
+     * at {@code groupParent}.
+     */
+    public void setGroupParent(int index, int groupParent) {
+        setGroupParent(fields, index, groupParent);
+    }
+
+    public static void setGroupParent(long[] fields, int index, int groupParent) {
+        int word = index * FIELD_STRIDE + 1;
+        fields[word] = fields[word] & ~LOW_BITS | (groupParent + 1);
+    }
+
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Re-points this message at new raw bytes and makes sure the index array can hold {@code fieldCount}
+     * fields. The array is only reallocated when it is too small, so steady-state reuse allocates nothing.
+     *
+     * @param rawMessage The raw message bytes, whose array or buffer this message is re-pointed at
+     * @param fieldCount The number of fields the caller is about to write into the index array
+     */
+    public void reset(MessageBytes rawMessage, int fieldCount) {
+        clearTagIndex();
+        if (fields.length < fieldCount * FIELD_STRIDE) {
+            this.fields = new long[Math.max(fieldCount * FIELD_STRIDE, fields.length * 2)];
+        }
+        this.bytes.wrap(rawMessage);
+        this.fieldCount = fieldCount;
+    }
+
+    /**
+     * Re-points this message at new raw bytes and adopts an index array already filled by the caller. The caller
+     * should read the previous array through {@link #fields()} first if it wants to reuse it.
+     */
+    public void reset(MessageBytes rawMessage, long[] fields, int fieldCount) {
+        clearTagIndex();
+        this.bytes.wrap(rawMessage);
+        this.fields = fields;
+        this.fieldCount = fieldCount;
+    }
+
+    /**
+     * Builds the tag index over the current fields. The fields of every tag below {@code size} are listed
+     * together, in message order, through a direct-indexed table of ranges. The table is kept and only its used
+     * entries are cleared when the message is reset.
+     *
+     * @param size One more than the largest tag number to index, usually the largest tag of the specification
+     */
+    public void indexTags(int size) {
+        if (tagRanges == null || tagRanges.length < size * 2) {
+            tagRanges = new int[size * 2];
+        }
+        if (fieldsByTag == null || fieldsByTag.length < fieldCount) {
+            fieldsByTag = new int[Math.max(fieldCount, fields.length / FIELD_STRIDE)];
+        }
+        int[] ranges = tagRanges;
+        int indexed = ranges.length >> 1;
+        for (int i = 0; i < fieldCount; i++) {
+            int tag = tag(i);
+            if (tag < indexed) {
+                ranges[tag * 2 + 1]++;
+            }
+        }
+        // Give each tag a range in order of first appearance, recording where it ends
+        int next = 0;
+        for (int i = 0; i < fieldCount; i++) {
+            int tag = tag(i);
+            if (tag < indexed && ranges[tag * 2] == 0) {
+                next += ranges[tag * 2 + 1];
+                ranges[tag * 2] = next;
+            }
+        }
+        // Fill each range from its end backwards, which leaves the start of the range in the table
+        for (int i = fieldCount - 1; i >= 0; i--) {
+            int tag = tag(i);
+            if (tag < indexed) {
+                fieldsByTag[--ranges[tag * 2]] = i;
+            }
+        }
+        tagsIndexed = true;
+    }
+
+    private void clearTagIndex() {
+        if (tagsIndexed) {
+            int indexed = tagRanges.length >> 1;
+            for (int i = 0; i < fieldCount; i++) {
+                int tag = tag(i);
+                if (tag < indexed) {
+                    tagRanges[tag * 2] = 0;
+                    tagRanges[tag * 2 + 1] = 0;
+                }
+            }
+            tagsIndexed = false;
+        }
+    }
+
+    /**
+     * Finds the index of the first field with a specific tag in {@code [start, end)}.
      *
      * @param tag The tag number to search for
      * @return The index of the tag, or -1 if not found
      */
     public int indexOfTag(int tag, int start, int end) {
-        for (int i = start; i < end && i < tags.length; i++) {
-            if (tags[i] == tag) {
+        if (tagsIndexed && tag < tagRanges.length >> 1 && end - start > LINEAR_SCAN_LIMIT) {
+            // Binary search for the first field with the tag at or after start
+            int low = tagRanges[tag * 2];
+            int rangeEnd = low + tagRanges[tag * 2 + 1];
+            int high = rangeEnd;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (fieldsByTag[middle] < start) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low < rangeEnd && fieldsByTag[low] < end ? fieldsByTag[low] : -1;
+        }
+        long[] fields = this.fields;
+        int last = Math.min(end, fieldCount);
+        for (int i = start; i < last; i++) {
+            if (tag(fields, i) == tag) {
                 return i;
             }
         }
         return -1;
     }
-}
\ No newline at end of file
+}
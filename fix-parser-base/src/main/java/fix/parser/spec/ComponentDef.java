@@ -6,6 +6,7 @@ public record ComponentDef(
     String name,
     List<FieldDef> fields,
     List<GroupDef> groups,
-    List<ComponentRef> components
+    List<ComponentRef> components,
+    String firstMember  // Name of the first field, group or component, for groups that start with this component
 ) {
 }
@@ -1,6 +1,7 @@
 package fix.parser.spec;
 
 public record ComponentRef(
-    String name
+    String name,
+    boolean required
 ) {
 }
@@ -1,11 +1,27 @@
 package fix.parser.spec;
 
+import java.util.List;
+
 public record FieldDef(
     int number,
     String name,
-    FixType type
+    FixType type,
+    List<String> values,  // Valid values listed as <value enum=...>, or empty when any value of the type is valid
+    boolean required      // Whether the message, group or component that refers to the field requires it
 ) {
+    public FieldDef {
+        values = List.copyOf(values);
+    }
+
     public String getJavaType() {
         return type.getJavaType();
     }
+
+    /**
+     * @return This field as referred to by a message, group or component, which may or may not require it. The
+     * definitions in {@link FixSpec#fields()} are never required.
+     */
+    public FieldDef withRequired(boolean required) {
+        return required == this.required ? this : new FieldDef(number, name, type, values, required);
+    }
 }
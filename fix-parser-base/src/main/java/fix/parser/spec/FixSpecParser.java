@@ -4,10 +4,14 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -18,7 +22,7 @@ public class FixSpecParser {
     private final Map<String, FieldDef> fieldMap;
     private final Map<String, ComponentDef> componentMap;
 
-    public FixSpecParser(File xmlFile) throws Exception {
+    public FixSpecParser(File xmlFile) throws IOException, SAXException, ParserConfigurationException {
         DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
         DocumentBuilder builder = factory.newDocumentBuilder();
         this.document = builder.parse(xmlFile);
@@ -26,6 +30,17 @@ public class FixSpecParser {
         this.componentMap = new HashMap<>();
     }
 
+    /**
+     * Reads the specification from a stream, such as a classpath resource, without closing it.
+     */
+    public FixSpecParser(InputStream xml) throws IOException, SAXException, ParserConfigurationException {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        DocumentBuilder builder = factory.newDocumentBuilder();
+        this.document = builder.parse(xml);
+        this.fieldMap = new HashMap<>();
+        this.componentMap = new HashMap<>();
+    }
+
     public FixSpec parse() {
         Element root = document.getDocumentElement();
         String major = root.getAttribute("major");
@@ -74,7 +89,7 @@ public class FixSpecParser {
                     String name = fieldElement.getAttribute("name");
                     int number = Integer.parseInt(fieldElement.getAttribute("number"));
                     FixType type = FixType.fromString(fieldElement.getAttribute("type"));
-                    fieldMap.put(name, new FieldDef(number, name, type));
+                    fieldMap.put(name, new FieldDef(number, name, type, enumValues(fieldElement), false));
                 }
             }
         }
@@ -110,12 +125,13 @@ public class FixSpecParser {
                 switch (node.getNodeName()) {
                     case "field" -> fields.add(parseField(childElement));
                     case "group" -> groups.add(parseGroup(childElement));
-                    case "component" -> components.add(new ComponentRef(childElement.getAttribute("name")));
+                    case "component" -> components.add(new ComponentRef(childElement.getAttribute("name"),
+                        required(childElement)));
                 }
             }
         }
 
-        return new ComponentDef(name, fields, groups, components);
+        return new ComponentDef(name, fields, groups, components, firstMember(element));
     }
 
     private MessageSection parseSection(Element element) {
@@ -154,7 +170,8 @@ public class FixSpecParser {
                 switch (node.getNodeName()) {
                     case "field" -> fields.add(parseField(childElement));
                     case "group" -> groups.add(parseGroup(childElement));
-                    case "component" -> components.add(new ComponentRef(childElement.getAttribute("name")));
+                    case "component" -> components.add(new ComponentRef(childElement.getAttribute("name"),
+                        required(childElement)));
                 }
             }
         }
@@ -162,8 +179,35 @@ public class FixSpecParser {
         return new MessageDef(name, msgtype, msgcat, fields, groups, components);
     }
 
+    private static String firstMember(Element element) {
+        NodeList childNodes = element.getChildNodes();
+        for (int i = 0; i < childNodes.getLength(); i++) {
+            Node node = childNodes.item(i);
+            if (node.getNodeType() == Node.ELEMENT_NODE) {
+                return ((Element) node).getAttribute("name");
+            }
+        }
+        return null;
+    }
+
+    private static List<String> enumValues(Element fieldElement) {
+        List<String> values = new ArrayList<>();
+        NodeList childNodes = fieldElement.getChildNodes();
+        for (int i = 0; i < childNodes.getLength(); i++) {
+            Node node = childNodes.item(i);
+            if (node.getNodeType() == Node.ELEMENT_NODE && "value".equals(node.getNodeName())) {
+                values.add(((Element) node).getAttribute("enum"));
+            }
+        }
+        return values;
+    }
+
+    private static boolean required(Element element) {
+        return "Y".equals(element.getAttribute("required"));
+    }
+
     private FieldDef parseField(Element element) {
-        return fieldMap.get(element.getAttribute("name"));
+        return fieldMap.get(element.getAttribute("name")).withRequired(required(element));
     }
 
     private GroupDef parseGroup(Element element) {
@@ -181,12 +225,13 @@ public class FixSpecParser {
                 switch (node.getNodeName()) {
                     case "field" -> fields.add(parseField(childElement));
                     case "group" -> groups.add(parseGroup(childElement));
-                    case "component" -> components.add(new ComponentRef(childElement.getAttribute("name")));
+                    case "component" -> components.add(new ComponentRef(childElement.getAttribute("name"),
+                        required(childElement)));
                 }
             }
         }
 
-        return new GroupDef(name, fields, groups, components);
+        return new GroupDef(name, fields, groups, components, firstMember(element), required(element));
     }
 
 }
@@ -6,6 +6,8 @@ public record GroupDef(
     String name,
     List<FieldDef> fields,
     List<GroupDef> groups,
-    List<ComponentRef> components
+    List<ComponentRef> components,
+    String firstMember, // Name of the first field, group or component, which decides the delimiter of a group
+    boolean required    // Whether the enclosing message, group or component requires at least one instance
 ) {
 }
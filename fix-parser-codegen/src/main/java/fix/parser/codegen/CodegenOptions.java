@@ -0,0 +1,61 @@
+package fix.parser.codegen;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Optional behaviour of {@link FixClassesGenerator}. Start from {@link #DEFAULT} and add options with the
+ * {@code with} methods.
+ *
+ * @param internedFields Names of string fields whose getters go through a bounded intern cache, mapped to the
+ *                       cache capacity
+ * @param cachedWrappers Create header, trailer and component wrappers on first access and keep them, instead of
+ *                       creating header and trailer with every message and a component on every getter call
+ */
+public record CodegenOptions(
+    Map<String, Integer> internedFields,
+    boolean cachedWrappers
+) {
+    public static final CodegenOptions DEFAULT = new CodegenOptions(Map.of(), false);
+
+    public static final int DEFAULT_INTERN_CAPACITY = 1024;
+
+    public CodegenOptions {
+        internedFields = Map.copyOf(internedFields);
+    }
+
+    public CodegenOptions withInternedField(String fieldName, int capacity) {
+        Map<String, Integer> fields = new LinkedHashMap<>(internedFields);
+        fields.put(fieldName, capacity);
+        return new CodegenOptions(fields, cachedWrappers);
+    }
+
+    public CodegenOptions withCachedWrappers(boolean cachedWrappers) {
+        return new CodegenOptions(internedFields, cachedWrappers);
+    }
+
+    /**
+     * Parses command line options: {@code --intern=Symbol:4096,SenderCompID}, where the capacity defaults to
+     * {@value #DEFAULT_INTERN_CAPACITY}, and {@code --cache-wrappers}.
+     *
+     * @throws IllegalArgumentException If an option is not recognised
+     */
+    public static CodegenOptions parse(String... args) {
+        CodegenOptions options = DEFAULT;
+        for (String arg : args) {
+            if (arg.startsWith("--intern=")) {
+                for (String field : arg.substring("--intern=".length()).split(",")) {
+                    int colon = field.indexOf(':');
+                    options = colon < 0
+                        ? options.withInternedField(field, DEFAULT_INTERN_CAPACITY)
+                        : options.withInternedField(field.substring(0, colon), Integer.parseInt(field.substring(colon + 1)));
+                }
+            } else if (arg.equals("--cache-wrappers")) {
+                options = options.withCachedWrappers(true);
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        return options;
+    }
+}
@@ -8,18 +8,25 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 public class FixClassesGenerator {
     private final FixSpec spec;
     private final String packageName;
     private final Path outputDir;
+    private final CodegenOptions options;
     private final Set<String> generatedGroupClasses = new HashSet<>();
 
     public FixClassesGenerator(FixSpec spec, String packageName, Path outputDir) {
+        this(spec, packageName, outputDir, CodegenOptions.DEFAULT);
+    }
+
+    public FixClassesGenerator(FixSpec spec, String packageName, Path outputDir, CodegenOptions options) {
         this.spec = spec;
         this.packageName = packageName;
         this.outputDir = outputDir;
+        this.options = options;
     }
 
     public void generate() throws IOException {
@@ -31,8 +38,14 @@ public class FixClassesGenerator {
         // Generate field definitions
         generateFieldDefinitions(packageDir);
 
-        // Generate message types
+        // Generate message types and the factory dispatching on them
         generateMessageTypes(packageDir);
+        generateMessageFactory(packageDir);
+
+        // Generate intern caches for the configured fields
+        if (!options.internedFields().isEmpty()) {
+            generateInternCaches(packageDir);
+        }
 
         // Generate header and trailer classes
         generateHeaderClass(packageDir);
@@ -47,6 +60,9 @@ public class FixClassesGenerator {
         for (var entry : spec.components().entrySet()) {
             generateComponentClass(entry.getKey(), entry.getValue(), packageDir);
         }
+
+        // Generate the encoders writing the same messages
+        new FixEncodersGenerator(spec, packageName).generate(packageDir);
     }
 
     private void generateFieldDefinitions(Path packageDir) throws IOException {
@@ -79,7 +95,37 @@ public class FixClassesGenerator {
             constantName, field.number());
     }
 
-    private static String toConstantName(String name) {
+    private void generateInternCaches(Path packageDir) throws IOException {
+        Path file = packageDir.resolve("InternCaches.java");
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.print("""
+                package %s;
+                
+                import fix.parser.message.base.StringCache;
+                
+                /**
+                 * Shared intern caches for low-cardinality string fields.
+                 * Generated from FIX specification version %s.%s
+                 */
+                public final class InternCaches {
+                    private InternCaches() {}
+                
+                """.formatted(packageName, spec.major(), spec.minor()));
+
+            for (var entry : options.internedFields().entrySet()) {
+                FieldDef field = spec.fields().get(entry.getKey());
+                if (field == null || !"String".equals(field.getJavaType())) {
+                    throw new IllegalArgumentException("Cannot intern " + entry.getKey() + ": not a string field");
+                }
+                out.printf("    public static final StringCache %s = new StringCache(%d);%n%n",
+                    toConstantName(field.name()), entry.getValue());
+            }
+
+            out.println("}");
+        }
+    }
+
+    static String toConstantName(String name) {
         return name.toUpperCase().replace(" ", "_");
     }
 
@@ -91,30 +137,61 @@ public class FixClassesGenerator {
                 package %s;
                 
                 import fix.parser.message.base.FixMessage;
+                import fix.parser.message.base.AsciiSequence;
                 import fix.parser.message.base.Segment;
                 import java.time.Instant;
                 import java.time.LocalDate;
                 
                 public class %s implements FixMessage {
                     private final Segment segment;
-                    private final Header header;
-                    private final Trailer trailer;
-                
-                    public %s(Segment segment) {
-                        this.segment = segment;
-                        this.header = new Header(segment);
-                        this.trailer = new Trailer(segment);
-                    }
                 
-                    public Header getHeader() {
-                        return header;
-                    }
-                
-                    public Trailer getTrailer() {
-                        return trailer;
-                    }
-                
-                """.formatted(packageName, className, className));
+                """.formatted(packageName, className));
+
+            if (options.cachedWrappers()) {
+                out.print("""
+                        private Header header;
+                        private Trailer trailer;
+                    
+                        public %s(Segment segment) {
+                            this.segment = segment;
+                        }
+                    
+                        public Header getHeader() {
+                            if (header == null) {
+                                header = new Header(segment);
+                            }
+                            return header;
+                        }
+                    
+                        public Trailer getTrailer() {
+                            if (trailer == null) {
+                                trailer = new Trailer(segment);
+                            }
+                            return trailer;
+                        }
+                    
+                    """.formatted(className));
+            } else {
+                out.print("""
+                        private final Header header;
+                        private final Trailer trailer;
+                    
+                        public %s(Segment segment) {
+                            this.segment = segment;
+                            this.header = new Header(segment);
+                            this.trailer = new Trailer(segment);
+                        }
+                    
+                        public Header getHeader() {
+                            return header;
+                        }
+                    
+                        public Trailer getTrailer() {
+                            return trailer;
+                        }
+                    
+                    """.formatted(className));
+            }
 
             // Generate getters for fields
             for (FieldDef field : message.fields()) {
@@ -144,18 +221,19 @@ public class FixClassesGenerator {
             out.print("""
                 package %s;
                 
+                import fix.parser.message.base.AsciiSequence;
                 import fix.parser.message.base.Segment;
                 import java.time.Instant;
                 import java.time.LocalDate;
                 
                 public class %s {
-                    private final Segment segment;
+                    private %sSegment segment;
                 
                     public %s(Segment segment) {
                         this.segment = segment;
                     }
                 
-                """.formatted(packageName, className, className));
+                """.formatted(packageName, className, options.cachedWrappers() ? "" : "final ", className));
 
             // Generate getters for fields
             for (FieldDef field : component.fields()) {
@@ -172,6 +250,11 @@ public class FixClassesGenerator {
                 generateComponentGetter(out, nestedComponent);
             }
 
+            // Cached wrappers of a component inside a group are re-pointed when a group cursor moves
+            if (options.cachedWrappers()) {
+                generateWrapMethod(out, component.components());
+            }
+
             out.println("}");
         } catch (Exception e) {
             throw new RuntimeException("Failed to generate " + className, e);
@@ -184,12 +267,13 @@ public class FixClassesGenerator {
             out.print("""
                 package %s;
                 
+                import fix.parser.message.base.AsciiSequence;
                 import fix.parser.message.base.Segment;
                 import java.time.Instant;
                 import java.time.LocalDate;
                 
                 public class %s {
-                    private final Segment segment;
+                    private Segment segment;
                 
                     public %s(Segment segment) {
                         this.segment = segment;
@@ -212,13 +296,16 @@ public class FixClassesGenerator {
                 generateGroupGetter(out, nestedGroup, packageDir);
             }
 
+            generateWrapMethod(out, options.cachedWrappers() ? group.components() : List.of());
+            generateGroupCursor(out, className);
+
             out.println("}");
         } catch (Exception e) {
             throw new RuntimeException("Failed to generate " + className, e);
         }
     }
 
-    private static void generateFieldGetter(PrintWriter out, FieldDef field) {
+    private void generateFieldGetter(PrintWriter out, FieldDef field) {
         String methodName = "get" + field.name();
         String javaType = field.getJavaType();
         String getterMethod = switch (field.type()) {
@@ -234,38 +321,236 @@ public class FixClassesGenerator {
             case DATA -> "getBytes";
         };
 
+        String constantName = toConstantName(field.name());
+        String arguments = options.internedFields().containsKey(field.name())
+            ? "Fields." + constantName + ", InternCaches." + constantName
+            : "Fields." + constantName;
         out.printf("""
             public %s %s() {
-                return this.segment.%s(Fields.%s);
+                return this.segment.%s(%s);
             }
             
-            """, javaType, methodName, getterMethod, toConstantName(field.name()));
+            """, javaType, methodName, getterMethod, arguments);
+
+        switch (field.type()) {
+            case PRICE, QTY, AMT, PRICEOFFSET, PERCENTAGE -> out.printf("""
+                /**
+                 * Returns %s as a fixed-point value with {@code scale} decimals.
+                 */
+                public long %sAsDecimal(int scale) {
+                    return this.segment.getDecimal(Fields.%s, scale);
+                }
+                
+                """, field.name(), methodName, toConstantName(field.name()));
+            case STRING, CURRENCY, MULTIPLEVALUESTRING, EXCHANGE, XMLDATA, LANGUAGE, COUNTRY -> out.printf("""
+                /**
+                 * Returns %s as a view over the raw bytes, valid until the next view read from this object.
+                 */
+                public AsciiSequence %sView() {
+                    return this.segment.getView(Fields.%s);
+                }
+                
+                public AsciiSequence %sView(AsciiSequence target) {
+                    return this.segment.getView(Fields.%s, target);
+                }
+                
+                """, field.name(), methodName, toConstantName(field.name()), methodName, toConstantName(field.name()));
+            case UTCTIMESTAMP -> {
+                for (String unit : new String[]{"Millis", "Micros", "Nanos"}) {
+                    out.printf("""
+                        public long %sEpoch%s() {
+                            return this.segment.getEpoch%s(Fields.%s);
+                        }
+                        
+                        """, methodName, unit, unit, toConstantName(field.name()));
+                }
+            }
+            case SEQNUM, LENGTH -> out.printf("""
+                /**
+                 * Returns %s as a {@code long}, for values past {@link Integer#MAX_VALUE}, which {@link #%s()}
+                 * rejects.
+                 */
+                public long %sAsLong() {
+                    return this.segment.getLong(Fields.%s);
+                }
+                
+                """, field.name(), methodName, methodName, toConstantName(field.name()));
+            case UTCTIMEONLY -> out.printf("""
+                public long %sNanoOfDay() {
+                    return this.segment.getNanoOfDay(Fields.%s);
+                }
+                
+                """, methodName, toConstantName(field.name()));
+            case UTCDATEONLY, LOCALMKTDATE -> out.printf("""
+                /**
+                 * Returns %s as an {@code int} of the form {@code yyyymmdd}.
+                 */
+                public int %sAsInt() {
+                    return this.segment.getDate(Fields.%s);
+                }
+                
+                """, field.name(), methodName, toConstantName(field.name()));
+            default -> {
+            }
+        }
     }
 
     private void generateGroupGetter(PrintWriter out, GroupDef group, Path packageDir) {
         String groupClassName = group.name() + "Group";
+        String getterName = group.name().startsWith("No") ? group.name().substring(2) : group.name();
+        String numInGroupTag = "Fields." + toConstantName(group.name());
 
         // Only generate the group class if it hasn't been generated before
         if (generatedGroupClasses.add(groupClassName)) {
             generateGroupClass(groupClassName, group, packageDir);
         }
 
-        out.printf("""                
+        String fieldPrefix = Character.toLowerCase(getterName.charAt(0)) + getterName.substring(1);
+        out.printf("""
+                private %s %sInstance;
+                private %s.Cursor %sCursor;
+                
+                /**
+                 * Returns a new wrapper for every %s instance, each independent of later reads.
+                 */
                 public %s[] get%s() {
-                    int preceding_idx = segment.rawMessage().indexOfTag(Fields.%s, segment.start(), segment.end());
-                    Segment[] segments = segment.getSegments(segment.rawMessage().tags()[preceding_idx + 1]);
-                    %s[] result = new %s[segments.length];
-                    for (int i = 0; i < segments.length; i++) {
-                        result[i] = new %s(segments[i]);
+                    int first = segment.firstGroupSegment(%s);
+                    %s[] result = new %s[segment.groupSize(first)];
+                    for (int i = 0; i < result.length; i++) {
+                        result[i] = new %s(segment.segment(first + i));
                     }
                     return result;
                 }
                 
+                public int get%sCount() {
+                    return segment.groupSize(segment.firstGroupSegment(%s));
+                }
+                
+                /**
+                 * Returns the %s instance at {@code index} through a wrapper shared by all calls on this object,
+                 * which the next call re-points, so read its fields before asking for another instance.
+                 */
+                public %s get%s(int index) {
+                    Segment instance = segment.groupInstance(%s, index);
+                    if (%sInstance == null) {
+                        %sInstance = new %s(instance);
+                    } else {
+                        %sInstance.wrap(instance);
+                    }
+                    return %sInstance;
+                }
+                
+                /**
+                 * Returns a cursor positioned before the first %s instance, shared by all calls on this object.
+                 */
+                public %s.Cursor get%sCursor() {
+                    if (%sCursor == null) {
+                        %sCursor = new %s.Cursor(%s);
+                    }
+                    return %sCursor.over(segment);
+                }
+                
                 """,
-            groupClassName, group.name().startsWith("No") ? group.name().substring(2) : group.name(),
-            toConstantName(group.name()),
+            groupClassName, fieldPrefix,
+            groupClassName, fieldPrefix,
+            group.name(),
+            groupClassName, getterName,
+            numInGroupTag,
             groupClassName, groupClassName,
-            groupClassName);
+            groupClassName,
+            getterName, numInGroupTag,
+            group.name(),
+            groupClassName, getterName,
+            numInGroupTag,
+            fieldPrefix,
+            fieldPrefix, groupClassName,
+            fieldPrefix,
+            fieldPrefix,
+            group.name(),
+            groupClassName, getterName,
+            fieldPrefix,
+            fieldPrefix, groupClassName, numInGroupTag,
+            fieldPrefix);
+    }
+
+    /**
+     * Emits {@code wrap(Segment)}, which re-points a wrapper and the cached wrappers of its components.
+     */
+    private void generateWrapMethod(PrintWriter out, List<ComponentRef> components) {
+        out.print("""
+                void wrap(Segment segment) {
+                    this.segment = segment;
+                """);
+        for (ComponentRef component : components) {
+            String fieldName = componentFieldName(component);
+            out.printf("""
+                        if (%s != null) {
+                            %s.wrap(segment);
+                        }
+                    """, fieldName, fieldName);
+        }
+        out.print("""
+                }
+                
+                """);
+    }
+
+    private static void generateGroupCursor(PrintWriter out, String groupClassName) {
+        out.printf("""
+                /**
+                 * Iterates over the instances of a repeating group without allocating: {@link #next()} re-points the
+                 * cursor at the next instance, whose fields are then read through the cursor itself.
+                 */
+                public static final class Cursor extends %s {
+                    private final int numInGroupTag;
+                    private Segment parent;
+                    private int first;
+                    private int end;
+                    private int next;
+                
+                    Cursor(int numInGroupTag) {
+                        super(null);
+                        this.numInGroupTag = numInGroupTag;
+                    }
+                
+                    Cursor over(Segment parent) {
+                        int firstSegment = parent.firstGroupSegment(numInGroupTag);
+                        this.parent = parent;
+                        this.first = Math.max(firstSegment, 0);
+                        this.end = first + parent.groupSize(firstSegment);
+                        this.next = first;
+                        return this;
+                    }
+                
+                    public int count() {
+                        return end - first;
+                    }
+                
+                    /**
+                     * Moves to the next instance.
+                     *
+                     * @return Whether there was one; once this returns false the cursor's getters must not be called
+                     */
+                    public boolean next() {
+                        if (next == end) {
+                            return false;
+                        }
+                        wrap(parent.segment(next++));
+                        return true;
+                    }
+                
+                    /**
+                     * Moves back before the first instance.
+                     */
+                    public void reset() {
+                        next = first;
+                    }
+                }
+                """, groupClassName);
+    }
+
+    private static String componentFieldName(ComponentRef component) {
+        return Character.toLowerCase(component.name().charAt(0)) + component.name().substring(1) + "Component";
     }
 
     private void generateMessageTypes(Path packageDir) throws IOException {
@@ -296,12 +581,108 @@ public class FixClassesGenerator {
         }
     }
 
+    /**
+     * Packs a MsgType of one or two 7-bit ASCII characters into a key below {@code 1 << 14}, or returns -1.
+     * The generated factory uses the same packing on the raw bytes.
+     */
+    static int msgTypeKey(String msgType) {
+        if (msgType.isEmpty() || msgType.length() > 2) {
+            return -1;
+        }
+        int key = 0;
+        for (int i = 0; i < 2; i++) {
+            int c = i < msgType.length() ? msgType.charAt(i) : 0;
+            if (c > 0x7F) {
+                return -1;
+            }
+            key = (key << 7) | c;
+        }
+        return key;
+    }
+
+    private void generateMessageFactory(Path packageDir) throws IOException {
+        Path file = packageDir.resolve("MessageFactory.java");
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.print("""
+                package %s;
+                
+                import fix.parser.message.base.FixMessage;
+                import fix.parser.message.base.FixMessageFactory;
+                import fix.parser.message.base.Segment;
+                import java.util.Arrays;
+                
+                /**
+                 * Dispatches on MsgType(35) bytes packed into an int key: a table indexed by the key gives the message
+                 * index, and a switch on the index creates the wrapper.
+                 * Generated from FIX specification version %s.%s
+                 */
+                public final class MessageFactory implements FixMessageFactory {
+                    public static final MessageFactory INSTANCE = new MessageFactory();
+                
+                    public static final int MESSAGE_TYPE_COUNT = %d;
+                
+                    // One or two 7-bit ASCII characters packed as (first << 7) | second
+                    private static final short[] INDEX_BY_KEY = new short[1 << 14];
+                
+                    static {
+                        Arrays.fill(INDEX_BY_KEY, (short) -1);
+                """.formatted(packageName, spec.major(), spec.minor(), spec.messages().size()));
+
+            for (int i = 0; i < spec.messages().size(); i++) {
+                MessageDef msg = spec.messages().get(i);
+                int key = msgTypeKey(msg.msgtype());
+                if (key < 0) {
+                    throw new IllegalArgumentException("Unsupported MsgType " + msg.msgtype() + " of " + msg.name());
+                }
+                out.printf("        INDEX_BY_KEY[%d] = %d;  // %s=%s%n", key, i, msg.msgtype(), msg.name());
+            }
+
+            out.print("""
+                    }
+                
+                    private MessageFactory() {}
+                
+                    @Override
+                    public int messageTypeCount() {
+                        return MESSAGE_TYPE_COUNT;
+                    }
+                
+                    @Override
+                    public int messageIndex(byte[] bytes, int offset, int length) {
+                        if (length == 1) {
+                            return bytes[offset] < 0 ? -1 : INDEX_BY_KEY[bytes[offset] << 7];
+                        }
+                        if (length == 2) {
+                            return (bytes[offset] | bytes[offset + 1]) < 0 ? -1 : INDEX_BY_KEY[(bytes[offset] << 7) | bytes[offset + 1]];
+                        }
+                        return -1;
+                    }
+                
+                    @Override
+                    public FixMessage create(int messageIndex, Segment segment) {
+                        return switch (messageIndex) {
+                """);
+
+            for (int i = 0; i < spec.messages().size(); i++) {
+                out.printf("            case %d -> new %sMessage(segment);%n", i, spec.messages().get(i).name());
+            }
+
+            out.print("""
+                            default -> throw new IllegalArgumentException("Unsupported message index: " + messageIndex);
+                        };
+                    }
+                }
+                """);
+        }
+    }
+
     private void generateHeaderClass(Path packageDir) {
         Path file = packageDir.resolve("Header.java");
         try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
             out.print("""
                 package %s;
                 
+                import fix.parser.message.base.AsciiSequence;
                 import fix.parser.message.base.Segment;
                 import java.time.Instant;
                 import java.time.LocalDate;
@@ -337,6 +718,7 @@ public class FixClassesGenerator {
             out.print("""
                 package %s;
                 
+                import fix.parser.message.base.AsciiSequence;
                 import fix.parser.message.base.Segment;
                 import java.time.Instant;
                 import java.time.LocalDate;
@@ -364,6 +746,28 @@ public class FixClassesGenerator {
     private void generateComponentGetter(PrintWriter out, ComponentRef component) {
         String componentClassName = component.name() + "Component";
 
+        if (options.cachedWrappers()) {
+            // One wrapper per component is kept for good; wrap(Segment) re-points it if the holder moves
+            String fieldName = componentFieldName(component);
+            out.printf("""
+                    private %s %s;
+                    
+                    public %s get%s() {
+                        if (%s == null) {
+                            %s = new %s(this.segment);
+                        }
+                        return %s;
+                    }
+                    
+                    """,
+                componentClassName, fieldName,
+                componentClassName, component.name(),
+                fieldName,
+                fieldName, componentClassName,
+                fieldName);
+            return;
+        }
+
         out.printf("""
                 public %s get%s() {
                     return new %s(this.segment);
@@ -0,0 +1,281 @@
+package fix.parser.codegen;
+
+import fix.parser.spec.*;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates typed encoders on top of {@code FixEncoder}: one per message, plus the header, trailer, components
+ * and repeating groups they write. Encoders are the writing counterpart of the classes generated by
+ * {@link FixClassesGenerator}, and live in the same package.
+ */
+class FixEncodersGenerator {
+    // Written by FixEncoder itself
+    private static final Set<Integer> FRAMING_TAGS = Set.of(8, 9, 10, 35);
+
+    private final FixSpec spec;
+    private final String packageName;
+    private final Set<String> generatedGroupEncoders = new HashSet<>();
+
+    FixEncodersGenerator(FixSpec spec, String packageName) {
+        this.spec = spec;
+        this.packageName = packageName;
+    }
+
+    void generate(Path packageDir) throws IOException {
+        generatedGroupEncoders.clear();
+        generateSectionEncoder("HeaderEncoder", spec.header(), packageDir);
+        generateSectionEncoder("TrailerEncoder", spec.trailer(), packageDir);
+        for (MessageDef message : spec.messages()) {
+            generateMessageEncoder(message, packageDir);
+        }
+        for (var entry : spec.components().entrySet()) {
+            ComponentDef component = entry.getValue();
+            generateEncoder(entry.getKey() + "ComponentEncoder", "the " + entry.getKey() + " component",
+                component.fields(), component.groups(), component.components(), packageDir);
+        }
+    }
+
+    private void generateMessageEncoder(MessageDef message, Path packageDir) throws IOException {
+        String className = message.name() + "Encoder";
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(packageDir.resolve(className + ".java")))) {
+            printImports(out);
+            out.print("""
+                /**
+                 * Encodes %s(35=%s) messages. Start a message with {@code wrap}, write the header, body and trailer
+                 * fields in FIX order, then call {@link #finish()}.
+                 */
+                public class %s {
+                    private final FixEncoder encoder;
+                    private HeaderEncoder header;
+                    private TrailerEncoder trailer;
+
+                    public %s() {
+                        this(new FixEncoder("FIX.%s.%s"));
+                    }
+
+                    /**
+                     * @param encoder The encoder to write through, which may be shared with encoders of other message types
+                     */
+                    public %s(FixEncoder encoder) {
+                        this.encoder = encoder;
+                    }
+
+                    /**
+                     * Starts a message at {@code offset} of {@code buffer}, writing BeginString(8) and MsgType(35).
+                     */
+                    public %s wrap(byte[] buffer, int offset) {
+                        encoder.wrap(buffer, offset, MessageTypes.%s);
+                        return this;
+                    }
+
+                    /**
+                     * Starts a message at the position of {@code buffer}, writing BeginString(8) and MsgType(35).
+                     */
+                    public %s wrap(ByteBuffer buffer) {
+                        encoder.wrap(buffer, MessageTypes.%s);
+                        return this;
+                    }
+
+                    /**
+                     * Backfills BodyLength(9) and appends CheckSum(10).
+                     *
+                     * @return The length of the message in bytes
+                     */
+                    public int finish() {
+                        return encoder.finish();
+                    }
+
+                    public HeaderEncoder getHeader() {
+                        if (header == null) {
+                            header = new HeaderEncoder(encoder);
+                        }
+                        return header;
+                    }
+
+                    public TrailerEncoder getTrailer() {
+                        if (trailer == null) {
+                            trailer = new TrailerEncoder(encoder);
+                        }
+                        return trailer;
+                    }
+
+                """.formatted(message.name(), message.msgtype(), className, className,
+                spec.major(), spec.minor(), className,
+                className, FixClassesGenerator.toConstantName(message.name()),
+                className, FixClassesGenerator.toConstantName(message.name())));
+
+            generateMembers(out, className, message.fields(), message.groups(), message.components(), packageDir);
+            out.println("}");
+        }
+    }
+
+    private void generateSectionEncoder(String className, MessageSection section, Path packageDir) throws IOException {
+        List<FieldDef> fields = section.fields().stream()
+            .filter(field -> !FRAMING_TAGS.contains(field.number()))
+            .toList();
+        generateEncoder(className, "the standard " + className.replace("Encoder", "").toLowerCase(),
+            fields, section.groups(), List.of(), packageDir);
+    }
+
+    private void generateEncoder(String className, String description, List<FieldDef> fields, List<GroupDef> groups,
+                                 List<ComponentRef> components, Path packageDir) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(packageDir.resolve(className + ".java")))) {
+            printImports(out);
+            out.print("""
+                /**
+                 * Writes the fields of %s through the encoder of the message being built.
+                 */
+                public class %s {
+                    private final FixEncoder encoder;
+
+                    public %s(FixEncoder encoder) {
+                        this.encoder = encoder;
+                    }
+
+                """.formatted(description, className, className));
+            generateMembers(out, className, fields, groups, components, packageDir);
+            out.println("}");
+        }
+    }
+
+    private void generateMembers(PrintWriter out, String className, List<FieldDef> fields, List<GroupDef> groups,
+                                 List<ComponentRef> components, Path packageDir) throws IOException {
+        for (FieldDef field : fields) {
+            generateFieldPut(out, className, field);
+        }
+        for (ComponentRef component : components) {
+            generateComponentGetter(out, component);
+        }
+        for (GroupDef group : groups) {
+            generateGroupPut(out, group, packageDir);
+        }
+    }
+
+    private void generateFieldPut(PrintWriter out, String className, FieldDef field) {
+        String method = "put" + field.name();
+        String tag = "Fields." + FixClassesGenerator.toConstantName(field.name());
+        switch (field.type()) {
+            case STRING, CURRENCY, MULTIPLEVALUESTRING, EXCHANGE, XMLDATA, LANGUAGE, COUNTRY ->
+                printPut(out, className, method, "CharSequence value", "putString(" + tag + ", value)");
+            case CHAR -> printPut(out, className, method, "char value", "putChar(" + tag + ", value)");
+            case INT, NUMINGROUP -> printPut(out, className, method, "int value", "putInt(" + tag + ", value)");
+            case SEQNUM, LENGTH -> printPut(out, className, method, "long value", "putLong(" + tag + ", value)");
+            case BOOLEAN -> printPut(out, className, method, "boolean value", "putBoolean(" + tag + ", value)");
+            case FLOAT -> printPut(out, className, method, "double value", "putDouble(" + tag + ", value)");
+            case PRICE, QTY, AMT, PRICEOFFSET, PERCENTAGE -> {
+                printPut(out, className, method, "double value", "putDouble(" + tag + ", value)");
+                printPut(out, className, method + "AsDecimal", "long unscaled, int scale",
+                    "putDecimal(" + tag + ", unscaled, scale)");
+            }
+            case UTCTIMESTAMP -> {
+                printPut(out, className, method, "Instant value", "putInstant(" + tag + ", value)");
+                for (String unit : new String[]{"Millis", "Micros", "Nanos"}) {
+                    printPut(out, className, method + "Epoch" + unit, "long value",
+                        "putEpoch" + unit + "(" + tag + ", value)");
+                }
+            }
+            case MONTHYEAR -> printPut(out, className, method, "YearMonth value", "putYearMonth(" + tag + ", value)");
+            case UTCTIMEONLY, TIME -> {
+                printPut(out, className, method, "LocalTime value", "putLocalTime(" + tag + ", value)");
+                if (field.type() == FixType.UTCTIMEONLY) {
+                    printPut(out, className, method + "NanoOfDay", "long value", "putNanoOfDay(" + tag + ", value)");
+                }
+            }
+            case UTCDATEONLY, LOCALMKTDATE, DATE -> {
+                printPut(out, className, method, "LocalDate value", "putLocalDate(" + tag + ", value)");
+                if (field.type() != FixType.DATE) {
+                    printPut(out, className, method + "AsInt", "int yyyymmdd", "putDate(" + tag + ", yyyymmdd)");
+                }
+            }
+            case DATA -> printPut(out, className, method, "byte[] value",
+                "putBytes(" + tag + ", value, 0, value.length)");
+        }
+    }
+
+    private static void printPut(PrintWriter out, String className, String method, String parameters, String call) {
+        out.printf("""
+            public %s %s(%s) {
+                encoder.%s;
+                return this;
+            }
+
+            """, className, method, parameters, call);
+    }
+
+    private void generateComponentGetter(PrintWriter out, ComponentRef component) {
+        String encoderClassName = component.name() + "ComponentEncoder";
+        String fieldName = Character.toLowerCase(component.name().charAt(0)) + component.name().substring(1) + "Encoder";
+        out.printf("""
+            private %s %s;
+
+            public %s get%s() {
+                if (%s == null) {
+                    %s = new %s(encoder);
+                }
+                return %s;
+            }
+
+            """,
+            encoderClassName, fieldName,
+            encoderClassName, component.name(),
+            fieldName,
+            fieldName, encoderClassName,
+            fieldName);
+    }
+
+    private void generateGroupPut(PrintWriter out, GroupDef group, Path packageDir) throws IOException {
+        String encoderClassName = group.name() + "GroupEncoder";
+        String name = group.name().startsWith("No") ? group.name().substring(2) : group.name();
+        String fieldName = Character.toLowerCase(name.charAt(0)) + name.substring(1) + "Encoder";
+
+        // Only generate the group encoder if it hasn't been generated before
+        if (generatedGroupEncoders.add(encoderClassName)) {
+            generateEncoder(encoderClassName, "one " + group.name() + " instance",
+                group.fields(), group.groups(), group.components(), packageDir);
+        }
+
+        out.printf("""
+            private %s %s;
+
+            /**
+             * Writes %s(%s) and returns the encoder for its instances, each of which must start with the delimiter.
+             */
+            public %s put%s(int count) {
+                encoder.putInt(Fields.%s, count);
+                if (%s == null) {
+                    %s = new %s(encoder);
+                }
+                return %s;
+            }
+
+            """,
+            encoderClassName, fieldName,
+            group.name(), spec.fields().get(group.name()).number(),
+            encoderClassName, name,
+            FixClassesGenerator.toConstantName(group.name()),
+            fieldName,
+            fieldName, encoderClassName,
+            fieldName);
+    }
+
+    private void printImports(PrintWriter out) {
+        out.print("""
+            package %s;
+
+            import fix.parser.message.base.FixEncoder;
+            import java.nio.ByteBuffer;
+            import java.time.Instant;
+            import java.time.LocalDate;
+            import java.time.LocalTime;
+            import java.time.YearMonth;
+
+            """.formatted(packageName));
+    }
+}
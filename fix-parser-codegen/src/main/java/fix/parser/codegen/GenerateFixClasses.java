@@ -5,11 +5,12 @@ import fix.parser.spec.FixSpecParser;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 
 public class GenerateFixClasses {
     public static void main(String[] args) {
-        if (args.length != 3) {
-            System.err.println("Usage: java Main <input-xml> <output-dir> <package-name>");
+        if (args.length < 3) {
+            System.err.println("Usage: java Main <input-xml> <output-dir> <package-name> [--intern=<field>[:<capacity>],...] [--cache-wrappers]");
             System.exit(1);
         }
 
@@ -17,13 +18,14 @@ public class GenerateFixClasses {
             Path inputFile = Paths.get(args[0]);
             Path outputDir = Paths.get(args[1]);
             String packageName = args[2];
+            CodegenOptions options = CodegenOptions.parse(Arrays.copyOfRange(args, 3, args.length));
 
             // Parse the XML specification
             FixSpecParser parser = new FixSpecParser(inputFile.toFile());
             FixSpec spec = parser.parse();
 
             // Generate code
-            FixClassesGenerator generator = new FixClassesGenerator(spec, packageName, outputDir);
+            FixClassesGenerator generator = new FixClassesGenerator(spec, packageName, outputDir, options);
             generator.generate();
 
         } catch (Exception e) {
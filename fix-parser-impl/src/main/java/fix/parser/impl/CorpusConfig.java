@@ -0,0 +1,106 @@
+package fix.parser.impl;
+
+import java.util.Map;
+
+/**
+ * Shape of the messages made by {@link FixCorpusGenerator}. Start from {@link #DEFAULT} and adjust it with the
+ * {@code with} methods.
+ *
+ * @param seed              Seed of the random source, so that the same configuration always makes the same corpus
+ * @param messageMix        Relative weight of each MsgType(35) in the corpus. When empty, every message type of the
+ *                          specification is equally likely
+ * @param fieldDensity      Probability, from 0 to 1, that each optional field or repeating group of a message is
+ *                          present. The standard header, the delimiter of each group instance and the fields and
+ *                          groups the specification requires are always written, except within optional
+ *                          components
+ * @param minGroupInstances Fewest instances written for a repeating group that is present
+ * @param maxGroupInstances Most instances written for a repeating group that is present
+ * @param maxGroupDepth     Deepest nesting of repeating groups: 0 leaves groups out, 1 only writes the groups of
+ *                          the message itself, and so on
+ * @param maxStringLength   Longest string and DATA value, in bytes
+ * @param stringCardinality Number of distinct values drawn for each string field, so that repeated values such
+ *                          as symbols and counterparties recur as they do in real traffic, or 0 for a fresh
+ *                          random value every time
+ * @param maxPrice          Upper bound of price, amount and other decimal values
+ * @param priceScale        Number of decimal places of price, amount and other decimal values
+ * @param maxQuantity       Upper bound of quantity values, which are whole numbers
+ */
+public record CorpusConfig(
+    long seed,
+    Map<String, Integer> messageMix,
+    double fieldDensity,
+    int minGroupInstances,
+    int maxGroupInstances,
+    int maxGroupDepth,
+    int maxStringLength,
+    int stringCardinality,
+    double maxPrice,
+    int priceScale,
+    long maxQuantity
+) {
+    public static final CorpusConfig DEFAULT = new CorpusConfig(1, Map.of(), 0.5, 1, 4, 2, 16, 64, 1000, 2, 100_000);
+
+    public CorpusConfig {
+        messageMix = Map.copyOf(messageMix);
+        messageMix.forEach((msgType, weight) -> {
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Weight of MsgType " + msgType + " must be positive: " + weight);
+            }
+        });
+        if (!(fieldDensity >= 0 && fieldDensity <= 1)) {
+            throw new IllegalArgumentException("Field density must be between 0 and 1: " + fieldDensity);
+        }
+        if (minGroupInstances < 1 || maxGroupInstances < minGroupInstances) {
+            throw new IllegalArgumentException(
+                "Invalid group instance range: " + minGroupInstances + " to " + maxGroupInstances);
+        }
+        if (maxGroupDepth < 0 || maxStringLength < 1 || stringCardinality < 0) {
+            throw new IllegalArgumentException("Group depth and string cardinality must not be negative, " +
+                "and strings must be at least one byte long");
+        }
+        if (!(maxPrice > 0) || priceScale < 0 || priceScale > 9 || maxQuantity < 1) {
+            throw new IllegalArgumentException("Invalid price or quantity range: " + maxPrice + " with scale " +
+                priceScale + ", quantity up to " + maxQuantity);
+        }
+    }
+
+    public CorpusConfig withSeed(long seed) {
+        return new CorpusConfig(seed, messageMix, fieldDensity, minGroupInstances, maxGroupInstances, maxGroupDepth,
+            maxStringLength, stringCardinality, maxPrice, priceScale, maxQuantity);
+    }
+
+    public CorpusConfig withMessageMix(Map<String, Integer> messageMix) {
+        return new CorpusConfig(seed, messageMix, fieldDensity, minGroupInstances, maxGroupInstances, maxGroupDepth,
+            maxStringLength, stringCardinality, maxPrice, priceScale, maxQuantity);
+    }
+
+    public CorpusConfig withFieldDensity(double fieldDensity) {
+        return new CorpusConfig(seed, messageMix, fieldDensity, minGroupInstances, maxGroupInstances, maxGroupDepth,
+            maxStringLength, stringCardinality, maxPrice, priceScale, maxQuantity);
+    }
+
+    public CorpusConfig withGroupInstances(int minGroupInstances, int maxGroupInstances) {
+        return new CorpusConfig(seed, messageMix, fieldDensity, minGroupInstances, maxGroupInstances, maxGroupDepth,
+            maxStringLength, stringCardinality, maxPrice, priceScale, maxQuantity);
+    }
+
+    public CorpusConfig withMaxGroupDepth(int maxGroupDepth) {
+        return new CorpusConfig(seed, messageMix, fieldDensity, minGroupInstances, maxGroupInstances, maxGroupDepth,
+            maxStringLength, stringCardinality, maxPrice, priceScale, maxQuantity);
+    }
+
+    public CorpusConfig withStrings(int maxStringLength, int stringCardinality) {
+        return new CorpusConfig(seed, messageMix, fieldDensity, minGroupInstances, maxGroupInstances, maxGroupDepth,
+            maxStringLength, stringCardinality, maxPrice, priceScale, maxQuantity);
+    }
+
+    public CorpusConfig withPrices(double maxPrice, int priceScale) {
+        return new CorpusConfig(seed, messageMix, fieldDensity, minGroupInstances, maxGroupInstances, maxGroupDepth,
+            maxStringLength, stringCardinality, maxPrice, priceScale, maxQuantity);
+    }
+
+    public CorpusConfig withMaxQuantity(long maxQuantity) {
+        return new CorpusConfig(seed, messageMix, fieldDensity, minGroupInstances, maxGroupInstances, maxGroupDepth,
+            maxStringLength, stringCardinality, maxPrice, priceScale, maxQuantity);
+    }
+}
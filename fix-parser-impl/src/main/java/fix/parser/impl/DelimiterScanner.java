@@ -0,0 +1,87 @@
+package fix.parser.impl;
+
+import fix.parser.message.base.MessageBytes;
+
+/**
+ * Finds every field separator (SOH) and equals sign in a message in one pass, producing a structural index that
+ * the tokenizer walks instead of searching the bytes for each field.
+ * <p>
+ * The implementation is chosen once at startup: a Vector API scanner when the {@code jdk.incubator.vector}
+ * module is present (run with {@code --add-modules jdk.incubator.vector}), otherwise a SWAR scanner that tests
+ * eight bytes per {@code long}. Messages read in place from a direct buffer are always scanned by the SWAR scanner,
+ * which loads their words straight from off-heap memory.
+ */
+abstract class DelimiterScanner {
+    static final byte FIELD_SEPARATOR = 0x01;  // SOH character
+    static final byte EQUALS_SIGN = 0x3D;
+
+    static final DelimiterScanner INSTANCE = create();
+
+    /**
+     * Writes the position of every SOH and {@code =} in {@code [from, to)} to {@code positions}, in order.
+     *
+     * @param positions Output array, at least {@code to - from} long
+     * @return The number of positions written
+     */
+    abstract int scan(MessageBytes bytes, int from, int to, int[] positions);
+
+    /**
+     * Like {@link #scan(MessageBytes, int, int, int[])}, and also adds the bytes of {@code [from, to)} to
+     * {@code byteSum[0]} in the same pass, for CheckSum(10) verification. Only the low eight bits of the sum
+     * are meaningful.
+     */
+    abstract int scan(MessageBytes bytes, int from, int to, int[] positions, int[] byteSum);
+
+    /**
+     * @return The sum of the bytes in {@code [from, to)}, of which only the low eight bits are meaningful
+     */
+    abstract int sum(MessageBytes bytes, int from, int to);
+
+    private static DelimiterScanner create() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return new VectorDelimiterScanner();
+            } catch (LinkageError e) {
+                // Fall through to the scalar scanner
+            }
+        }
+        return new SwarDelimiterScanner();
+    }
+
+    /**
+     * Scalar scan of the bytes that do not fill a whole block.
+     */
+    static int scanTail(MessageBytes bytes, int from, int to, int[] positions, int count) {
+        for (int i = from; i < to; i++) {
+            byte b = bytes.get(i);
+            if (b == FIELD_SEPARATOR || b == EQUALS_SIGN) {
+                positions[count++] = i;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Scalar scan and sum of the bytes that do not fill a whole block.
+     */
+    static int scanTail(MessageBytes bytes, int from, int to, int[] positions, int count, int[] byteSum) {
+        int sum = 0;
+        for (int i = from; i < to; i++) {
+            byte b = bytes.get(i);
+            sum += b;
+            if (b == FIELD_SEPARATOR || b == EQUALS_SIGN) {
+                positions[count++] = i;
+            }
+        }
+        byteSum[0] += sum;
+        return count;
+    }
+
+    static int sumTail(MessageBytes bytes, int from, int to) {
+        int sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += bytes.get(i);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,412 @@
+package fix.parser.impl;
+
+import fix.parser.message.base.FixEncoder;
+import fix.parser.spec.ComponentDef;
+import fix.parser.spec.ComponentRef;
+import fix.parser.spec.FieldDef;
+import fix.parser.spec.FixSpec;
+import fix.parser.spec.FixType;
+import fix.parser.spec.GroupDef;
+import fix.parser.spec.MessageDef;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Makes synthetic but well-formed messages of any type of a {@link FixSpec}, with correct BodyLength(9) and
+ * CheckSum(10), for benchmarks and fuzzing. The fields, repeating groups and values of each message are drawn
+ * from a random source seeded by the {@link CorpusConfig}, so the same specification and configuration always
+ * make the same sequence of messages.
+ * <p>
+ * Every message starts with MsgType(35), SenderCompID(49), TargetCompID(56), MsgSeqNum(34) and SendingTime(52),
+ * with sequence numbers counting up from 1 and sending times moving forward. Body fields and components are
+ * written before repeating groups at each level, and a tag is written at most once per message or group
+ * instance. Fields and repeating groups that the specification requires are always written, as is the first
+ * field of every group instance, and the others are written with the probability set by
+ * {@link CorpusConfig#fieldDensity()}. The members of an optional component are all treated as optional, since
+ * the component as a whole may be left out. A group is left out, even a required one, when it is nested deeper
+ * than the configuration allows or when one of its members could also follow it, since no parser could then tell
+ * where its last instance ends. DATA fields are only written right after their LENGTH field.
+ * <p>
+ * Enumerated fields take one of the values the specification lists for them, and other fields a random value
+ * within their type and the ranges of the configuration. Messages are written with a {@link FixEncoder}. The
+ * generator is not thread-safe.
+ */
+public final class FixCorpusGenerator {
+    private static final int SENDER_COMP_ID = 49;
+    private static final int TARGET_COMP_ID = 56;
+    private static final Instant START_TIME = Instant.parse("2023-06-15T08:00:00Z");
+    private static final LocalDate START_DATE = LocalDate.of(2023, 6, 15);
+    private static final int MAX_MESSAGE_LENGTH = 1 << 26;
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "JPY", "CHF", "HKD"};
+    private static final String[] COUNTRIES = {"US", "GB", "DE", "FR", "JP", "HK"};
+    private static final String[] EXCHANGES = {"XNYS", "XNAS", "XLON", "XPAR", "XETR", "XTKS"};
+    private static final String[] LANGUAGES = {"en", "fr", "de", "ja", "zh"};
+    private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    private final FixSpec spec;
+    private final Map<String, GroupTables> groupTables;  // By MsgType(35)
+    private final CorpusConfig config;
+    private final SplittableRandom seeds;           // Draws the type, sending time and seed of each message
+    private final SplittableRandom poolValues;      // Draws the values of the string pools
+    private final FixEncoder encoder;
+    private final Map<String, MessageDef> messagesByType = new LinkedHashMap<>();
+    private final MessageDef[] mix;
+    private final int[] cumulativeWeights;
+    private final BitSet reservedTags = new BitSet();  // Header and trailer tags, never written in the body
+    private final Map<String, Level> levels = new HashMap<>();
+    private final Map<Integer, String[]> stringPools = new HashMap<>();
+    private final long maxUnscaledPrice;
+    private final byte[] dataBytes;
+    private byte[] buffer = new byte[4096];
+    private SplittableRandom random;                // Draws the content of the current message
+    private long msgSeqNum;
+    private long sendingTime = START_TIME.toEpochMilli();
+
+    public FixCorpusGenerator(FixSpec spec) {
+        this(spec, CorpusConfig.DEFAULT);
+    }
+
+    /**
+     * @throws IllegalArgumentException If the message mix names a MsgType(35) the specification does not define
+     */
+    public FixCorpusGenerator(FixSpec spec, CorpusConfig config) {
+        this.spec = spec;
+        this.groupTables = GroupTables.byMsgType(spec);
+        this.config = config;
+        this.seeds = new SplittableRandom(config.seed());
+        this.poolValues = seeds.split();
+        this.encoder = new FixEncoder("FIX." + spec.major() + "." + spec.minor());
+        for (MessageDef message : spec.messages()) {
+            messagesByType.put(message.msgtype(), message);
+        }
+        for (var section : Arrays.asList(spec.header(), spec.trailer())) {
+            if (section != null) {
+                section.fields().forEach(field -> reservedTags.set(field.number()));
+            }
+        }
+
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        if (config.messageMix().isEmpty()) {
+            messagesByType.keySet().forEach(msgType -> weights.put(msgType, 1));
+        } else {
+            // Sort the mix so that the corpus does not depend on the iteration order of the map
+            config.messageMix().entrySet().stream().sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> weights.put(entry.getKey(), entry.getValue()));
+        }
+        this.mix = new MessageDef[weights.size()];
+        this.cumulativeWeights = new int[weights.size()];
+        int i = 0;
+        int total = 0;
+        for (var entry : weights.entrySet()) {
+            mix[i] = message(entry.getKey());
+            total = Math.addExact(total, entry.getValue());
+            cumulativeWeights[i++] = total;
+        }
+        this.maxUnscaledPrice = (long) (config.maxPrice() * Math.pow(10, config.priceScale()));
+        this.dataBytes = new byte[config.maxStringLength()];
+    }
+
+    /**
+     * Makes a message of a type drawn from the message mix.
+     */
+    public byte[] next() {
+        int pick = seeds.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = Arrays.binarySearch(cumulativeWeights, pick + 1);
+        return next(mix[index < 0 ? -index - 1 : index]);
+    }
+
+    /**
+     * Makes a message of the given MsgType(35), whatever the message mix.
+     *
+     * @throws IllegalArgumentException If the specification does not define {@code msgType}
+     */
+    public byte[] next(String msgType) {
+        return next(message(msgType));
+    }
+
+    /**
+     * Writes {@code count} messages drawn from the message mix to {@code file}, one after another, replacing the
+     * file if it exists. The file can be read back with {@link FixLogScanner}.
+     *
+     * @return The number of bytes written
+     */
+    public long writeCorpus(Path file, int count) throws IOException {
+        long written = 0;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+            for (int i = 0; i < count; i++) {
+                byte[] message = next();
+                out.write(message);
+                written += message.length;
+            }
+        }
+        return written;
+    }
+
+    private MessageDef message(String msgType) {
+        MessageDef message = messagesByType.get(msgType);
+        if (message == null) {
+            throw new IllegalArgumentException("Unknown MsgType: " + msgType);
+        }
+        return message;
+    }
+
+    /**
+     * Encodes a message into the reusable buffer. The content is drawn from a random source seeded for this
+     * message alone, so when the message does not fit, the same message is made again in a larger buffer.
+     */
+    private byte[] next(MessageDef message) {
+        Level level = levels.computeIfAbsent(message.msgtype(), msgType ->
+            level(groupTables.get(msgType), message.fields(), message.groups(), message.components(), null,
+                (BitSet) reservedTags.clone(), new BitSet(), 0));
+        long seed = seeds.nextLong();
+        msgSeqNum++;
+        sendingTime += seeds.nextInt(1000);
+        while (true) {
+            random = new SplittableRandom(seed);
+            try {
+                encoder.wrap(buffer, 0, message.msgtype())
+                    .putString(SENDER_COMP_ID, pooledString(SENDER_COMP_ID))
+                    .putString(TARGET_COMP_ID, pooledString(TARGET_COMP_ID))
+                    .putLong(34, msgSeqNum)
+                    .putEpochMillis(52, sendingTime);
+                writeLevel(level);
+                return Arrays.copyOf(buffer, encoder.finish());
+            } catch (IndexOutOfBoundsException e) {
+                if (buffer.length >= MAX_MESSAGE_LENGTH) {
+                    throw new IllegalStateException("MsgType " + message.msgtype() + " message longer than " +
+                        MAX_MESSAGE_LENGTH + " bytes; reduce the group instances or depth", e);
+                }
+                buffer = new byte[buffer.length * 2];
+            }
+        }
+    }
+
+    /**
+     * The fields and repeating groups written at one level of a message: the body, or an instance of a group.
+     *
+     * @param fields    The fields, each required only if it is also required by every component it comes from
+     * @param delimited Whether the first field is the delimiter of a group instance, which is always written
+     */
+    private record Level(List<FieldDef> fields, List<GroupLevel> groups, boolean delimited) {
+    }
+
+    private record GroupLevel(FieldDef counter, Level instance, boolean required) {
+    }
+
+    /**
+     * Flattens the members of a level, including those of its components, and decides which of its groups can be
+     * written without ambiguity. Group members are looked up in the same tables as the parser uses, which merge
+     * the definitions of a NUMINGROUP tag within one message.
+     *
+     * @param groups The group tables of the message
+     * @param seen   Tags already taken at this level, which are not written again
+     * @param follow Tags that may come right after this level, which its groups must not contain
+     */
+    private Level level(GroupTables groupTables, List<FieldDef> fields, List<GroupDef> groups,
+                        List<ComponentRef> components, FieldDef delimiter, BitSet seen, BitSet follow, int depth) {
+        List<FieldDef> flatFields = new ArrayList<>();
+        List<GroupDef> flatGroups = new ArrayList<>();
+        BitSet requiredGroups = new BitSet();
+        if (delimiter != null) {
+            flatFields.add(delimiter);
+            seen.set(delimiter.number());
+        }
+        flatten(groupTables, fields, groups, components, true, seen, flatFields, flatGroups, requiredGroups);
+        orderGroups(groupTables, flatGroups);
+
+        List<GroupLevel> groupLevels = new ArrayList<>();
+        if (depth < config.maxGroupDepth()) {
+            for (int i = 0; i < flatGroups.size(); i++) {
+                GroupDef group = flatGroups.get(i);
+                BitSet groupFollow = (BitSet) follow.clone();
+                for (GroupDef later : flatGroups.subList(i + 1, flatGroups.size())) {
+                    groupFollow.set(counter(later).number());
+                }
+                int counterTag = counter(group).number();
+                if (groupFollow.stream().anyMatch(tag -> groupTables.isMember(counterTag, tag))) {
+                    continue;
+                }
+                int delimiterTag = groupTables.delimiter(counterTag);
+                FieldDef groupDelimiter = spec.fields().values().stream()
+                    .filter(field -> field.number() == delimiterTag).findFirst().orElseThrow();
+                // An instance ends at the next delimiter, or at whatever follows the whole group
+                BitSet instanceFollow = (BitSet) groupFollow.clone();
+                instanceFollow.set(delimiterTag);
+                groupLevels.add(new GroupLevel(counter(group), level(groupTables, group.fields(),
+                    group.groups(), group.components(), groupDelimiter, new BitSet(), instanceFollow, depth + 1),
+                    requiredGroups.get(counterTag)));
+            }
+        }
+        return new Level(flatFields, groupLevels, delimiter != null);
+    }
+
+    /**
+     * Moves every group ahead of the groups that may contain its NUMINGROUP tag, such as the groups of a component
+     * ahead of a group whose merged definition in the same message also includes that component. Groups that
+     * contain each other keep their order, and the later one is left out.
+     */
+    private void orderGroups(GroupTables groupTables, List<GroupDef> groups) {
+        List<GroupDef> remaining = new ArrayList<>(groups);
+        groups.clear();
+        while (!remaining.isEmpty()) {
+            GroupDef next = remaining.stream()
+                .filter(group -> remaining.stream().noneMatch(other ->
+                    other != group && groupTables.isMember(counter(group).number(), counter(other).number())))
+                .findFirst()
+                .orElse(remaining.getFirst());
+            remaining.remove(next);
+            groups.add(next);
+        }
+    }
+
+    /**
+     * @param required       Whether the members are required where they are written, which is false for the
+     *                       members of an optional component
+     * @param requiredGroups Receives the NUMINGROUP tags of the required groups
+     */
+    private void flatten(GroupTables groupTables, List<FieldDef> fields, List<GroupDef> groups,
+                         List<ComponentRef> components, boolean required, BitSet seen, List<FieldDef> flatFields,
+                         List<GroupDef> flatGroups, BitSet requiredGroups) {
+        for (FieldDef field : fields) {
+            // A plain count field that shares its tag with a group elsewhere would be parsed as that group
+            if (!seen.get(field.number()) && !groupTables.isGroup(field.number())) {
+                seen.set(field.number());
+                flatFields.add(field.withRequired(required && field.required()));
+            }
+        }
+        for (GroupDef group : groups) {
+            int counterTag = counter(group).number();
+            if (!seen.get(counterTag)) {
+                seen.set(counterTag);
+                flatGroups.add(group);
+                requiredGroups.set(counterTag, required && group.required());
+            }
+        }
+        for (ComponentRef ref : components) {
+            ComponentDef component = GroupTables.component(spec, ref.name());
+            flatten(groupTables, component.fields(), component.groups(), component.components(),
+                required && ref.required(), seen, flatFields, flatGroups, requiredGroups);
+        }
+    }
+
+    private FieldDef counter(GroupDef group) {
+        FieldDef counter = spec.fields().get(group.name());
+        if (counter == null) {
+            throw new IllegalArgumentException("Group " + group.name() + " has no NUMINGROUP field");
+        }
+        return counter;
+    }
+
+    private void writeLevel(Level level) {
+        List<FieldDef> fields = level.fields();
+        for (int i = 0; i < fields.size(); i++) {
+            FieldDef field = fields.get(i);
+            boolean required = field.required() || i == 0 && level.delimited();
+            if (field.type() == FixType.LENGTH && i + 1 < fields.size() && fields.get(i + 1).type() == FixType.DATA) {
+                if (required || fields.get(i + 1).required() || present()) {
+                    writeData(field, fields.get(i + 1));
+                }
+                i++;
+            } else if (field.type() != FixType.DATA && (required || present())) {
+                putValue(field);
+            }
+        }
+        for (GroupLevel group : level.groups()) {
+            if (group.required() || present()) {
+                int count = random.nextInt(config.minGroupInstances(), config.maxGroupInstances() + 1);
+                encoder.putInt(group.counter().number(), count);
+                for (int i = 0; i < count; i++) {
+                    writeLevel(group.instance());
+                }
+            }
+        }
+    }
+
+    private boolean present() {
+        return random.nextDouble() < config.fieldDensity();
+    }
+
+    /**
+     * Writes a LENGTH field and the DATA field it measures. DATA values may contain the field separator.
+     */
+    private void writeData(FieldDef length, FieldDef data) {
+        int size = random.nextInt(1, config.maxStringLength() + 1);
+        for (int i = 0; i < size; i++) {
+            dataBytes[i] = random.nextInt(16) == 0 ? 0x01 : (byte) random.nextInt(0x20, 0x7F);
+        }
+        encoder.putInt(length.number(), size).putBytes(data.number(), dataBytes, 0, size);
+    }
+
+    private void putValue(FieldDef field) {
+        int tag = field.number();
+        if (!field.values().isEmpty()) {
+            encoder.putString(tag, field.values().get(random.nextInt(field.values().size())));
+            return;
+        }
+        switch (field.type()) {
+            case STRING, MULTIPLEVALUESTRING, XMLDATA -> encoder.putString(tag, pooledString(tag));
+            case CURRENCY -> encoder.putString(tag, pick(CURRENCIES));
+            case COUNTRY -> encoder.putString(tag, pick(COUNTRIES));
+            case EXCHANGE -> encoder.putString(tag, pick(EXCHANGES));
+            case LANGUAGE -> encoder.putString(tag, pick(LANGUAGES));
+            case CHAR -> encoder.putChar(tag, ALPHANUMERIC.charAt(random.nextInt(ALPHANUMERIC.length())));
+            case BOOLEAN -> encoder.putBoolean(tag, random.nextBoolean());
+            case INT, NUMINGROUP, LENGTH -> encoder.putInt(tag, random.nextInt(10_000));
+            case SEQNUM -> encoder.putLong(tag, random.nextLong(1, 1_000_000));
+            case QTY -> encoder.putLong(tag, random.nextLong(1, config.maxQuantity() + 1));
+            case PRICE, AMT, PRICEOFFSET, PERCENTAGE, FLOAT ->
+                encoder.putDecimal(tag, random.nextLong(maxUnscaledPrice + 1), config.priceScale());
+            case UTCTIMESTAMP -> encoder.putEpochMillis(tag, START_TIME.toEpochMilli() + random.nextLong(86_400_000));
+            case UTCTIMEONLY, TIME -> encoder.putNanoOfDay(tag, random.nextLong(86_400_000) * 1_000_000);
+            case UTCDATEONLY, LOCALMKTDATE, DATE ->
+                encoder.putLocalDate(tag, START_DATE.plusDays(random.nextInt(-365, 366)));
+            case MONTHYEAR -> encoder.putYearMonth(tag, YearMonth.from(START_DATE.plusMonths(random.nextInt(-12, 37))));
+            case DATA -> throw new IllegalStateException("DATA fields are written with their length");
+        }
+    }
+
+    /**
+     * Draws a string from the values of the field with {@code tag}, which are made on first use when the
+     * configuration bounds the cardinality.
+     */
+    private String pooledString(int tag) {
+        if (config.stringCardinality() == 0) {
+            return randomString(random);
+        }
+        String[] pool = stringPools.computeIfAbsent(tag, t -> new String[config.stringCardinality()]);
+        int index = random.nextInt(pool.length);
+        if (pool[index] == null) {
+            // Drawn from a source of its own, so that a message made again draws the same values either way
+            pool[index] = randomString(poolValues);
+        }
+        return pool[index];
+    }
+
+    private String randomString(SplittableRandom random) {
+        int length = random.nextInt(1, config.maxStringLength() + 1);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = ALPHANUMERIC.charAt(random.nextInt(ALPHANUMERIC.length()));
+        }
+        return new String(chars);
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,198 @@
+package fix.parser.impl;
+
+import fix.parser.message.base.MessageBytes;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Locates FIX message boundaries using BeginString(8), BodyLength(9) and CheckSum(10), without tokenizing the body.
+ */
+final class FixFrames {
+    static final int INCOMPLETE = 0;
+
+    private static final byte FIELD_SEPARATOR = 0x01;  // SOH character
+    private static final byte EQUALS_SIGN = 0x3D;
+    private static final byte[] BEGIN_STRING_PREFIX = {'8', EQUALS_SIGN, 'F', 'I', 'X'};
+    private static final long EIGHT_BYTES = 0x3838383838383838L;
+    private static final long EQUALS_BYTES = 0x3D3D3D3D3D3D3D3DL;
+    // Leaves room for the SOH after BodyLength and "10=" after the body without overflowing a position
+    private static final int MAX_BODY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private FixFrames() {
+    }
+
+    /**
+     * Computes the length of the message starting at {@code offset}.
+     *
+     * @param bytes  Buffer holding the message
+     * @param offset Position of the first byte of BeginString(8)
+     * @param end    Exclusive end of the readable bytes in the buffer
+     * @return The length of the complete message, or {@link #INCOMPLETE} if more bytes are needed to tell
+     * @throws IllegalArgumentException If the bytes at {@code offset} are not the start of a FIX message, or its
+     *                                  BodyLength(9) is empty, not a number or too large
+     */
+    static int frameLength(byte[] bytes, int offset, int end) {
+        return frameLength(bytes, null, offset, end);
+    }
+
+    /**
+     * Same as {@link #frameLength(byte[], int, int)} for a buffer read with absolute gets, such as a mapped file.
+     */
+    static int frameLength(ByteBuffer bytes, int offset, int end) {
+        return frameLength(null, bytes, offset, end);
+    }
+
+    /**
+     * Shared by both overloads, which pass exactly one of {@code array} and {@code buffer}. Each caller passes a
+     * constant null, so the check in {@link #byteAt} folds away once this is inlined.
+     */
+    private static int frameLength(byte[] array, ByteBuffer buffer, int offset, int end) {
+        // 8=<BeginString><SOH>
+        if (end - offset < 2) {
+            return INCOMPLETE;
+        }
+        if (byteAt(array, buffer, offset) != '8' || byteAt(array, buffer, offset + 1) != EQUALS_SIGN) {
+            throw new IllegalArgumentException("Expected BeginString(8) at position " + offset);
+        }
+        int pos = offset + 2;
+        while (pos < end && byteAt(array, buffer, pos) != FIELD_SEPARATOR) {
+            pos++;
+        }
+        pos++;
+
+        // 9=<BodyLength><SOH>
+        if (end - pos < 2) {
+            return INCOMPLETE;
+        }
+        if (byteAt(array, buffer, pos) != '9' || byteAt(array, buffer, pos + 1) != EQUALS_SIGN) {
+            throw new IllegalArgumentException("Expected BodyLength(9) at position " + pos);
+        }
+        pos += 2;
+        int valueStart = pos;
+        int bodyLength = 0;
+        byte b;
+        while (pos < end && (b = byteAt(array, buffer, pos)) != FIELD_SEPARATOR) {
+            if (b < '0' || b > '9') {
+                throw new IllegalArgumentException("BodyLength(9) at position " + valueStart + " is not a number");
+            }
+            if (bodyLength > MAX_BODY_LENGTH / 10) {
+                throw new IllegalArgumentException("BodyLength(9) at position " + valueStart + " is too large");
+            }
+            bodyLength = (bodyLength * 10) + (b - '0');
+            pos++;
+        }
+        if (pos >= end) {
+            return INCOMPLETE;
+        }
+        if (pos == valueStart) {
+            throw new IllegalArgumentException("BodyLength(9) at position " + valueStart + " is empty");
+        }
+        if (bodyLength > MAX_BODY_LENGTH - pos) {
+            // The frame would end beyond the largest position a buffer can have
+            throw new IllegalArgumentException("BodyLength(9) at position " + valueStart + " is too large");
+        }
+
+        // <body>10=<CheckSum><SOH>
+        pos += 1 + bodyLength;
+        if (end - pos < 3) {
+            return INCOMPLETE;
+        }
+        if (byteAt(array, buffer, pos) != '1' || byteAt(array, buffer, pos + 1) != '0'
+            || byteAt(array, buffer, pos + 2) != EQUALS_SIGN) {
+            throw new IllegalArgumentException("Expected CheckSum(10) at position " + pos);
+        }
+        pos += 3;
+        while (pos < end && byteAt(array, buffer, pos) != FIELD_SEPARATOR) {
+            pos++;
+        }
+        if (pos >= end) {
+            return INCOMPLETE;
+        }
+        return pos + 1 - offset;
+    }
+
+    /**
+     * Same as {@link #frameLength(byte[], int, int)} for the bytes of either kind.
+     */
+    static int frameLength(MessageBytes bytes, int offset, int end) {
+        return bytes.array() != null
+            ? frameLength(bytes.array(), null, offset, end) : frameLength(null, bytes.buffer(), offset, end);
+    }
+
+    private static byte byteAt(byte[] array, ByteBuffer buffer, int index) {
+        return array != null ? array[index] : buffer.get(index);
+    }
+
+    /**
+     * Finds the next {@code 8=FIX} that starts a message, skipping log prefixes, line breaks and partial messages.
+     * A match is only taken at the start of the bytes, right after a SOH, or on a line whose log prefix holds no
+     * SOH, so that {@code 8=FIX} inside a field value such as Text(58) is skipped; a match preceded by a digit is
+     * another tag ending in 8. The header of a match must then frame as a message, or still be incomplete.
+     * <p>
+     * Candidates are found eight bytes at a time: a word of the bytes is compared with {@code 8} and the word
+     * one byte further with {@code =}, so only the positions of {@code 8=} are checked byte by byte.
+     *
+     * @return The position of the {@code 8} of BeginString, or -1 if there is none before {@code end}
+     */
+    static int indexOfMessageStart(MessageBytes bytes, int from, int end) {
+        int last = end - BEGIN_STRING_PREFIX.length;
+        int i = from;
+        for (; i <= end - Long.BYTES - 1; i += Long.BYTES) {
+            long candidates = SwarDelimiterScanner.zeroBytes(bytes.getLongLittleEndian(i) ^ EIGHT_BYTES)
+                & SwarDelimiterScanner.zeroBytes(bytes.getLongLittleEndian(i + 1) ^ EQUALS_BYTES);
+            while (candidates != 0) {
+                int candidate = i + (Long.numberOfTrailingZeros(candidates) >>> 3);
+                if (candidate <= last && isMessageStart(bytes, candidate, end)) {
+                    return candidate;
+                }
+                candidates &= candidates - 1;
+            }
+        }
+        for (; i <= last; i++) {
+            if (bytes.get(i) == '8' && isMessageStart(bytes, i, end)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isMessageStart(MessageBytes bytes, int offset, int end) {
+        for (int i = 1; i < BEGIN_STRING_PREFIX.length; i++) {
+            if (bytes.get(offset + i) != BEGIN_STRING_PREFIX[i]) {
+                return false;
+            }
+        }
+        if (offset > 0 && (isDigit(bytes.get(offset - 1)) || !startsLine(bytes, offset))) {
+            return false;
+        }
+        try {
+            frameLength(bytes, offset, end);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return Whether {@code offset} follows a SOH, or only a log prefix without SOH since the last line break
+     */
+    private static boolean startsLine(MessageBytes bytes, int offset) {
+        if (bytes.get(offset - 1) == FIELD_SEPARATOR) {
+            return true;
+        }
+        for (int i = offset - 1; i >= 0; i--) {
+            byte b = bytes.get(i);
+            if (b == '\n' || b == '\r') {
+                return true;
+            }
+            if (b == FIELD_SEPARATOR) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
@@ -0,0 +1,105 @@
+package fix.parser.impl;
+
+import fix.parser.message.base.FixMessage;
+import fix.parser.message.base.MessageBytes;
+import fix.parser.message.base.MutableFixMessage;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Scans a FIX log file through memory-mapped windows and parses every message it contains.
+ * <p>
+ * A mapped buffer is limited to 2 GB, so the file is mapped in windows of at most {@code windowSize} bytes.
+ * Each window after the first starts at the message left incomplete by the previous one, so no message ever
+ * spans two windows. Anything between messages, such as log timestamps or line breaks, is skipped.
+ * <p>
+ * Framing and parsing run directly on the mapped bytes: message starts are searched eight bytes at a time, and
+ * each framed message is parsed in place into a reusable {@link MutableFixMessage}, so scanning copies nothing
+ * and allocates nothing per message. A message passed to the handler is only valid until the handler returns. The scanner is not thread-safe.
+ * Messages skipped by the parser because their type is not subscribed are not passed to the handler.
+ */
+public final class FixLogScanner {
+    private static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+
+    private final FixMessageParser parser;
+    private final int windowSize;
+    private final MutableFixMessage message = new MutableFixMessage();
+    private final MessageBytes mapped = new MessageBytes();
+
+    public FixLogScanner(FixMessageParser parser) {
+        this(parser, DEFAULT_WINDOW_SIZE);
+    }
+
+    public FixLogScanner(FixMessageParser parser, int windowSize) {
+        this.parser = parser;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Parses every message in {@code file} in order.
+     *
+     * @return The number of messages passed to {@code handler}
+     * @throws IllegalStateException If a single message is larger than the window size
+     */
+    public long scan(Path file, Consumer<FixMessage> handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return scan(channel, 0, channel.size(), handler);
+        }
+    }
+
+    /**
+     * Parses every message that starts in {@code [from, to)} of {@code channel}. The last message may extend
+     * beyond {@code to}; messages that start before {@code from} are skipped.
+     *
+     * @return The number of messages passed to {@code handler}
+     */
+    long scan(FileChannel channel, long from, long to, Consumer<FixMessage> handler) throws IOException {
+        final long size = channel.size();
+        long count = 0;
+        // Map one byte before from, so that a match at from can be told apart from a tag ending in 8
+        long windowStart = Math.max(0, from - 1);
+        int position = (int) (from - windowStart);
+
+        while (windowStart < to) {
+            int limit = (int) Math.min(windowSize, size - windowStart);
+            boolean lastWindow = windowStart + limit == size;
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, limit);
+            mapped.wrap(window);
+
+            while (windowStart + position < to) {
+                int start = FixFrames.indexOfMessageStart(mapped, position, limit);
+                if (start < 0 || windowStart + start >= to) {
+                    // Keep the last few bytes, which may hold the beginning of a split 8=FIX
+                    position = lastWindow ? limit : Math.max(position, limit - 4);
+                    break;
+                }
+                int length = FixFrames.frameLength(window, start, limit);
+                if (length == FixFrames.INCOMPLETE) {
+                    position = start;
+                    break;
+                }
+                FixMessage parsed = parser.parseInto(window, start, length, message);
+                if (parsed != null) {
+                    handler.accept(parsed);
+                    count++;
+                }
+                position = start + length;
+            }
+
+            if (lastWindow || windowStart + position >= to) {
+                break;
+            }
+            if (position == 0) {
+                throw new IllegalStateException("Message at offset " + windowStart + " exceeds window size " + windowSize);
+            }
+            windowStart += position;
+            position = 0;
+        }
+        return count;
+    }
+}
@@ -1,287 +1,616 @@
 package fix.parser.impl;
 
 import fix.parser.message.base.FixMessage;
+import fix.parser.message.base.FixMessageFactory;
+import fix.parser.message.base.GroupMaterializer;
+import fix.parser.message.base.MessageBytes;
+import fix.parser.message.base.MutableFixMessage;
 import fix.parser.message.base.Segment;
 import fix.parser.message.base.UnderlyingMessage;
-import fix.parser.messages44.*;
+import fix.parser.messages44.Fields;
+import fix.parser.messages44.MessageFactory;
 import fix.parser.spec.FieldDef;
 import fix.parser.spec.FixSpec;
 import fix.parser.spec.FixType;
+import fix.parser.spec.GroupDef;
+import fix.parser.spec.MessageDef;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
-import static fix.parser.messages44.MessageTypes.*;
+import static fix.parser.message.base.UnderlyingMessage.FIELD_STRIDE;
+import static fix.parser.message.base.UnderlyingMessage.tag;
+import static fix.parser.message.base.UnderlyingMessage.valueLength;
+import static fix.parser.message.base.UnderlyingMessage.valuePosition;
 
 public class FixMessageParser {
     private static final byte FIELD_SEPARATOR = 0x01;  // SOH character
-    private static final byte EQUALS_SIGN = 0x3D;
-    private final Set<Integer> dataFields;
-    private final Set<Integer> numInGroupFields;
+    private static final DelimiterScanner SCANNER = DelimiterScanner.INSTANCE;
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+    // A BitSet rather than a Set<Integer> so that membership checks on the hot path do not box tag numbers
+    private final BitSet dataFields;
+    private final GroupTables[] groupsByMessage;  // Message indexes, for the group definitions of each type
+    private final FixParserConfig config;
+    private final FixMessageFactory factory;
+    private final int tagIndexSize;
+    private final BitSet routingTags;         // Null unless parsing headers only; always includes MsgType(35)
+    private final int routingTagCount;        // Distinct routing tags
+    private final BitSet headerTags;
+    private final BitSet subscribedMessages;  // Message indexes, null unless filtering by MsgType
+    private final GroupMaterializer[] groupMaterializers;  // Message indexes, so that lazy parsing does not allocate
 
     public FixMessageParser(FixSpec spec) {
-        this.dataFields = spec.fields().values().stream()
-            .filter(e -> e.type() == FixType.DATA)
-            .map(FieldDef::number)
-            .collect(Collectors.toUnmodifiableSet());
-        this.numInGroupFields = spec.fields().values().stream()
-            .filter(e -> e.type() == FixType.NUMINGROUP)
-            .map(FieldDef::number)
-            .collect(Collectors.toUnmodifiableSet());
+        this(spec, FixParserConfig.DEFAULT);
+    }
+
+    public FixMessageParser(FixSpec spec, FixParserConfig config) {
+        this(spec, config, MessageFactory.INSTANCE);
+    }
+
+    /**
+     * @param factory Creates the message wrappers; pass the generated factory of another specification version
+     *                to parse into its classes
+     */
+    public FixMessageParser(FixSpec spec, FixParserConfig config, FixMessageFactory factory) {
+        this.dataFields = fieldsOfType(spec, FixType.DATA);
+        this.groupsByMessage = groupsByMessage(spec, factory);
+        this.groupMaterializers = new GroupMaterializer[groupsByMessage.length];
+        for (int i = 0; i < groupsByMessage.length; i++) {
+            GroupTables groups = groupsByMessage[i];
+            groupMaterializers[i] = (root, pool) -> {
+                UnderlyingMessage message = root.rawMessage();
+                parseRepeatingGroups(groups, root, message.fieldCount(), message.fields(), pool);
+            };
+        }
+        this.config = config;
+        this.factory = factory;
+        this.tagIndexSize = spec.fields().values().stream().mapToInt(FieldDef::number).max().orElse(0) + 1;
+        this.headerTags = headerTags(spec);
+        this.routingTags = config.routingTags().isEmpty() ? null : routingTags(config.routingTags(), headerTags);
+        this.routingTagCount = routingTags == null ? 0 : routingTags.cardinality();
+        this.subscribedMessages = config.subscribedMsgTypes().isEmpty()
+            ? null : subscribedMessages(config.subscribedMsgTypes(), factory);
+    }
+
+    /**
+     * Compiles the group tables of every message type of {@code factory}. A type the specification does not
+     * define, as when parsing into the classes of another version, only gets the groups of the header and trailer.
+     */
+    private static GroupTables[] groupsByMessage(FixSpec spec, FixMessageFactory factory) {
+        GroupTables[] tables = new GroupTables[factory.messageTypeCount()];
+        for (MessageDef message : spec.messages()) {
+            // Compiled even if the factory lacks the type, so that every definition is checked
+            GroupTables groups = new GroupTables(spec, message);
+            byte[] msgType = message.msgtype().getBytes(StandardCharsets.ISO_8859_1);
+            int messageIndex = factory.messageIndex(msgType, 0, msgType.length);
+            if (messageIndex >= 0) {
+                tables[messageIndex] = groups;
+            }
+        }
+        GroupTables headerOnly = new GroupTables(spec);
+        for (int i = 0; i < tables.length; i++) {
+            if (tables[i] == null) {
+                tables[i] = headerOnly;
+            }
+        }
+        return tables;
+    }
+
+    private static BitSet headerTags(FixSpec spec) {
+        BitSet tags = new BitSet();
+        if (spec.header() != null) {
+            addTags(spec, tags, spec.header().fields(), spec.header().groups());
+        }
+        return tags;
+    }
+
+    private static void addTags(FixSpec spec, BitSet target, List<FieldDef> fields, List<GroupDef> groups) {
+        for (FieldDef field : fields) {
+            target.set(field.number());
+        }
+        for (GroupDef group : groups) {
+            target.set(spec.fields().get(group.name()).number());
+            addTags(spec, target, group.fields(), group.groups());
+        }
+    }
+
+    /**
+     * Adds MsgType(35) to the routing tags whether or not they include it, since the message type is always
+     * needed to pick the message class.
+     */
+    private static BitSet routingTags(Set<Integer> tags, BitSet headerTags) {
+        BitSet result = new BitSet();
+        result.set(Fields.MSGTYPE);
+        for (int tag : tags) {
+            if (!headerTags.get(tag)) {
+                throw new IllegalArgumentException("Routing tag " + tag + " is not a header field");
+            }
+            result.set(tag);
+        }
+        return result;
+    }
+
+    private static BitSet subscribedMessages(Set<String> msgTypes, FixMessageFactory factory) {
+        BitSet result = new BitSet();
+        for (String msgType : msgTypes) {
+            byte[] bytes = msgType.getBytes(StandardCharsets.ISO_8859_1);
+            int messageIndex = factory.messageIndex(bytes, 0, bytes.length);
+            if (messageIndex < 0) {
+                throw new IllegalArgumentException("Unsupported message type: " + msgType);
+            }
+            result.set(messageIndex);
+        }
+        return result;
+    }
+
+    private static BitSet fieldsOfType(FixSpec spec, FixType type) {
+        BitSet fields = new BitSet();
+        for (FieldDef field : spec.fields().values()) {
+            if (field.type() == type) {
+                fields.set(field.number());
+            }
+        }
+        return fields;
     }
 
     public FixMessage parse(byte[] messageBytes) {
-        int fieldCount = countMaximumFields(messageBytes);
+        return parse(messageBytes, 0, messageBytes.length);
+    }
+
+    /**
+     * Parses a message that occupies {@code length} bytes of a larger buffer, starting at {@code offset}.
+     * The buffer is not copied, so it must stay unchanged while the result is in use.
+     *
+     * @return The parsed message, or null if its type is not subscribed
+     */
+    public FixMessage parse(byte[] messageBytes, int offset, int length) {
+        Scratch scratch = SCRATCH.get();
+        MessageBytes bytes = scratch.input.wrap(messageBytes);
+        if (subscribedMessages != null && !isSubscribed(bytes, offset, offset + length, scratch)) {
+            return null;
+        }
+        int fieldCount = parseFields(bytes, offset, offset + length, scratch);
+
+        // Trim the scratch index to the real field count
+        long[] fields = Arrays.copyOf(scratch.fields, fieldCount * FIELD_STRIDE);
+
+        UnderlyingMessage underlyingMessage = new UnderlyingMessage(messageBytes, fields, fieldCount);
+        if (config.tagIndex()) {
+            underlyingMessage.indexTags(tagIndexSize);
+        }
+
+        int messageIndex = messageIndex(bytes, fields, fieldCount, scratch);
+        Segment segment = new Segment(underlyingMessage, 0, fieldCount);
+        if (config.lazyGroups()) {
+            segment.deferGroups(groupMaterializers[messageIndex], null);
+        } else {
+            parseRepeatingGroups(groupsByMessage[messageIndex], segment, fieldCount, fields, null);
+        }
+        return factory.create(messageIndex, segment);
+    }
 
-        int[] tags = new int[fieldCount];
-        int[] valuePositions = new int[fieldCount];
-        int[] valueLengths = new int[fieldCount];
+    /**
+     * Parses a message into a caller-owned, reusable holder. Once the holder has grown to the largest message
+     * seen and has a wrapper for every message type seen, this method allocates nothing.
+     *
+     * @param messageBytes The raw message bytes, which must stay unchanged while the result is in use
+     * @param target       The holder to fill
+     * @return The generated message wrapper cached in {@code target}, valid until the next parse into it, or null
+     * if its type is not subscribed
+     */
+    public FixMessage parseInto(byte[] messageBytes, MutableFixMessage target) {
+        return parseInto(messageBytes, 0, messageBytes.length, target);
+    }
 
-        parseFields(messageBytes, tags, valuePositions, valueLengths);
+    /**
+     * Parses a message that occupies {@code length} bytes of a larger buffer, starting at {@code offset}, into a
+     * caller-owned, reusable holder. The buffer is not copied.
+     *
+     * @see #parseInto(byte[], MutableFixMessage)
+     */
+    public FixMessage parseInto(byte[] messageBytes, int offset, int length, MutableFixMessage target) {
+        Scratch scratch = SCRATCH.get();
+        return parseInto(scratch.input.wrap(messageBytes), offset, offset + length, scratch, target);
+    }
 
-        UnderlyingMessage underlyingMessage = new UnderlyingMessage(messageBytes, tags, valuePositions, valueLengths);
+    /**
+     * Parses the message between the position and the limit of {@code buffer} into a caller-owned, reusable
+     * holder, leaving the position unchanged. The buffer is not copied: a heap buffer is parsed through its array,
+     * and a direct buffer, such as a socket read or a mapped file, is tokenized and later read by the getters
+     * straight from off-heap memory, so it must stay unchanged while the result is in use.
+     *
+     * @see #parseInto(byte[], MutableFixMessage)
+     */
+    public FixMessage parseInto(ByteBuffer buffer, MutableFixMessage target) {
+        return parseInto(buffer, buffer.position(), buffer.remaining(), target);
+    }
 
-        Segment segment = new Segment(underlyingMessage, 0, fieldCount,
-            parseRepeatingGroups(underlyingMessage, 0, fieldCount, tags, valuePositions, valueLengths)
-        );
+    /**
+     * Parses a message that occupies {@code length} bytes of {@code buffer}, starting at the absolute index
+     * {@code offset}, into a caller-owned, reusable holder. The position and limit of the buffer are ignored and
+     * left unchanged, so a mapped file can be parsed message by message without slicing it.
+     *
+     * @see #parseInto(ByteBuffer, MutableFixMessage)
+     */
+    public FixMessage parseInto(ByteBuffer buffer, int offset, int length, MutableFixMessage target) {
+        if (buffer.hasArray()) {
+            return parseInto(buffer.array(), buffer.arrayOffset() + offset, length, target);
+        }
+        Scratch scratch = SCRATCH.get();
+        return parseInto(scratch.input.wrap(buffer), offset, offset + length, scratch, target);
+    }
 
-        int msgTypeIndex = findTagIndex(tags, Fields.MSGTYPE, 0, fieldCount);
-        String msgType = new String(
-            messageBytes,
-            valuePositions[msgTypeIndex],
-            valueLengths[msgTypeIndex],
-            StandardCharsets.ISO_8859_1
-        );
+    private FixMessage parseInto(MessageBytes bytes, int offset, int end, Scratch scratch, MutableFixMessage target) {
+        if (subscribedMessages != null && !isSubscribed(bytes, offset, end, scratch)) {
+            return null;
+        }
+        int fieldCount = parseFields(bytes, offset, end, scratch);
+
+        // Hand the filled scratch index to the holder and keep its previous index as the next scratch
+        UnderlyingMessage underlyingMessage = target.underlyingMessage();
+        long[] fields = scratch.fields;
+        scratch.fields = underlyingMessage.fields();
+        underlyingMessage.reset(bytes, fields, fieldCount);
+        Segment segment = target.reset(bytes, fieldCount);
+        if (config.tagIndex()) {
+            underlyingMessage.indexTags(tagIndexSize);
+        }
+        int messageIndex = messageIndex(bytes, fields, fieldCount, scratch);
+        if (config.lazyGroups()) {
+            segment.deferGroups(groupMaterializers[messageIndex], target);
+        } else {
+            parseRepeatingGroups(groupsByMessage[messageIndex], segment, fieldCount, fields, target);
+        }
 
-        return createMessage(msgType, segment);
+        FixMessage message = target.cachedMessage(messageIndex);
+        if (message == null) {
+            message = factory.create(messageIndex, segment);
+            target.cacheMessage(messageIndex, message);
+        }
+        return message;
     }
 
-    private int countMaximumFields(byte[] messageBytes) {
-        int count = 0;
-        for (byte b : messageBytes) {
-            if (b == FIELD_SEPARATOR) {
-                count++;
+    /**
+     * Reads MsgType(35), which FIX requires to be the third field, without tokenizing the message. A message
+     * whose first fields are out of order or cut short is treated as subscribed, so that full parsing reports the
+     * problem.
+     */
+    private boolean isSubscribed(MessageBytes messageBytes, int offset, int end, Scratch scratch) {
+        int pos = offset;
+        // Skip BeginString(8) and BodyLength(9)
+        for (int field = 0; field < 2; field++) {
+            while (pos < end && messageBytes.get(pos) != FIELD_SEPARATOR) {
+                pos++;
             }
+            pos++;
+        }
+        if (end - pos < 3 || messageBytes.get(pos) != '3' || messageBytes.get(pos + 1) != '5'
+            || messageBytes.get(pos + 2) != '=') {
+            return true;
         }
-        return count;
+        int valueStart = pos + 3;
+        int valueEnd = valueStart;
+        while (valueEnd < end && messageBytes.get(valueEnd) != FIELD_SEPARATOR) {
+            valueEnd++;
+        }
+        if (valueEnd == end) {
+            return true;
+        }
+        int messageIndex = messageIndex(messageBytes, valueStart, valueEnd - valueStart, scratch);
+        return messageIndex >= 0 && subscribedMessages.get(messageIndex);
     }
 
-    private void parseFields(byte[] messageBytes, int[] tags, int[] valuePositions, int[] valueLengths) {
+    /**
+     * Tokenizes the message in a single forward pass. Delimiters are scanned one window ahead of the tokenizer,
+     * so every byte is read once while it is still in cache, and fields are written to a growable scratch index
+     * so that no pre-scan is needed to size it.
+     *
+     * In routing mode, tokenizing stops as soon as every distinct routing tag has been read or a body field is
+     * reached. A routing tag that is repeated in the header only counts once.
+     *
+     * @return The number of fields written to the scratch index
+     */
+    private int parseFields(MessageBytes messageBytes, int offset, int end, Scratch scratch) {
+        scratch.startScan(offset, config.verifyChecksum());
+        long[] fields = scratch.fields;
         int fieldIndex = 0;
-        int start = 0;
+        int start = offset;
+        int routingTagsLeft = routingTagCount;
+        BitSet routingTagsUnread = routingTags == null ? null : scratch.routingTagsUnread(routingTags);
+
+        while (start < end) {
+            if (fieldIndex * FIELD_STRIDE == fields.length) {
+                scratch.grow();
+                fields = scratch.fields;
+            }
 
-        while (start < messageBytes.length) {
-            int equalsIndex = find(messageBytes, EQUALS_SIGN, start);
+            // Tags only contain digits, so the first delimiter of a field is always its equals sign
+            int equalsIndex = scratch.nextDelimiter(messageBytes, start, end);
 
-            tags[fieldIndex] = parsePositiveInt(messageBytes, start, equalsIndex - start);
-            valuePositions[fieldIndex] = equalsIndex + 1;
+            int tag = parsePositiveInt(messageBytes, start, equalsIndex - start);
+            if (routingTags != null && !headerTags.get(tag)) {
+                // The body starts here
+                break;
+            }
+            int valuePosition = equalsIndex + 1;
 
+            final int valueLength;
             final int separatorIndex;
-            if (dataFields.contains(tags[fieldIndex])) {
-                valueLengths[fieldIndex] = parsePositiveInt(messageBytes, valuePositions[fieldIndex - 1], valueLengths[fieldIndex - 1]);
-                separatorIndex = valuePositions[fieldIndex] + valueLengths[fieldIndex];
+            if (dataFields.get(tag)) {
+                // The length of a DATA value is the value of the field before it
+                valueLength = parsePositiveInt(messageBytes, valuePosition(fields, fieldIndex - 1), valueLength(fields, fieldIndex - 1));
+                separatorIndex = valuePosition + valueLength;
             } else {
-                separatorIndex = find(messageBytes, FIELD_SEPARATOR, start);
-                valueLengths[fieldIndex] = separatorIndex - equalsIndex - 1;
+                separatorIndex = scratch.nextSeparator(messageBytes, end);
+                valueLength = separatorIndex - valuePosition;
             }
+            fields[fieldIndex * FIELD_STRIDE] = UnderlyingMessage.tagWord(tag, valuePosition);
+            fields[fieldIndex * FIELD_STRIDE + 1] = UnderlyingMessage.lengthWord(valueLength, -1);
 
+            if (routingTagsUnread != null && routingTagsUnread.get(tag)) {
+                routingTagsUnread.clear(tag);
+                if (--routingTagsLeft == 0) {
+                    return fieldIndex + 1;
+                }
+            }
             fieldIndex++;
             start = separatorIndex + 1;
         }
+        if (config.verifyChecksum()) {
+            verifyChecksum(messageBytes, end, fieldIndex, scratch);
+        }
+        return fieldIndex;
     }
 
-    private int findTagIndex(int[] tags, int targetTag, int start, int end) {
-        for (int i = start; i < end; i++) {
-            if (tags[i] == targetTag) {
-                return i;
-            }
+    /**
+     * Checks BodyLength(9) against the bytes between it and CheckSum(10), and CheckSum against the byte sum the
+     * scanner accumulated while looking for delimiters.
+     *
+     * @throws IllegalArgumentException If the message is not framed by BeginString, BodyLength and CheckSum, or
+     *                                  either value does not match the bytes
+     */
+    private static void verifyChecksum(MessageBytes messageBytes, int end, int fieldCount, Scratch scratch) {
+        long[] fields = scratch.fields;
+        int last = fieldCount - 1;
+        if (fieldCount < 3 || tag(fields, 0) != Fields.BEGINSTRING || tag(fields, 1) != Fields.BODYLENGTH
+            || tag(fields, last) != Fields.CHECKSUM) {
+            throw new IllegalArgumentException("Message must start with BeginString(8), BodyLength(9) and end with CheckSum(10)");
+        }
+
+        int bodyStart = valuePosition(fields, 1) + valueLength(fields, 1) + 1;
+        int checksumStart = valuePosition(fields, last) - "10=".length();
+        int bodyLength = parsePositiveInt(messageBytes, valuePosition(fields, 1), valueLength(fields, 1));
+        if (bodyLength != checksumStart - bodyStart) {
+            throw new IllegalArgumentException("BodyLength(9) is " + bodyLength + " but the body has "
+                + (checksumStart - bodyStart) + " bytes");
+        }
+
+        // The scanner summed every byte up to the end, including the CheckSum field itself
+        int sum = scratch.finishSum(messageBytes, end) - DelimiterScanner.sumTail(messageBytes, checksumStart, end);
+        int checksumPosition = valuePosition(fields, last);
+        int checksumLength = valueLength(fields, last);
+        int checksum = parsePositiveInt(messageBytes, checksumPosition, checksumLength);
+        if (checksumLength != 3 || checksum != (sum & 0xFF)) {
+            throw new IllegalArgumentException("CheckSum(10) is " + messageBytes.toString(checksumPosition,
+                checksumLength) + " but the message sums to " + (sum & 0xFF));
         }
-        return -1;
     }
 
-    private int find(byte[] bytes, byte target, int start) {
-        final int len = bytes.length;
-        int i = start;
-
-        // Process 8 bytes at a time
-        for (; i <= len - 8; i += 8) {
-            if (bytes[i] == target) return i;
-            if (bytes[i + 1] == target) return i + 1;
-            if (bytes[i + 2] == target) return i + 2;
-            if (bytes[i + 3] == target) return i + 3;
-            if (bytes[i + 4] == target) return i + 4;
-            if (bytes[i + 5] == target) return i + 5;
-            if (bytes[i + 6] == target) return i + 6;
-            if (bytes[i + 7] == target) return i + 7;
-        }
-
-        // Handle remaining bytes
-        for (; i < len; i++) {
-            if (bytes[i] == target) {
+    private int findTagIndex(long[] fields, int targetTag, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (tag(fields, i) == targetTag) {
                 return i;
             }
         }
         return -1;
     }
 
-    private FixMessage createMessage(String msgType, Segment segment) {
-        return switch (msgType) {
-            case HEARTBEAT -> new HeartbeatMessage(segment);
-            case LOGON -> new LogonMessage(segment);
-            case TESTREQUEST -> new TestRequestMessage(segment);
-            case RESENDREQUEST -> new ResendRequestMessage(segment);
-            case REJECT -> new RejectMessage(segment);
-            case SEQUENCERESET -> new SequenceResetMessage(segment);
-            case LOGOUT -> new LogoutMessage(segment);
-            case BUSINESSMESSAGEREJECT -> new BusinessMessageRejectMessage(segment);
-            case USERREQUEST -> new UserRequestMessage(segment);
-            case USERRESPONSE -> new UserResponseMessage(segment);
-            case ADVERTISEMENT -> new AdvertisementMessage(segment);
-            case INDICATIONOFINTEREST -> new IndicationOfInterestMessage(segment);
-            case NEWS -> new NewsMessage(segment);
-            case EMAIL -> new EmailMessage(segment);
-            case QUOTEREQUEST -> new QuoteRequestMessage(segment);
-            case QUOTERESPONSE -> new QuoteResponseMessage(segment);
-            case QUOTEREQUESTREJECT -> new QuoteRequestRejectMessage(segment);
-            case RFQREQUEST -> new RFQRequestMessage(segment);
-            case QUOTE -> new QuoteMessage(segment);
-            case QUOTECANCEL -> new QuoteCancelMessage(segment);
-            case QUOTESTATUSREQUEST -> new QuoteStatusRequestMessage(segment);
-            case QUOTESTATUSREPORT -> new QuoteStatusReportMessage(segment);
-            case MASSQUOTE -> new MassQuoteMessage(segment);
-            case MASSQUOTEACKNOWLEDGEMENT -> new MassQuoteAcknowledgementMessage(segment);
-            case MARKETDATAREQUEST -> new MarketDataRequestMessage(segment);
-            case MARKETDATASNAPSHOTFULLREFRESH -> new MarketDataSnapshotFullRefreshMessage(segment);
-            case MARKETDATAINCREMENTALREFRESH -> new MarketDataIncrementalRefreshMessage(segment);
-            case MARKETDATAREQUESTREJECT -> new MarketDataRequestRejectMessage(segment);
-            case SECURITYDEFINITIONREQUEST -> new SecurityDefinitionRequestMessage(segment);
-            case SECURITYDEFINITION -> new SecurityDefinitionMessage(segment);
-            case SECURITYTYPEREQUEST -> new SecurityTypeRequestMessage(segment);
-            case SECURITYTYPES -> new SecurityTypesMessage(segment);
-            case SECURITYLISTREQUEST -> new SecurityListRequestMessage(segment);
-            case SECURITYLIST -> new SecurityListMessage(segment);
-            case DERIVATIVESECURITYLISTREQUEST -> new DerivativeSecurityListRequestMessage(segment);
-            case DERIVATIVESECURITYLIST -> new DerivativeSecurityListMessage(segment);
-            case SECURITYSTATUSREQUEST -> new SecurityStatusRequestMessage(segment);
-            case SECURITYSTATUS -> new SecurityStatusMessage(segment);
-            case TRADINGSESSIONSTATUSREQUEST -> new TradingSessionStatusRequestMessage(segment);
-            case TRADINGSESSIONSTATUS -> new TradingSessionStatusMessage(segment);
-            case NEWORDERSINGLE -> new NewOrderSingleMessage(segment);
-            case EXECUTIONREPORT -> new ExecutionReportMessage(segment);
-            case DONTKNOWTRADE -> new DontKnowTradeMessage(segment);
-            case ORDERCANCELREPLACEREQUEST -> new OrderCancelReplaceRequestMessage(segment);
-            case ORDERCANCELREQUEST -> new OrderCancelRequestMessage(segment);
-            case ORDERCANCELREJECT -> new OrderCancelRejectMessage(segment);
-            case ORDERSTATUSREQUEST -> new OrderStatusRequestMessage(segment);
-            case ORDERMASSCANCELREQUEST -> new OrderMassCancelRequestMessage(segment);
-            case ORDERMASSCANCELREPORT -> new OrderMassCancelReportMessage(segment);
-            case ORDERMASSSTATUSREQUEST -> new OrderMassStatusRequestMessage(segment);
-            case NEWORDERCROSS -> new NewOrderCrossMessage(segment);
-            case CROSSORDERCANCELREPLACEREQUEST -> new CrossOrderCancelReplaceRequestMessage(segment);
-            case CROSSORDERCANCELREQUEST -> new CrossOrderCancelRequestMessage(segment);
-            case NEWORDERMULTILEG -> new NewOrderMultilegMessage(segment);
-            case MULTILEGORDERCANCELREPLACEREQUEST -> new MultilegOrderCancelReplaceRequestMessage(segment);
-            case BIDREQUEST -> new BidRequestMessage(segment);
-            case BIDRESPONSE -> new BidResponseMessage(segment);
-            case NEWORDERLIST -> new NewOrderListMessage(segment);
-            case LISTSTRIKEPRICE -> new ListStrikePriceMessage(segment);
-            case LISTSTATUS -> new ListStatusMessage(segment);
-            case LISTEXECUTE -> new ListExecuteMessage(segment);
-            case LISTCANCELREQUEST -> new ListCancelRequestMessage(segment);
-            case LISTSTATUSREQUEST -> new ListStatusRequestMessage(segment);
-            case ALLOCATIONINSTRUCTION -> new AllocationInstructionMessage(segment);
-            case ALLOCATIONINSTRUCTIONACK -> new AllocationInstructionAckMessage(segment);
-            case ALLOCATIONREPORT -> new AllocationReportMessage(segment);
-            case ALLOCATIONREPORTACK -> new AllocationReportAckMessage(segment);
-            case CONFIRMATION -> new ConfirmationMessage(segment);
-            case CONFIRMATIONACK -> new ConfirmationAckMessage(segment);
-            case CONFIRMATIONREQUEST -> new ConfirmationRequestMessage(segment);
-            case SETTLEMENTINSTRUCTIONS -> new SettlementInstructionsMessage(segment);
-            case SETTLEMENTINSTRUCTIONREQUEST -> new SettlementInstructionRequestMessage(segment);
-            case TRADECAPTUREREPORTREQUEST -> new TradeCaptureReportRequestMessage(segment);
-            case TRADECAPTUREREPORTREQUESTACK -> new TradeCaptureReportRequestAckMessage(segment);
-            case TRADECAPTUREREPORT -> new TradeCaptureReportMessage(segment);
-            case TRADECAPTUREREPORTACK -> new TradeCaptureReportAckMessage(segment);
-            case REGISTRATIONINSTRUCTIONS -> new RegistrationInstructionsMessage(segment);
-            case REGISTRATIONINSTRUCTIONSRESPONSE -> new RegistrationInstructionsResponseMessage(segment);
-            case POSITIONMAINTENANCEREQUEST -> new PositionMaintenanceRequestMessage(segment);
-            case POSITIONMAINTENANCEREPORT -> new PositionMaintenanceReportMessage(segment);
-            case REQUESTFORPOSITIONS -> new RequestForPositionsMessage(segment);
-            case REQUESTFORPOSITIONSACK -> new RequestForPositionsAckMessage(segment);
-            case POSITIONREPORT -> new PositionReportMessage(segment);
-            case ASSIGNMENTREPORT -> new AssignmentReportMessage(segment);
-            case COLLATERALREQUEST -> new CollateralRequestMessage(segment);
-            case COLLATERALASSIGNMENT -> new CollateralAssignmentMessage(segment);
-            case COLLATERALRESPONSE -> new CollateralResponseMessage(segment);
-            case COLLATERALREPORT -> new CollateralReportMessage(segment);
-            case COLLATERALINQUIRY -> new CollateralInquiryMessage(segment);
-            case NETWORKSTATUSREQUEST -> new NetworkStatusRequestMessage(segment);
-            case NETWORKSTATUSRESPONSE -> new NetworkStatusResponseMessage(segment);
-            case COLLATERALINQUIRYACK -> new CollateralInquiryAckMessage(segment);
-            default -> throw new IllegalArgumentException("Unsupported message type: " + msgType);
-        };
+    /**
+     * Finds the message type index of the parsed message.
+     *
+     * @throws IllegalArgumentException If the message has no MsgType(35) or its type is not in the specification
+     */
+    private int messageIndex(MessageBytes messageBytes, long[] fields, int fieldCount, Scratch scratch) {
+        int msgTypeIndex = findTagIndex(fields, Fields.MSGTYPE, 0, fieldCount);
+        if (msgTypeIndex < 0) {
+            throw new IllegalArgumentException("Missing MsgType(35)");
+        }
+        int msgTypePosition = valuePosition(fields, msgTypeIndex);
+        int msgTypeLength = valueLength(fields, msgTypeIndex);
+        int messageIndex = messageIndex(messageBytes, msgTypePosition, msgTypeLength, scratch);
+        if (messageIndex < 0) {
+            throw new IllegalArgumentException("Unsupported message type: "
+                + messageBytes.toString(msgTypePosition, msgTypeLength));
+        }
+        return messageIndex;
     }
 
-    private Segment[] parseRepeatingGroups(UnderlyingMessage message, int start, int end,
-                                           int[] tags, int[] valuePositions, int[] valueLengths) {
-        final List<Segment> groups = new ArrayList<>();
+    /**
+     * Looks a MsgType value up in the factory, which reads arrays, so a value in a direct buffer is copied out
+     * first. MsgType is a few bytes long, so this is the only copy made of a message read in place.
+     */
+    private int messageIndex(MessageBytes messageBytes, int position, int length, Scratch scratch) {
+        byte[] array = messageBytes.array();
+        if (array != null) {
+            return factory.messageIndex(array, position, length);
+        }
+        byte[] msgType = scratch.msgType(length);
+        messageBytes.getBytes(position, msgType, 0, length);
+        return factory.messageIndex(msgType, 0, length);
+    }
 
-        for (int i = start; i < end; i++) {
-            // Check if current tag is a repeating group counter (NoXXX field)
-            if (numInGroupFields.contains(tags[i])) {
-                int numInGroup = parsePositiveInt(message.rawMessage(), valuePositions[i], valueLengths[i]);
+    /**
+     * Splits repeating group instances into nested segments in a single forward pass over the fields.
+     */
+    private void parseRepeatingGroups(GroupTables groups, Segment root, int fieldCount, long[] fields,
+                                      MutableFixMessage pool) {
+        int i = 0;
+        while (i < fieldCount) {
+            i = groups.isGroup(tag(fields, i))
+                ? parseGroup(groups, root, i, fieldCount, fields, pool)
+                : i + 1;
+        }
+    }
 
-                if (numInGroup > 0) {
-                    // First field after counter is the first field of the group
-                    int firstGroupTag = tags[i + 1];
-                    int currentPos = i + 1;
+    /**
+     * Adds a segment to {@code parent} for every instance of the group counted by the field at
+     * {@code counterIndex}. An instance starts at the delimiter tag of the group and ends before the next
+     * delimiter or the first tag that is not a member, so fields after the group are never absorbed into its
+     * last instance. Nested groups are parsed recursively as they are reached. Every field of an instance is
+     * linked to the NUMINGROUP field as its group parent.
+     *
+     * @return The index of the first field after the group
+     */
+    private int parseGroup(GroupTables groups, Segment parent, int counterIndex, int end, long[] fields,
+                           MutableFixMessage pool) {
+        int counterTag = tag(fields, counterIndex);
+        int numInGroup = parsePositiveInt(parent.rawMessage().bytes(), valuePosition(fields, counterIndex),
+            valueLength(fields, counterIndex));
+        int delimiter = groups.delimiter(counterTag);
+
+        int pos = counterIndex + 1;
+        for (int instance = 0; instance < numInGroup && pos < end && tag(fields, pos) == delimiter; instance++) {
+            int instanceStart = pos;
+            // The end is only known once the instance has been walked, so start with an empty range
+            Segment group = pool == null
+                ? new Segment(parent.rawMessage(), instanceStart, instanceStart)
+                : pool.acquireSegment(instanceStart, instanceStart);
+            parent.addSegment(group);
+
+            UnderlyingMessage.setGroupParent(fields, pos, counterIndex);
+            pos++;
+            int tag;
+            while (pos < end && (tag = tag(fields, pos)) != delimiter && groups.isMember(counterTag, tag)) {
+                UnderlyingMessage.setGroupParent(fields, pos, counterIndex);
+                pos = groups.isGroup(tag)
+                    ? parseGroup(groups, group, pos, end, fields, pool)
+                    : pos + 1;
+            }
+            group.extend(pos);
+        }
+        return pos;
+    }
 
-                    // Process each instance of the group
-                    for (int groupIndex = 0; groupIndex < numInGroup; groupIndex++) {
-                        int groupStart = currentPos;
+    private static int parsePositiveInt(MessageBytes bytes, int offset, int length) {
+        int result = 0;
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            result = (result * 10) + (bytes.get(i) - '0');
+        }
+        return result;
+    }
 
-                        // Find the end of this group instance
-                        int groupEnd = findGroupEnd(tags, firstGroupTag, groupStart, end);
+    /**
+     * Per-thread scratch space, so that tokenizing a message does not allocate: a view re-pointed at the input,
+     * a window of delimiter positions and a growable field index that is trimmed for {@link #parse} and handed
+     * off by {@link #parseInto}.
+     */
+    private static final class Scratch {
+        // A multiple of every vector length, so that only the last window of a message has a scalar tail
+        private static final int WINDOW = 256;
+
+        private final MessageBytes input = new MessageBytes();
+        private final int[] delimiters = new int[WINDOW];
+        private byte[] msgType = new byte[8];  // MsgType copied out of a direct buffer for the factory
+        private final BitSet routingTagsUnread = new BitSet();
+        private final int[] byteSum = new int[1];  // Sum of the scanned bytes, when summing
+        private int delimiterCount;
+        private int nextDelimiter;
+        private int scannedTo;
+        private boolean summing;
+
+        private long[] fields = new long[64 * FIELD_STRIDE];
+
+        private void startScan(int offset, boolean summing) {
+            delimiterCount = 0;
+            nextDelimiter = 0;
+            scannedTo = offset;
+            this.summing = summing;
+            byteSum[0] = 0;
+        }
 
-                        // Recursively parse nested groups within this group instance
-                        Segment[] nestedGroups = parseRepeatingGroups(message, groupStart, groupEnd, tags, valuePositions, valueLengths);
+        /**
+         * @return The routing tags, to be cleared as they are read
+         */
+        private BitSet routingTagsUnread(BitSet routingTags) {
+            routingTagsUnread.clear();
+            routingTagsUnread.or(routingTags);
+            return routingTagsUnread;
+        }
 
-                        // Create segment for this group instance with its nested groups
-                        groups.add(new Segment(message, groupStart, groupEnd, nestedGroups));
+        private byte[] msgType(int length) {
+            if (msgType.length < length) {
+                msgType = new byte[length];
+            }
+            return msgType;
+        }
 
-                        currentPos = groupEnd;
-                    }
+        /**
+         * @return The sum of all bytes up to {@code end}, adding any the scan did not reach
+         */
+        private int finishSum(MessageBytes messageBytes, int end) {
+            if (scannedTo < end) {
+                byteSum[0] += SCANNER.sum(messageBytes, scannedTo, end);
+                scannedTo = end;
+            }
+            return byteSum[0];
+        }
 
-                    // Skip processed fields
-                    i = currentPos - 1;
+        /**
+         * @return The position of the first delimiter at or after {@code from}, skipping any delimiters that
+         * were part of a preceding DATA value
+         */
+        private int nextDelimiter(MessageBytes messageBytes, int from, int end) {
+            int position;
+            do {
+                while (nextDelimiter == delimiterCount) {
+                    scanWindow(messageBytes, from, end);
                 }
-            }
+                position = delimiters[nextDelimiter++];
+            } while (position < from);
+            return position;
         }
 
-        return groups.toArray(new Segment[0]);
-    }
+        /**
+         * @return The position of the next field separator, skipping equals signs inside the value
+         */
+        private int nextSeparator(MessageBytes messageBytes, int end) {
+            int position;
+            do {
+                while (nextDelimiter == delimiterCount) {
+                    scanWindow(messageBytes, scannedTo, end);
+                }
+                position = delimiters[nextDelimiter++];
+            } while (messageBytes.get(position) != FIELD_SEPARATOR);
+            return position;
+        }
 
-    private int findGroupEnd(int[] tags, int firstGroupTag, int start, int end) {
-        int pos = start + 1;
-        while (pos < end) {
-            // If we find the first tag again, it's the start of the next group instance
-            if (tags[pos] == firstGroupTag) {
-                return pos;
+        private void scanWindow(MessageBytes messageBytes, int from, int end) {
+            // Bytes of a DATA value the tokenizer has already skipped do not need scanning
+            int windowStart = Math.max(scannedTo, from);
+            if (windowStart >= end) {
+                throw new IllegalArgumentException("Missing field separator at end of message");
             }
-            pos++;
+            int windowEnd = Math.min(windowStart + WINDOW, end);
+            if (summing) {
+                if (windowStart > scannedTo) {
+                    byteSum[0] += SCANNER.sum(messageBytes, scannedTo, windowStart);
+                }
+                delimiterCount = SCANNER.scan(messageBytes, windowStart, windowEnd, delimiters, byteSum);
+            } else {
+                delimiterCount = SCANNER.scan(messageBytes, windowStart, windowEnd, delimiters);
+            }
+            nextDelimiter = 0;
+            scannedTo = windowEnd;
         }
-        return end;
-    }
 
-    private static int parsePositiveInt(byte[] bytes, int offset, int length) {
-        int result = 0;
-        final int end = offset + length;
-        for (int i = offset; i < end; i++) {
-            result = (result * 10) + (bytes[i] - '0');
+        private void grow() {
+            // The index handed back by a fresh holder is empty
+            fields = Arrays.copyOf(fields, Math.max(64 * FIELD_STRIDE, fields.length * 2));
         }
-        return result;
     }
 }
@@ -0,0 +1,60 @@
+package fix.parser.impl;
+
+import java.util.Set;
+
+/**
+ * Optional behaviour of {@link FixMessageParser}. Start from {@link #DEFAULT} and switch options on with the
+ * {@code with} methods.
+ *
+ * @param tagIndex           Build a per-message tag index while parsing, so that a field lookup does not scan the
+ *                           message, and one in the k-th instance of a large repeating group takes O(log k), at the
+ *                           cost of a little extra work per parse
+ * @param lazyGroups         Only tokenize while parsing and build the repeating group segments when a group of the
+ *                           message is first read. A message parsed this way is modified by that first read, so it
+ *                           must not be shared between threads until its groups have been read once
+ * @param routingTags        When not empty, stop tokenizing once all of these header tags have been read or the
+ *                           body starts, so that only header fields can be read from the parsed message. MsgType(35)
+ *                           is always read as well, since it decides the class of the message
+ * @param subscribedMsgTypes When not empty, messages of any other MsgType(35) are skipped without being tokenized
+ *                           and the parse methods return null for them
+ * @param verifyChecksum     Reject messages whose BodyLength(9) or CheckSum(10) does not match their bytes. The
+ *                           checksum is summed while scanning for delimiters, so this needs the whole message and
+ *                           cannot be combined with routing tags
+ */
+public record FixParserConfig(
+    boolean tagIndex,
+    boolean lazyGroups,
+    Set<Integer> routingTags,
+    Set<String> subscribedMsgTypes,
+    boolean verifyChecksum
+) {
+    public static final FixParserConfig DEFAULT = new FixParserConfig(false, false, Set.of(), Set.of(), false);
+
+    public FixParserConfig {
+        routingTags = Set.copyOf(routingTags);
+        subscribedMsgTypes = Set.copyOf(subscribedMsgTypes);
+        if (verifyChecksum && !routingTags.isEmpty()) {
+            throw new IllegalArgumentException("Checksum verification needs the whole message, which routing tags skip");
+        }
+    }
+
+    public FixParserConfig withTagIndex(boolean tagIndex) {
+        return new FixParserConfig(tagIndex, lazyGroups, routingTags, subscribedMsgTypes, verifyChecksum);
+    }
+
+    public FixParserConfig withLazyGroups(boolean lazyGroups) {
+        return new FixParserConfig(tagIndex, lazyGroups, routingTags, subscribedMsgTypes, verifyChecksum);
+    }
+
+    public FixParserConfig withRoutingTags(Set<Integer> routingTags) {
+        return new FixParserConfig(tagIndex, lazyGroups, routingTags, subscribedMsgTypes, verifyChecksum);
+    }
+
+    public FixParserConfig withSubscribedMsgTypes(Set<String> subscribedMsgTypes) {
+        return new FixParserConfig(tagIndex, lazyGroups, routingTags, subscribedMsgTypes, verifyChecksum);
+    }
+
+    public FixParserConfig withVerifyChecksum(boolean verifyChecksum) {
+        return new FixParserConfig(tagIndex, lazyGroups, routingTags, subscribedMsgTypes, verifyChecksum);
+    }
+}
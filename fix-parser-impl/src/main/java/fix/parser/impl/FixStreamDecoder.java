@@ -0,0 +1,208 @@
+package fix.parser.impl;
+
+import fix.parser.message.base.FixMessage;
+import fix.parser.message.base.MutableFixMessage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Streaming decoder that frames FIX messages out of a byte stream using BeginString(8), BodyLength(9) and
+ * CheckSum(10), and hands each frame to {@link FixMessageParser} in place.
+ * <p>
+ * Complete frames in a {@link ByteBuffer} are parsed in place: from the backing array of a heap buffer, and
+ * through absolute reads from a direct buffer such as a socket read buffer. Only the trailing partial message of
+ * a read is copied into the decoder's own buffer. The next read copies just enough bytes to complete that one
+ * message and parses the rest of its frames in place again. Channel reads go directly into the decoder's buffer,
+ * so frames read from a channel are never copied either.
+ * <p>
+ * Messages are parsed into a {@link MutableFixMessage} owned by the decoder: a message passed to the handler,
+ * and the bytes it points at, are only valid until the handler returns. The decoder is not thread-safe.
+ * Messages skipped by the parser because their type is not subscribed are not passed to the handler.
+ */
+public final class FixStreamDecoder {
+    private static final int DEFAULT_CAPACITY = 64 * 1024;
+    // First copy made to complete a buffered message, doubled until the message is complete
+    private static final int MIN_COMPLETION_COPY = 256;
+
+    private final FixMessageParser parser;
+    private final MutableFixMessage message = new MutableFixMessage();
+
+    private byte[] buffer;
+    private ByteBuffer view;     // Wraps buffer for channel reads, recreated only when buffer grows
+    private int readPosition;    // First byte not yet decoded
+    private int writePosition;   // End of the bytes buffered so far
+    private int framePosition;   // End of the last complete frame found by decodeFrames
+
+    public FixStreamDecoder(FixMessageParser parser) {
+        this(parser, DEFAULT_CAPACITY);
+    }
+
+    public FixStreamDecoder(FixMessageParser parser, int initialCapacity) {
+        this.parser = parser;
+        this.buffer = new byte[initialCapacity];
+        this.view = ByteBuffer.wrap(buffer);
+    }
+
+    /**
+     * Decodes every complete message in the remaining bytes of {@code source} and consumes all of them,
+     * keeping a trailing partial message until the next call completes it.
+     *
+     * @return The number of messages passed to {@code handler}
+     * @throws IllegalArgumentException If the stream is not positioned on a FIX message boundary
+     */
+    public int decode(ByteBuffer source, Consumer<FixMessage> handler) {
+        int count = 0;
+        int position = source.position();
+        int end = source.limit();
+        if (readPosition < writePosition) {
+            position = completeBuffered(source, position, end);
+            if (position < 0) {
+                source.position(end);
+                return 0;
+            }
+            count += decodeBuffered(handler);
+        }
+        if (source.hasArray()) {
+            byte[] array = source.array();
+            int offset = source.arrayOffset();
+            count += decodeFrames(array, offset + position, offset + end, handler);
+            append(array, framePosition, offset + end - framePosition);
+        } else {
+            count += decodeFrames(source, position, end, handler);
+            int length = end - framePosition;
+            if (length > 0) {
+                ensureWritable(length);
+                source.get(framePosition, buffer, writePosition, length);
+                writePosition += length;
+            }
+        }
+        source.position(end);
+        return count;
+    }
+
+    /**
+     * Copies bytes of {@code source} after the buffered partial message until it is complete, in chunks that
+     * double in size so that a long message takes few copies. Bytes copied beyond its end are dropped again.
+     *
+     * @return The position in {@code source} right after the completed message, or -1 if the source ran out first
+     */
+    private int completeBuffered(ByteBuffer source, int position, int end) {
+        int chunk = MIN_COMPLETION_COPY;
+        int length;
+        while ((length = FixFrames.frameLength(buffer, readPosition, writePosition)) == FixFrames.INCOMPLETE) {
+            if (position == end) {
+                return -1;
+            }
+            int copied = Math.min(chunk, end - position);
+            ensureWritable(copied);
+            source.get(position, buffer, writePosition, copied);
+            position += copied;
+            writePosition += copied;
+            chunk *= 2;
+        }
+        int overshoot = writePosition - (readPosition + length);
+        writePosition -= overshoot;
+        return position - overshoot;
+    }
+
+    /**
+     * Performs one read from {@code channel} into the decoder's buffer and decodes every message it completes.
+     *
+     * @return The number of messages passed to {@code handler}, or -1 if the channel reached end of stream
+     * @throws IllegalArgumentException If the stream is not positioned on a FIX message boundary
+     */
+    public int read(ReadableByteChannel channel, Consumer<FixMessage> handler) throws IOException {
+        if (writePosition == buffer.length) {
+            ensureWritable(1);
+        }
+        view.limit(buffer.length).position(writePosition);
+        int read = channel.read(view);
+        if (read < 0) {
+            return -1;
+        }
+        writePosition += read;
+        return decodeBuffered(handler);
+    }
+
+    /**
+     * @return The number of bytes of an incomplete message held until the next read
+     */
+    public int bufferedBytes() {
+        return writePosition - readPosition;
+    }
+
+    private int decodeBuffered(Consumer<FixMessage> handler) {
+        int count = decodeFrames(buffer, readPosition, writePosition, handler);
+        readPosition = framePosition;
+        if (readPosition == writePosition) {
+            readPosition = 0;
+            writePosition = 0;
+        }
+        return count;
+    }
+
+    private int decodeFrames(byte[] bytes, int start, int end, Consumer<FixMessage> handler) {
+        int count = 0;
+        int position = start;
+        int length;
+        while (position < end && (length = FixFrames.frameLength(bytes, position, end)) != FixFrames.INCOMPLETE) {
+            FixMessage parsed = parser.parseInto(bytes, position, length, message);
+            if (parsed != null) {
+                handler.accept(parsed);
+                count++;
+            }
+            position += length;
+        }
+        framePosition = position;
+        return count;
+    }
+
+    /**
+     * Same as {@link #decodeFrames(byte[], int, int, Consumer)} for a direct or read-only buffer, read through
+     * absolute indexes.
+     */
+    private int decodeFrames(ByteBuffer bytes, int start, int end, Consumer<FixMessage> handler) {
+        int count = 0;
+        int position = start;
+        int length;
+        while (position < end && (length = FixFrames.frameLength(bytes, position, end)) != FixFrames.INCOMPLETE) {
+            FixMessage parsed = parser.parseInto(bytes, position, length, message);
+            if (parsed != null) {
+                handler.accept(parsed);
+                count++;
+            }
+            position += length;
+        }
+        framePosition = position;
+        return count;
+    }
+
+    private void append(byte[] bytes, int offset, int length) {
+        if (length > 0) {
+            ensureWritable(length);
+            System.arraycopy(bytes, offset, buffer, writePosition, length);
+            writePosition += length;
+        }
+    }
+
+    private void ensureWritable(int length) {
+        if (buffer.length - writePosition >= length) {
+            return;
+        }
+        // Move the partial message to the front, then grow if it still does not fit
+        int buffered = writePosition - readPosition;
+        if (buffer.length - buffered < length) {
+            int capacity = Math.max(buffer.length * 2, buffered + length);
+            buffer = Arrays.copyOfRange(buffer, readPosition, readPosition + capacity);
+            view = ByteBuffer.wrap(buffer);
+        } else {
+            System.arraycopy(buffer, readPosition, buffer, 0, buffered);
+        }
+        readPosition = 0;
+        writePosition = buffered;
+    }
+}
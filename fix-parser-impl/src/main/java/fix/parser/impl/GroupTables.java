@@ -0,0 +1,150 @@
+package fix.parser.impl;
+
+import fix.parser.spec.ComponentDef;
+import fix.parser.spec.ComponentRef;
+import fix.parser.spec.FieldDef;
+import fix.parser.spec.FixSpec;
+import fix.parser.spec.GroupDef;
+import fix.parser.spec.MessageDef;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repeating group definitions of one message of a {@link FixSpec} compiled into tables indexed by NUMINGROUP tag:
+ * the delimiter tag that starts every instance, and the set of tags an instance may contain. Fields of components
+ * are flattened into the members, and a nested group contributes its NUMINGROUP tag; the nested group's own
+ * members are matched against its own table when it is parsed.
+ * <p>
+ * A NUMINGROUP tag may be defined differently in different messages: NoMDEntries(268) starts with MDEntryType(269)
+ * in MarketDataSnapshotFullRefresh but with MDUpdateAction(279) in MarketDataIncrementalRefresh. Each message
+ * therefore gets its own tables. Within one message, the members of every definition of a tag, such as NoLegs(555)
+ * in different components, are merged, which is only sound while they all start with the same delimiter.
+ */
+final class GroupTables {
+    private final int[] delimiters;   // delimiters[numInGroupTag] is the first tag of each instance, or 0
+    private final BitSet[] members;   // members[numInGroupTag] holds the tags an instance may contain
+
+    /**
+     * Compiles the groups of the standard header and trailer only, for messages without a definition.
+     */
+    GroupTables(FixSpec spec) {
+        this(spec, null);
+    }
+
+    /**
+     * Compiles the groups that may occur in {@code message}: its own, those of its components, and those of the
+     * standard header and trailer.
+     *
+     * @throws IllegalArgumentException If a group has no NUMINGROUP field or no members, refers to an unknown
+     *                                  component, or two of its definitions in the message start with different
+     *                                  delimiters
+     */
+    GroupTables(FixSpec spec, MessageDef message) {
+        int size = spec.fields().values().stream().mapToInt(FieldDef::number).max().orElse(0) + 1;
+        this.delimiters = new int[size];
+        this.members = new BitSet[size];
+
+        if (spec.header() != null) {
+            addGroups(spec, spec.header().groups(), List.of());
+        }
+        if (spec.trailer() != null) {
+            addGroups(spec, spec.trailer().groups(), List.of());
+        }
+        if (message != null) {
+            addGroups(spec, message.groups(), message.components());
+        }
+    }
+
+    /**
+     * Compiles the tables of every message of the specification.
+     *
+     * @return The tables of each message, by MsgType(35)
+     */
+    static Map<String, GroupTables> byMsgType(FixSpec spec) {
+        Map<String, GroupTables> tables = new HashMap<>();
+        for (MessageDef message : spec.messages()) {
+            tables.put(message.msgtype(), new GroupTables(spec, message));
+        }
+        return tables;
+    }
+
+    /**
+     * @return Whether {@code tag} is the NUMINGROUP tag of a group defined in the specification
+     */
+    boolean isGroup(int tag) {
+        return tag < delimiters.length && delimiters[tag] != 0;
+    }
+
+    int delimiter(int numInGroupTag) {
+        return delimiters[numInGroupTag];
+    }
+
+    boolean isMember(int numInGroupTag, int tag) {
+        return members[numInGroupTag].get(tag);
+    }
+
+    private void addGroups(FixSpec spec, List<GroupDef> groups, List<ComponentRef> components) {
+        for (GroupDef group : groups) {
+            FieldDef counter = spec.fields().get(group.name());
+            if (counter == null) {
+                throw new IllegalArgumentException("Group " + group.name() + " has no NUMINGROUP field");
+            }
+            int tag = counter.number();
+            int delimiter = delimiter(spec, group.firstMember(), group.name());
+            if (members[tag] == null) {
+                members[tag] = new BitSet();
+                delimiters[tag] = delimiter;
+            } else if (delimiters[tag] != delimiter) {
+                throw new IllegalArgumentException("Group " + group.name() + " is defined with delimiters "
+                    + delimiters[tag] + " and " + delimiter + " in the same message");
+            }
+            addMembers(spec, members[tag], group.fields(), group.groups(), group.components());
+            // Nested groups, including those of components inside an instance, get their own tables
+            addGroups(spec, group.groups(), group.components());
+        }
+        for (ComponentRef ref : components) {
+            ComponentDef component = component(spec, ref.name());
+            addGroups(spec, component.groups(), component.components());
+        }
+    }
+
+    private static void addMembers(FixSpec spec, BitSet target,
+                                   List<FieldDef> fields, List<GroupDef> groups, List<ComponentRef> components) {
+        for (FieldDef field : fields) {
+            target.set(field.number());
+        }
+        for (GroupDef group : groups) {
+            target.set(spec.fields().get(group.name()).number());
+        }
+        for (ComponentRef ref : components) {
+            ComponentDef component = component(spec, ref.name());
+            addMembers(spec, target, component.fields(), component.groups(), component.components());
+        }
+    }
+
+    /**
+     * Resolves the first member of a group to a tag, descending into components that start the group.
+     */
+    private static int delimiter(FixSpec spec, String firstMember, String groupName) {
+        String name = firstMember;
+        while (name != null) {
+            FieldDef field = spec.fields().get(name);
+            if (field != null) {
+                return field.number();
+            }
+            name = component(spec, name).firstMember();
+        }
+        throw new IllegalArgumentException("Group " + groupName + " has no members");
+    }
+
+    static ComponentDef component(FixSpec spec, String name) {
+        ComponentDef component = spec.components().get(name);
+        if (component == null) {
+            throw new IllegalArgumentException("Unknown component " + name);
+        }
+        return component;
+    }
+}
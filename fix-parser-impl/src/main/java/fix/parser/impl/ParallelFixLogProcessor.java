@@ -0,0 +1,125 @@
+package fix.parser.impl;
+
+import fix.parser.message.base.FixMessage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Parses a FIX log file in parallel on a {@link ForkJoinPool}.
+ * <p>
+ * The file is split into byte ranges of about {@code chunkSize} bytes. Each range is scanned by its own
+ * {@link FixLogScanner}, which re-synchronises on the first {@code 8=FIX} message boundary in the range and
+ * finishes the last message even if it runs past the end of the range. Every message therefore belongs to
+ * exactly one range, whatever the chunk boundaries are.
+ * <p>
+ * Messages are parsed into per-task reusable holders, so the functions passed in must not keep a reference to
+ * a message beyond the call; they must extract whatever they need from it instead.
+ */
+public final class ParallelFixLogProcessor {
+    private static final long DEFAULT_CHUNK_SIZE = 16L * 1024 * 1024;
+    private static final int MAX_MESSAGE_SIZE = 1024 * 1024;
+
+    private final FixMessageParser parser;
+    private final ForkJoinPool pool;
+    private final long chunkSize;
+
+    public ParallelFixLogProcessor(FixMessageParser parser) {
+        this(parser, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public ParallelFixLogProcessor(FixMessageParser parser, ForkJoinPool pool, long chunkSize) {
+        this.parser = parser;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Maps every message in {@code file} and returns the results in file order.
+     */
+    public <R> List<R> map(Path file, Function<FixMessage, R> mapper) throws IOException {
+        return process(file, ArrayList::new, (results, message) -> results.add(mapper.apply(message)),
+            (left, right) -> {
+                left.addAll(right);
+                return left;
+            });
+    }
+
+    /**
+     * Reduces every message in {@code file} without any ordering guarantee between chunks: each chunk is
+     * accumulated into its own container and the containers are then combined.
+     *
+     * @param supplier    Creates an empty container for one chunk
+     * @param accumulator Folds one message into a container
+     * @param combiner    Merges two containers; it must be associative
+     */
+    public <A> A reduce(Path file, Supplier<A> supplier, BiConsumer<A, FixMessage> accumulator,
+                        BinaryOperator<A> combiner) throws IOException {
+        return process(file, supplier, accumulator, combiner);
+    }
+
+    private <A> A process(Path file, Supplier<A> supplier, BiConsumer<A, FixMessage> accumulator,
+                          BinaryOperator<A> combiner) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return pool.invoke(new ChunkTask<>(channel, 0, channel.size(), supplier, accumulator, combiner));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Splits its byte range in halves until it is at most {@code chunkSize} bytes, then scans it. Results are
+     * combined left before right, which keeps file order for order-sensitive combiners.
+     */
+    private final class ChunkTask<A> extends RecursiveTask<A> {
+        private final FileChannel channel;
+        private final long from;
+        private final long to;
+        private final Supplier<A> supplier;
+        private final BiConsumer<A, FixMessage> accumulator;
+        private final BinaryOperator<A> combiner;
+
+        private ChunkTask(FileChannel channel, long from, long to, Supplier<A> supplier,
+                          BiConsumer<A, FixMessage> accumulator, BinaryOperator<A> combiner) {
+            this.channel = channel;
+            this.from = from;
+            this.to = to;
+            this.supplier = supplier;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= chunkSize) {
+                A container = supplier.get();
+                // Leave room for the last message of the chunk to run past its end without remapping
+                int windowSize = (int) Math.min(Integer.MAX_VALUE, to - from + MAX_MESSAGE_SIZE);
+                try {
+                    new FixLogScanner(parser, windowSize)
+                        .scan(channel, from, to, message -> accumulator.accept(container, message));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return container;
+            }
+            long middle = from + (to - from) / 2;
+            ChunkTask<A> left = new ChunkTask<>(channel, from, middle, supplier, accumulator, combiner);
+            ChunkTask<A> right = new ChunkTask<>(channel, middle, to, supplier, accumulator, combiner);
+            right.fork();
+            A leftResult = left.compute();
+            return combiner.apply(leftResult, right.join());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package fix.parser.impl;
+
+import fix.parser.message.base.MessageBytes;
+
+/**
+ * SIMD-within-a-register scanner: loads eight bytes into a {@code long} and flags every SOH and {@code =} byte
+ * with bit tricks, so the loop branches once per word instead of once per byte. Words are loaded the same way from
+ * a heap array or a direct buffer.
+ * <p>
+ * The checksum adds words byte by byte without carries between bytes, so every byte lane wraps modulo 256, the
+ * modulus of CheckSum(10), and the lanes are only folded together at the end.
+ */
+final class SwarDelimiterScanner extends DelimiterScanner {
+    private static final long SOH_BYTES = 0x0101010101010101L;
+    private static final long EQUALS_BYTES = 0x3D3D3D3D3D3D3D3DL;
+    private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long EVEN_BYTES = 0x00FF00FF00FF00FFL;
+
+    @Override
+    int scan(MessageBytes bytes, int from, int to, int[] positions) {
+        int count = 0;
+        int i = from;
+        for (; i <= to - Long.BYTES; i += Long.BYTES) {
+            long word = bytes.getLongLittleEndian(i);
+            long matches = zeroBytes(word ^ SOH_BYTES) | zeroBytes(word ^ EQUALS_BYTES);
+            while (matches != 0) {
+                positions[count++] = i + (Long.numberOfTrailingZeros(matches) >>> 3);
+                matches &= matches - 1;
+            }
+        }
+        return scanTail(bytes, i, to, positions, count);
+    }
+
+    @Override
+    int scan(MessageBytes bytes, int from, int to, int[] positions, int[] byteSum) {
+        long sum = 0;
+        int count = 0;
+        int i = from;
+        for (; i <= to - Long.BYTES; i += Long.BYTES) {
+            long word = bytes.getLongLittleEndian(i);
+            sum = addBytes(sum, word);
+            long matches = zeroBytes(word ^ SOH_BYTES) | zeroBytes(word ^ EQUALS_BYTES);
+            while (matches != 0) {
+                positions[count++] = i + (Long.numberOfTrailingZeros(matches) >>> 3);
+                matches &= matches - 1;
+            }
+        }
+        byteSum[0] += foldBytes(sum);
+        return scanTail(bytes, i, to, positions, count, byteSum);
+    }
+
+    @Override
+    int sum(MessageBytes bytes, int from, int to) {
+        long sum = 0;
+        int i = from;
+        for (; i <= to - Long.BYTES; i += Long.BYTES) {
+            sum = addBytes(sum, bytes.getLongLittleEndian(i));
+        }
+        return foldBytes(sum) + sumTail(bytes, i, to);
+    }
+
+    /**
+     * Adds each byte of {@code x} to the same byte of {@code y} modulo 256: the low seven bits are added without
+     * overflowing into the next byte, and the high bit is the exclusive or of both high bits and that carry.
+     */
+    private static long addBytes(long x, long y) {
+        return ((x & LOW_BITS) + (y & LOW_BITS)) ^ ((x ^ y) & ~LOW_BITS);
+    }
+
+    /**
+     * Sums the eight bytes of {@code x}, widening to 16-bit lanes first so that no partial sum overflows its lane.
+     */
+    private static int foldBytes(long x) {
+        long pairs = (x & EVEN_BYTES) + ((x >>> 8) & EVEN_BYTES);
+        pairs += pairs >>> 16;
+        pairs += pairs >>> 32;
+        return (int) (pairs & 0xFFFF);
+    }
+
+    /**
+     * Sets the high bit of every zero byte of {@code x} and clears all other bits. Unlike the classic
+     * {@code (x - 0x01..) & ~x & 0x80..} test, no borrow crosses byte boundaries, so every flag is exact.
+     */
+    static long zeroBytes(long x) {
+        return ~(((x & LOW_BITS) + LOW_BITS) | x | LOW_BITS);
+    }
+}
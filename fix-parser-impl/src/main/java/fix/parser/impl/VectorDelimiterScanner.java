@@ -0,0 +1,82 @@
+package fix.parser.impl;
+
+import fix.parser.message.base.MessageBytes;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API scanner: compares a whole vector of bytes against SOH and {@code =} at once and turns the match
+ * mask into a {@code long}, whose set bits are then walked with {@link Long#numberOfTrailingZeros(long)}.
+ * Only loaded when the {@code jdk.incubator.vector} module is present. Vectors are loaded from heap arrays only, so
+ * messages in direct buffers are handed to the SWAR scanner.
+ * <p>
+ * The checksum is a lane-wise byte add: byte lanes wrap modulo 256, which is exactly the modulus of CheckSum(10),
+ * so the lanes are only reduced once at the end.
+ */
+final class VectorDelimiterScanner extends DelimiterScanner {
+    // A mask only fits in a long up to 64 lanes, which rules out the widest SVE vectors
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED.length() <= Long.SIZE
+        ? ByteVector.SPECIES_PREFERRED
+        : ByteVector.SPECIES_512;
+
+    private final DelimiterScanner offHeapScanner = new SwarDelimiterScanner();
+
+    @Override
+    int scan(MessageBytes bytes, int from, int to, int[] positions) {
+        byte[] array = bytes.array();
+        if (array == null) {
+            return offHeapScanner.scan(bytes, from, to, positions);
+        }
+        final int length = SPECIES.length();
+        int count = 0;
+        int i = from;
+        for (; i <= to - length; i += length) {
+            ByteVector block = ByteVector.fromArray(SPECIES, array, i);
+            long matches = block.eq(FIELD_SEPARATOR).or(block.eq(EQUALS_SIGN)).toLong();
+            while (matches != 0) {
+                positions[count++] = i + Long.numberOfTrailingZeros(matches);
+                matches &= matches - 1;
+            }
+        }
+        return scanTail(bytes, i, to, positions, count);
+    }
+
+    @Override
+    int scan(MessageBytes bytes, int from, int to, int[] positions, int[] byteSum) {
+        byte[] array = bytes.array();
+        if (array == null) {
+            return offHeapScanner.scan(bytes, from, to, positions, byteSum);
+        }
+        final int length = SPECIES.length();
+        ByteVector sum = ByteVector.zero(SPECIES);
+        int count = 0;
+        int i = from;
+        for (; i <= to - length; i += length) {
+            ByteVector block = ByteVector.fromArray(SPECIES, array, i);
+            sum = sum.add(block);
+            long matches = block.eq(FIELD_SEPARATOR).or(block.eq(EQUALS_SIGN)).toLong();
+            while (matches != 0) {
+                positions[count++] = i + Long.numberOfTrailingZeros(matches);
+                matches &= matches - 1;
+            }
+        }
+        byteSum[0] += sum.reduceLanes(VectorOperators.ADD);
+        return scanTail(bytes, i, to, positions, count, byteSum);
+    }
+
+    @Override
+    int sum(MessageBytes bytes, int from, int to) {
+        byte[] array = bytes.array();
+        if (array == null) {
+            return offHeapScanner.sum(bytes, from, to);
+        }
+        final int length = SPECIES.length();
+        ByteVector sum = ByteVector.zero(SPECIES);
+        int i = from;
+        for (; i <= to - length; i += length) {
+            sum = sum.add(ByteVector.fromArray(SPECIES, array, i));
+        }
+        return sum.reduceLanes(VectorOperators.ADD) + sumTail(bytes, i, to);
+    }
+}
@@ -0,0 +1,82 @@
+package fix.parser.impl;
+
+import fix.parser.message.base.MessageBytes;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DelimiterScannerTest {
+
+    static Stream<Arguments> scanners() {
+        return Stream.of(new SwarDelimiterScanner(), new VectorDelimiterScanner(), DelimiterScanner.INSTANCE)
+            .flatMap(scanner -> Stream.of(Arguments.of(scanner, false), Arguments.of(scanner, true)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("scanners")
+    @DisplayName("Should find the same delimiters as a byte-by-byte scan, in an array or a direct buffer")
+    void testScanMatchesScalarScan(DelimiterScanner scanner, boolean direct) {
+        Random random = new Random(42);
+        byte[] alphabet = {0x01, 0x3D, '0', '9', 'A', (byte) 0x81, (byte) 0xBD, 0x00, 0x02};
+        for (int length = 0; length < 300; length++) {
+            // Given
+            byte[] array = new byte[length + 16];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = alphabet[random.nextInt(alphabet.length)];
+            }
+            MessageBytes bytes = bytes(array, direct);
+            int from = random.nextInt(8);
+            int to = from + length;
+
+            // When
+            int[] actual = new int[length];
+            int count = scanner.scan(bytes, from, to, actual);
+
+            // Then
+            int[] expected = new int[length];
+            int expectedCount = DelimiterScanner.scanTail(new MessageBytes(array), from, to, expected, 0);
+            assertArrayEquals(Arrays.copyOf(expected, expectedCount), Arrays.copyOf(actual, count),
+                "length " + length + " from " + from);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("scanners")
+    @DisplayName("Should sum bytes modulo 256 like a byte-by-byte sum, in an array or a direct buffer")
+    void testSumMatchesScalarSum(DelimiterScanner scanner, boolean direct) {
+        Random random = new Random(7);
+        for (int length = 0; length < 300; length++) {
+            // Given
+            byte[] array = new byte[length + 16];
+            random.nextBytes(array);
+            MessageBytes bytes = bytes(array, direct);
+            int from = random.nextInt(8);
+            int to = from + length;
+            int expected = DelimiterScanner.sumTail(new MessageBytes(array), from, to) & 0xFF;
+
+            // When
+            int[] byteSum = {5};
+            int[] positions = new int[length];
+            int count = scanner.scan(bytes, from, to, positions, byteSum);
+
+            // Then
+            assertEquals(expected, scanner.sum(bytes, from, to) & 0xFF, "length " + length);
+            assertEquals((expected + 5) & 0xFF, byteSum[0] & 0xFF, "length " + length);
+            assertEquals(scanner.scan(bytes, from, to, new int[length]), count, "length " + length);
+        }
+    }
+
+    private static MessageBytes bytes(byte[] array, boolean direct) {
+        return direct
+            ? new MessageBytes(ByteBuffer.allocateDirect(array.length).put(array).flip())
+            : new MessageBytes(array);
+    }
+}
@@ -0,0 +1,236 @@
+package fix.parser.impl;
+
+import fix.parser.message.base.FixMessage;
+import fix.parser.message.base.MutableFixMessage;
+import fix.parser.message.base.UnderlyingMessage;
+import fix.parser.messages44.MarketDataSnapshotFullRefreshMessage;
+import fix.parser.messages44.NewOrderSingleMessage;
+import fix.parser.spec.FixSpec;
+import fix.parser.spec.FixSpecParser;
+import fix.parser.spec.MessageDef;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixCorpusGeneratorTest {
+    private static FixSpec spec;
+    private static FixMessageParser parser;
+    private static Map<String, GroupTables> groupTables;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        File specFile = new File("../fix-parser-messages44/src/main/resources/FIX44.xml");
+        spec = new FixSpecParser(specFile).parse();
+        parser = new FixMessageParser(spec, FixParserConfig.DEFAULT.withVerifyChecksum(true));
+        groupTables = GroupTables.byMsgType(spec);
+    }
+
+    @Test
+    @DisplayName("Should generate parseable messages of every type with every group instance recognised")
+    void testEveryMessageType() {
+        for (double density : new double[]{1, 0.5}) {
+            // Given
+            FixCorpusGenerator generator = new FixCorpusGenerator(spec, CorpusConfig.DEFAULT
+                .withFieldDensity(density).withGroupInstances(1, 3).withMaxGroupDepth(3));
+            MutableFixMessage holder = new MutableFixMessage();
+
+            for (MessageDef definition : spec.messages()) {
+                // When
+                FixMessage message = parser.parseInto(generator.next(definition.msgtype()), holder);
+
+                // Then
+                assertNotNull(message, definition.name());
+                assertEquals(definition.name() + "Message", message.getClass().getSimpleName());
+                assertGroupsComplete(holder.underlyingMessage(), definition);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should make the same corpus from the same seed")
+    void testSeededCorpusIsReproducible() {
+        // Given
+        FixCorpusGenerator first = new FixCorpusGenerator(spec, CorpusConfig.DEFAULT.withSeed(42));
+        FixCorpusGenerator second = new FixCorpusGenerator(spec, CorpusConfig.DEFAULT.withSeed(42));
+        FixCorpusGenerator other = new FixCorpusGenerator(spec, CorpusConfig.DEFAULT.withSeed(43));
+
+        // When
+        boolean differs = false;
+        for (int i = 0; i < 200; i++) {
+            byte[] message = first.next();
+            assertArrayEquals(message, second.next());
+            differs |= !Arrays.equals(message, other.next());
+        }
+
+        // Then
+        assertTrue(differs);
+    }
+
+    @Test
+    @DisplayName("Should follow the message mix and draw strings from a bounded set of values")
+    void testMessageMixAndCardinality() {
+        // Given
+        FixCorpusGenerator generator = new FixCorpusGenerator(spec, CorpusConfig.DEFAULT
+            .withMessageMix(Map.of("D", 3, "W", 1)).withStrings(8, 2));
+        MutableFixMessage holder = new MutableFixMessage();
+        int orders = 0;
+        int snapshots = 0;
+        Set<String> senders = new HashSet<>();
+
+        // When
+        for (int i = 0; i < 400; i++) {
+            FixMessage message = parser.parseInto(generator.next(), holder);
+            if (message instanceof NewOrderSingleMessage order) {
+                orders++;
+                senders.add(order.getHeader().getSenderCompID());
+                assertEquals(i + 1, order.getHeader().getMsgSeqNum());
+            } else {
+                assertInstanceOf(MarketDataSnapshotFullRefreshMessage.class, message);
+                snapshots++;
+            }
+        }
+
+        // Then
+        assertTrue(orders > 2 * snapshots, orders + " orders, " + snapshots + " snapshots");
+        assertTrue(senders.size() <= 2, senders.toString());
+    }
+
+    @Test
+    @DisplayName("Should bound group cardinality and nesting depth")
+    void testGroupCardinalityAndDepth() {
+        // Given
+        FixCorpusGenerator fiveEntries = new FixCorpusGenerator(spec, CorpusConfig.DEFAULT
+            .withFieldDensity(1).withGroupInstances(5, 5));
+        FixCorpusGenerator noGroups = new FixCorpusGenerator(spec, CorpusConfig.DEFAULT
+            .withFieldDensity(1).withMaxGroupDepth(0));
+        FixCorpusGenerator topLevelOnly = new FixCorpusGenerator(spec, CorpusConfig.DEFAULT
+            .withFieldDensity(1).withMaxGroupDepth(1));
+        MutableFixMessage holder = new MutableFixMessage();
+
+        // When
+        var withEntries = (MarketDataSnapshotFullRefreshMessage) parser.parse(fiveEntries.next("W"));
+        var withoutEntries = (MarketDataSnapshotFullRefreshMessage) parser.parse(noGroups.next("W"));
+        parser.parseInto(topLevelOnly.next("W"), holder);
+
+        // Then
+        assertEquals(5, withEntries.getMDEntriesCount());
+        assertEquals(0, withoutEntries.getMDEntriesCount());
+        UnderlyingMessage fields = holder.underlyingMessage();
+        for (int i = 0; i < fields.fieldCount(); i++) {
+            assertTrue(fields.groupDepth(i) <= 1, "tag " + fields.tag(i) + " is nested too deep");
+        }
+    }
+
+    @Test
+    @DisplayName("Should always write required fields and draw enumerated values from the specification")
+    void testRequiredFieldsAndEnumeratedValues() {
+        // Given
+        FixCorpusGenerator generator = new FixCorpusGenerator(spec, CorpusConfig.DEFAULT.withFieldDensity(0));
+        List<String> sides = spec.fields().get("Side").values();
+        List<String> ordTypes = spec.fields().get("OrdType").values();
+        MutableFixMessage holder = new MutableFixMessage();
+
+        for (int i = 0; i < 100; i++) {
+            // When
+            var order = (NewOrderSingleMessage) parser.parseInto(generator.next("D"), holder);
+
+            // Then ClOrdID(11), Side(54), TransactTime(60), OrdType(40) and Symbol(55) of the required Instrument
+            // component are there, and nothing optional
+            UnderlyingMessage fields = holder.underlyingMessage();
+            Set<Integer> tags = new HashSet<>();
+            for (int field = 0; field < fields.fieldCount(); field++) {
+                tags.add(fields.tag(field));
+            }
+            assertEquals(Set.of(8, 9, 35, 49, 56, 34, 52, 11, 54, 60, 40, 55, 10), tags);
+            assertTrue(sides.contains(String.valueOf(order.getSide())), "Side " + order.getSide());
+            assertTrue(ordTypes.contains(String.valueOf(order.getOrdType())), "OrdType " + order.getOrdType());
+            var snapshot = (MarketDataSnapshotFullRefreshMessage) parser.parse(generator.next("W"));
+            assertTrue(snapshot.getMDEntriesCount() > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Should make messages larger than its initial buffer")
+    void testLargeMessages() {
+        // Given
+        CorpusConfig large = CorpusConfig.DEFAULT.withFieldDensity(1).withGroupInstances(200, 200).withStrings(64, 0);
+        FixCorpusGenerator generator = new FixCorpusGenerator(spec, large);
+        FixCorpusGenerator again = new FixCorpusGenerator(spec, large);
+
+        // When
+        byte[] bytes = generator.next("W");
+        var message = (MarketDataSnapshotFullRefreshMessage) parser.parse(bytes);
+
+        // Then
+        assertTrue(bytes.length > 4096, bytes.length + " bytes");
+        assertEquals(200, message.getMDEntriesCount());
+        assertArrayEquals(bytes, again.next("W"));
+    }
+
+    @Test
+    @DisplayName("Should write a corpus file that the log scanner reads back")
+    void testWriteCorpus() throws Exception {
+        // Given
+        FixCorpusGenerator generator = new FixCorpusGenerator(spec);
+        Path file = tempDir.resolve("corpus.fix");
+
+        // When
+        long written = generator.writeCorpus(file, 500);
+        long scanned = new FixLogScanner(parser).scan(file, message -> assertNotNull(message));
+
+        // Then
+        assertEquals(Files.size(file), written);
+        assertEquals(500, scanned);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid configurations")
+    void testRejectInvalidConfig() {
+        assertThrows(IllegalArgumentException.class, () -> new FixCorpusGenerator(spec,
+            CorpusConfig.DEFAULT.withMessageMix(Map.of("NOT-A-TYPE", 1))));
+        assertThrows(IllegalArgumentException.class, () -> CorpusConfig.DEFAULT.withFieldDensity(1.5));
+        assertThrows(IllegalArgumentException.class, () -> CorpusConfig.DEFAULT.withGroupInstances(3, 2));
+        assertThrows(IllegalArgumentException.class, () -> new FixCorpusGenerator(spec).next("NOT-A-TYPE"));
+    }
+
+    /**
+     * Checks that the parser found as many instances of every group as its NUMINGROUP field announces, so that
+     * no instance was cut short by a tag the parser does not consider a member.
+     */
+    private static void assertGroupsComplete(UnderlyingMessage fields, MessageDef definition) {
+        String messageName = definition.name();
+        GroupTables tables = groupTables.get(definition.msgtype());
+        for (int counter = 0; counter < fields.fieldCount(); counter++) {
+            if (!tables.isGroup(fields.tag(counter))) {
+                continue;
+            }
+            int announced = Integer.parseInt(fields.bytes().toString(fields.valuePosition(counter),
+                fields.valueLength(counter)));
+            assertTrue(counter + 1 < fields.fieldCount() && fields.groupParent(counter + 1) == counter,
+                messageName + " group " + fields.tag(counter) + " has no instances");
+            int delimiter = fields.tag(counter + 1);
+            int instances = 0;
+            for (int i = counter + 1; i < fields.fieldCount(); i++) {
+                if (fields.groupParent(i) == counter && fields.tag(i) == delimiter) {
+                    instances++;
+                }
+            }
+            assertEquals(announced, instances, messageName + " group " + fields.tag(counter));
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package fix.parser.impl;
+
+import fix.parser.message.base.FixEncoder;
+import fix.parser.messages44.NewOrderSingleEncoder;
+import fix.parser.messages44.NewOrderSingleMessage;
+import fix.parser.messages44.NoPartyIDsGroup;
+import fix.parser.messages44.NoPartyIDsGroupEncoder;
+import fix.parser.messages44.UserRequestEncoder;
+import fix.parser.messages44.UserRequestMessage;
+import fix.parser.spec.FixSpec;
+import fix.parser.spec.FixSpecParser;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixEncoderTest {
+    private static final long SENDING_TIME = Instant.parse("2023-06-15T14:30:00Z").toEpochMilli();
+
+    private static FixMessageParser parser;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        File specFile = new File("../fix-parser-messages44/src/main/resources/FIX44.xml");
+        FixSpec spec = new FixSpecParser(specFile).parse();
+        parser = new FixMessageParser(spec);
+    }
+
+    @Test
+    @DisplayName("Should encode the same bytes as a hand-built message")
+    void testEncodeMatchesHandBuiltMessage() {
+        // Given
+        NewOrderSingleEncoder encoder = new NewOrderSingleEncoder();
+        byte[] buffer = new byte[512];
+
+        // When
+        int length = encodeNewOrderSingle(encoder.wrap(buffer, 0), "1", "IBM");
+
+        // Then
+        byte[] expected = TestMessages.newOrderSingle("1", "IBM");
+        assertEquals(new String(expected, StandardCharsets.ISO_8859_1),
+            new String(buffer, 0, length, StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    @DisplayName("Should backfill BodyLength and CheckSum whether or not the body is shifted over unused digits")
+    void testFinishShiftsBodyOverReservedDigits() {
+        // Given
+        FixEncoder encoder = new FixEncoder("FIX.4.4");
+        byte[] expected = TestMessages.fix("35=D\u000111=1\u000155=IBM\u0001");
+
+        // 64 bytes reserve exactly the two digits of the body length, the larger buffers reserve more
+        for (int capacity : new int[]{64, 512, 1 << 20}) {
+            byte[] buffer = new byte[capacity + 3];
+
+            // When
+            int length = encoder.wrap(buffer, 3, "D").putString(11, "1").putString(55, "IBM").finish();
+
+            // Then
+            assertEquals(new String(expected, StandardCharsets.ISO_8859_1),
+                new String(buffer, 3, length, StandardCharsets.ISO_8859_1), "capacity " + capacity);
+        }
+    }
+
+    @Test
+    @DisplayName("Should round-trip components, groups and typed values through the parser")
+    void testRoundTrip() {
+        // Given
+        NewOrderSingleEncoder encoder = new NewOrderSingleEncoder();
+        byte[] buffer = new byte[1024];
+        Instant transactTime = Instant.parse("1969-12-31T23:59:59.123456789Z");
+
+        // When
+        encoder.wrap(buffer, 0);
+        encoder.getHeader().putSenderCompID("BUYER").putTargetCompID("SELLER").putMsgSeqNum(Long.MAX_VALUE)
+            .putSendingTimeEpochMicros(SENDING_TIME * 1_000 + 7);
+        encoder.putClOrdID("ORD-1");
+        NoPartyIDsGroupEncoder parties = encoder.getParties().putPartyIDs(2);
+        parties.putPartyID("TRADER1").putPartyIDSource('D').putPartyRole(1);
+        parties.putPartyID("TRADER2").putPartyIDSource('D').putPartyRole(-2);
+        encoder.getInstrument().putSymbol("MSFT").putMaturityDateAsInt(20240315);
+        encoder.putSide('2').putTransactTime(transactTime);
+        encoder.getOrderQtyData().putOrderQtyAsDecimal(-1502500, 4).putCashOrderQty(1e20);
+        encoder.putPrice(0.1).putStopPx(123456789.125).putLocateReqd(true);
+        int length = encoder.finish();
+        NewOrderSingleMessage message = (NewOrderSingleMessage) parser.parse(Arrays.copyOf(buffer, length));
+
+        // Then
+        assertEquals("BUYER", message.getHeader().getSenderCompID());
+        assertEquals("SELLER", message.getHeader().getTargetCompID());
+        assertEquals(Long.MAX_VALUE, message.getHeader().getMsgSeqNumAsLong());
+        assertEquals(SENDING_TIME * 1_000 + 7, message.getHeader().getSendingTimeEpochMicros());
+        assertEquals(bodyLength(buffer, length), message.getHeader().getBodyLength());
+        assertEquals("ORD-1", message.getClOrdID());
+
+        NoPartyIDsGroup[] partyIds = message.getParties().getPartyIDs();
+        assertEquals(2, partyIds.length);
+        assertEquals("TRADER1", partyIds[0].getPartyID());
+        assertEquals(-2, partyIds[1].getPartyRole());
+
+        assertEquals("MSFT", message.getInstrument().getSymbol());
+        assertEquals(LocalDate.of(2024, 3, 15), message.getInstrument().getMaturityDate());
+        assertEquals('2', message.getSide());
+        assertEquals(transactTime, message.getTransactTime());
+        assertEquals(-150.25, message.getOrderQtyData().getOrderQty());
+        assertEquals(-1502500, message.getOrderQtyData().getOrderQtyAsDecimal(4));
+        assertEquals(0.1, message.getPrice());
+        assertEquals(123456789.125, message.getStopPx());
+        assertEquals(1e20, message.getOrderQtyData().getCashOrderQty());
+        assertTrue(message.getLocateReqd());
+        assertEquals(checksum(buffer, length), message.getTrailer().getCheckSum());
+    }
+
+    @Test
+    @DisplayName("Should encode DATA values containing the field separator")
+    void testEncodeDataField() {
+        // Given
+        UserRequestEncoder encoder = new UserRequestEncoder();
+        byte[] rawData = "a\u0001b=c".getBytes(StandardCharsets.ISO_8859_1);
+        byte[] buffer = new byte[256];
+
+        // When
+        encoder.wrap(buffer, 0).getHeader().putSenderCompID("A").putTargetCompID("B").putMsgSeqNum(1)
+            .putSendingTimeEpochMillis(SENDING_TIME);
+        encoder.putUserRequestID("U1").putUserRequestType(1).putUsername("trader")
+            .putRawDataLength(rawData.length).putRawData(rawData);
+        int length = encoder.finish();
+        UserRequestMessage message = (UserRequestMessage) parser.parse(Arrays.copyOf(buffer, length));
+
+        // Then
+        assertArrayEquals(rawData, message.getRawData());
+        assertEquals("trader", message.getUsername());
+    }
+
+    @Test
+    @DisplayName("Should encode into heap and direct ByteBuffers at their position")
+    void testEncodeIntoByteBuffers() {
+        // Given
+        NewOrderSingleEncoder encoder = new NewOrderSingleEncoder();
+        byte[] expected = TestMessages.newOrderSingle("7", "AAPL");
+
+        for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(400), ByteBuffer.allocateDirect(400)}) {
+            buffer.position(10);
+
+            // When
+            int length = encodeNewOrderSingle(encoder.wrap(buffer), "7", "AAPL");
+
+            // Then
+            assertEquals(expected.length, length);
+            assertEquals(10 + length, buffer.position());
+            byte[] written = new byte[length];
+            buffer.get(10, written);
+            assertArrayEquals(expected, written);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject values the encoder cannot represent")
+    void testRejectInvalidValues() {
+        // Given
+        FixEncoder encoder = new FixEncoder("FIX.4.4").wrap(new byte[128], 0, "D");
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> encoder.putDouble(44, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> encoder.putDecimal(44, 1, 19));
+        assertThrows(IndexOutOfBoundsException.class, () -> encoder.putString(58, "x".repeat(200)));
+    }
+
+    @Test
+    @DisplayName("Should not allocate when encoding into a reused buffer")
+    void testEncodeDoesNotAllocate() {
+        // Given
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        NewOrderSingleEncoder encoder = new NewOrderSingleEncoder();
+        byte[] buffer = new byte[512];
+        long total = 0;
+        for (int i = 0; i < 100_000; i++) {
+            total += encodeNewOrderSingle(encoder.wrap(buffer, 0), "1", "IBM");
+        }
+
+        // When
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 10_000; i++) {
+            total += encodeNewOrderSingle(encoder.wrap(buffer, 0), "1", "IBM");
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // Then
+        assertTrue(total > 0);
+        assertTrue(allocated < 1024, "Allocated " + allocated + " bytes for 10,000 messages");
+    }
+
+    /**
+     * Encodes the message built by {@link TestMessages#newOrderSingle(String, String)}.
+     */
+    private static int encodeNewOrderSingle(NewOrderSingleEncoder encoder, String clOrdId, String symbol) {
+        encoder.getHeader().putSenderCompID("BUYER").putTargetCompID("SELLER").putMsgSeqNum(1)
+            .putSendingTimeEpochMillis(SENDING_TIME);
+        encoder.putClOrdID(clOrdId);
+        encoder.getInstrument().putSymbol(symbol);
+        encoder.putSide('1').putPrice(150.25);
+        encoder.getOrderQtyData().putOrderQty(1000);
+        return encoder.finish();
+    }
+
+    /**
+     * Counts the bytes between the BodyLength(9) field and the CheckSum(10) field.
+     */
+    private static int bodyLength(byte[] message, int length) {
+        int separators = 0;
+        int start = 0;
+        while (separators < 2) {
+            if (message[start++] == 0x01) {
+                separators++;
+            }
+        }
+        return length - "10=000\u0001".length() - start;
+    }
+
+    private static String checksum(byte[] message, int length) {
+        int sum = 0;
+        for (int i = 0; i < length - "10=000\u0001".length(); i++) {
+            sum += message[i];
+        }
+        return "%03d".formatted(sum & 0xFF);
+    }
+}
@@ -0,0 +1,125 @@
+package fix.parser.impl;
+
+import fix.parser.message.base.MessageBytes;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixFramesTest {
+
+    @Test
+    @DisplayName("Should frame a message the same way from an array and a direct buffer")
+    void testFrameLength() {
+        // Given
+        byte[] message = TestMessages.newOrderSingle("1", "AAPL");
+        byte[] stream = TestMessages.concat(message, message);
+
+        // When / Then
+        assertEquals(message.length, FixFrames.frameLength(stream, 0, stream.length));
+        assertEquals(message.length, FixFrames.frameLength(direct(stream), message.length, stream.length));
+        for (int end = 0; end < message.length; end++) {
+            assertEquals(FixFrames.INCOMPLETE, FixFrames.frameLength(stream, 0, end), "end " + end);
+            assertEquals(FixFrames.INCOMPLETE, FixFrames.frameLength(direct(stream), 0, end), "end " + end);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a BodyLength that is empty, not a number or too large")
+    void testRejectInvalidBodyLength() {
+        for (String bodyLength : new String[]{"", "12a", "-5", " 5", "99999999999", "2147483647"}) {
+            // Given
+            byte[] bytes = ("8=FIX.4.4\u00019=" + bodyLength + "\u000135=D\u000110=000\u0001")
+                .getBytes(StandardCharsets.ISO_8859_1);
+
+            // When / Then
+            assertThrows(IllegalArgumentException.class, () -> FixFrames.frameLength(bytes, 0, bytes.length),
+                bodyLength);
+            assertThrows(IllegalArgumentException.class, () -> FixFrames.frameLength(direct(bytes), 0, bytes.length),
+                bodyLength);
+        }
+    }
+
+    @Test
+    @DisplayName("Should find the same message starts word by word as a byte-by-byte search")
+    void testIndexOfMessageStart() {
+        Random random = new Random(3);
+        String[] pieces = {"8=FIX", "58=FIX", "8=", "8", "=FIX", "x\u0001", "\n", " IN: ",
+            "8=FIX.4.4\u00019=5\u000135=0\u000110=000\u0001"};
+        for (int round = 0; round < 2000; round++) {
+            // Given
+            int size = random.nextInt(96);
+            StringBuilder text = new StringBuilder();
+            while (text.length() < size) {
+                text.append(pieces[random.nextInt(pieces.length)]);
+            }
+            byte[] bytes = text.toString().getBytes(StandardCharsets.ISO_8859_1);
+            int from = bytes.length == 0 ? 0 : random.nextInt(bytes.length);
+
+            // When
+            int fromArray = FixFrames.indexOfMessageStart(new MessageBytes(bytes), from, bytes.length);
+            int fromBuffer = FixFrames.indexOfMessageStart(new MessageBytes(direct(bytes)), from, bytes.length);
+
+            // Then
+            String context = text + " from " + from;
+            assertEquals(indexOfMessageStart(text.toString(), bytes, from), fromArray, context);
+            assertEquals(fromArray, fromBuffer, context);
+        }
+    }
+
+    @Test
+    @DisplayName("Should only take 8=FIX as a message start at the start of a line or right after a SOH")
+    void testSkipBeginStringInsideValue() {
+        // Given
+        byte[] message = TestMessages.fix("35=D\u000111=1\u000158=see 8=FIX.4.4\u00019=5\u000110=000\u0001");
+        byte[] logged = concat("20230615-14:30:00.000 IN: ", message, "\n", message, message);
+        MessageBytes bytes = new MessageBytes(logged);
+        int first = "20230615-14:30:00.000 IN: ".length();
+
+        // When / Then
+        assertEquals(first, FixFrames.indexOfMessageStart(bytes, 0, logged.length));
+        assertEquals(first + message.length + 1, FixFrames.indexOfMessageStart(bytes, first + 1, logged.length));
+        int last = first + 2 * message.length + 1;
+        assertEquals(last, FixFrames.indexOfMessageStart(bytes, last - message.length + 1, logged.length));
+        assertEquals(-1, FixFrames.indexOfMessageStart(bytes, last + 1, logged.length));
+    }
+
+    /**
+     * The rules of {@link FixFrames#indexOfMessageStart} applied one position at a time.
+     */
+    private static int indexOfMessageStart(String text, byte[] bytes, int from) {
+        for (int i = text.indexOf("8=FIX", from); i >= 0; i = text.indexOf("8=FIX", i + 1)) {
+            if (i > 0 && Character.isDigit(text.charAt(i - 1))) {
+                continue;
+            }
+            int lineBreak = Math.max(text.lastIndexOf('\n', i - 1), text.lastIndexOf('\r', i - 1));
+            int separator = text.lastIndexOf('\u0001', i - 1);
+            if (i > 0 && separator != i - 1 && separator > lineBreak) {
+                continue;
+            }
+            try {
+                FixFrames.frameLength(bytes, i, bytes.length);
+                return i;
+            } catch (IllegalArgumentException e) {
+                // Not a message header
+            }
+        }
+        return -1;
+    }
+
+    private static byte[] concat(Object... parts) {
+        byte[][] arrays = new byte[parts.length][];
+        for (int i = 0; i < parts.length; i++) {
+            arrays[i] = parts[i] instanceof String text ? text.getBytes(StandardCharsets.ISO_8859_1) : (byte[]) parts[i];
+        }
+        return TestMessages.concat(arrays);
+    }
+
+    private static ByteBuffer direct(byte[] bytes) {
+        return ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+    }
+}
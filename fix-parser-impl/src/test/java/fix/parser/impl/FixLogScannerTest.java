@@ -0,0 +1,77 @@
+package fix.parser.impl;
+
+import fix.parser.messages44.NewOrderSingleMessage;
+import fix.parser.spec.FixSpec;
+import fix.parser.spec.FixSpecParser;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static fix.parser.impl.TestMessages.fix;
+import static fix.parser.impl.TestMessages.newOrderSingle;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixLogScannerTest {
+    private static FixMessageParser parser;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        File specFile = new File("../fix-parser-messages44/src/main/resources/FIX44.xml");
+        FixSpecParser specParser = new FixSpecParser(specFile);
+        FixSpec spec = specParser.parse();
+        parser = new FixMessageParser(spec);
+    }
+
+    @Test
+    @DisplayName("Should scan every message of a log across mapped windows")
+    void testScanAcrossWindows() throws Exception {
+        // Given
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            log.write("20230615-14:30:00.000 IN: ".getBytes(StandardCharsets.ISO_8859_1));
+            log.write(newOrderSingle(String.valueOf(i), "IBM"));
+            log.write('\n');
+            expected.add(String.valueOf(i));
+        }
+        Path file = Files.write(tempDir.resolve("fix.log"), log.toByteArray());
+        List<String> actual = new ArrayList<>();
+
+        // When
+        long count = new FixLogScanner(parser, 512)
+            .scan(file, message -> actual.add(((NewOrderSingleMessage) message).getClOrdID()));
+
+        // Then
+        assertEquals(100, count);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Should not treat 8=FIX inside a field value as a message start")
+    void testSkipBeginStringInsideValue() throws Exception {
+        // Given
+        byte[] message = fix("35=D\u000111=1\u000158=see 8=FIX.4.4\u000155=IBM\u0001");
+        Path file = Files.write(tempDir.resolve("fix.log"), message);
+        List<String> symbols = new ArrayList<>();
+
+        // When
+        long count = new FixLogScanner(parser)
+            .scan(file, m -> symbols.add(((NewOrderSingleMessage) m).getInstrument().getSymbol()));
+
+        // Then
+        assertEquals(1, count);
+        assertEquals(List.of("IBM"), symbols);
+    }
+}
@@ -1,28 +1,54 @@
 package fix.parser.impl;
 
+import fix.parser.message.base.AsciiSequence;
 import fix.parser.message.base.FixMessage;
+import fix.parser.message.base.MessageBytes;
+import fix.parser.message.base.MutableFixMessage;
+import fix.parser.message.base.Segment;
+import fix.parser.message.base.StringCache;
+import fix.parser.message.base.UnderlyingMessage;
+import fix.parser.messages44.Fields;
+import fix.parser.messages44.Header;
+import fix.parser.messages44.InstrumentComponent;
+import fix.parser.messages44.MarketDataIncrementalRefreshMessage;
+import fix.parser.messages44.MarketDataSnapshotFullRefreshMessage;
 import fix.parser.messages44.NewOrderSingleMessage;
 import fix.parser.messages44.NoPartyIDsGroup;
+import fix.parser.messages44.NoPartySubIDsGroup;
+import fix.parser.messages44.NoRelatedSymGroup;
+import fix.parser.messages44.QuoteRequestMessage;
 import fix.parser.messages44.UserRequestMessage;
 import fix.parser.spec.FixSpec;
+import fix.parser.spec.GroupDef;
+import fix.parser.spec.MessageDef;
 import fix.parser.spec.FixSpecParser;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class FixMessageParserTest {
+    private static FixSpec spec;
     private static FixMessageParser parser;
 
     @BeforeAll
     static void setUp() throws Exception {
         File specFile = new File("../fix-parser-messages44/src/main/resources/FIX44.xml");
         FixSpecParser specParser = new FixSpecParser(specFile);
-        FixSpec spec = specParser.parse();
+        spec = specParser.parse();
         parser = new FixMessageParser(spec);
     }
 
@@ -93,6 +119,101 @@ class FixMessageParserTest {
         assertSame(message1.getClass(), message2.getClass());
     }
 
+    @Test
+    @DisplayName("Should dispatch every message type of the specification")
+    void testDispatchAllMessageTypes() {
+        // Given
+        MutableFixMessage holder = new MutableFixMessage();
+
+        for (MessageDef messageDef : spec.messages()) {
+            byte[] messageBytes = TestMessages.fix("35=" + messageDef.msgtype() + "\u000149=BUYER\u000156=SELLER\u0001");
+
+            // When
+            FixMessage parsed = parser.parse(messageBytes);
+            FixMessage reused = parser.parseInto(messageBytes, holder);
+
+            // Then
+            assertEquals(messageDef.name() + "Message", parsed.getClass().getSimpleName());
+            assertSame(parsed.getClass(), reused.getClass());
+            assertSame(reused, parser.parseInto(messageBytes, holder));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown message type")
+    void testRejectUnknownMessageType() {
+        // Given
+        byte[] unknown = TestMessages.fix("35=ZZ\u000149=BUYER\u000156=SELLER\u0001");
+        byte[] tooLong = TestMessages.fix("35=ABC\u000149=BUYER\u000156=SELLER\u0001");
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(unknown));
+        assertThrows(IllegalArgumentException.class, () -> parser.parseInto(tooLong, new MutableFixMessage()));
+    }
+
+    @Test
+    @DisplayName("Should split a group by the delimiter its own message defines")
+    void testGroupDelimiterPerMessage() {
+        // Given NoMDEntries, which starts with MDEntryType(269) in snapshots but MDUpdateAction(279) here
+        byte[] messageBytes = TestMessages.fix("35=X\u000149=SELLER\u000156=BUYER\u000134=1\u0001" +
+            "268=2\u0001279=0\u0001269=0\u000155=IBM\u0001270=150.25\u0001279=2\u0001269=1\u000155=MSFT\u0001");
+
+        // When
+        var message = (MarketDataIncrementalRefreshMessage) parser.parse(messageBytes);
+
+        // Then
+        assertEquals(2, message.getMDEntriesCount());
+        assertEquals(150.25, message.getMDEntries(0).getMDEntryPx());
+        assertEquals('1', message.getMDEntries(1).getMDEntryType());
+    }
+
+    @Test
+    @DisplayName("Should find the fields of every group instance through the tag index")
+    void testTagIndexInLargeGroups() {
+        // Given instances of ten fields, too many to be scanned instead of looked up
+        StringBuilder body = new StringBuilder("35=W\u000149=SELLER\u000156=BUYER\u000134=1\u000155=IBM\u0001268=50\u0001");
+        for (int i = 0; i < 50; i++) {
+            body.append("269=").append(i % 2).append("\u0001270=").append(100 + i).append("\u000115=USD\u0001271=")
+                .append(i).append("\u0001272=20230615\u0001273=14:30:00\u0001274=0\u0001275=XNYS\u0001")
+                .append("336=1\u0001276=A\u0001");
+        }
+        byte[] messageBytes = TestMessages.fix(body.toString());
+        FixMessageParser indexed = new FixMessageParser(spec, FixParserConfig.DEFAULT.withTagIndex(true));
+
+        // When
+        var message = (MarketDataSnapshotFullRefreshMessage) indexed.parse(messageBytes);
+        var reused = (MarketDataSnapshotFullRefreshMessage) indexed.parseInto(messageBytes, new MutableFixMessage());
+
+        // Then
+        assertEquals(50, message.getMDEntriesCount());
+        assertEquals("IBM", message.getInstrument().getSymbol());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(100 + i, message.getMDEntries(i).getMDEntryPx(), "instance " + i);
+            assertEquals(i, reused.getMDEntries(i).getMDEntrySize(), "instance " + i);
+            assertEquals("A", reused.getMDEntries(i).getQuoteCondition(), "instance " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a message whose definitions of a group start with different delimiters")
+    void testRejectConflictingGroupDelimiters() {
+        // Given NewOrderSingle with a second NoPartyIDs group besides the one of its Parties component
+        GroupDef startsWithRole = new GroupDef("NoPartyIDs", List.of(spec.fields().get("PartyRole")),
+            List.of(), List.of(), "PartyRole", false);
+        List<MessageDef> messages = new ArrayList<>();
+        for (MessageDef message : spec.messages()) {
+            messages.add(!message.msgtype().equals("D") ? message : new MessageDef(message.name(), message.msgtype(),
+                message.msgcat(), message.fields(), List.of(startsWithRole), message.components()));
+        }
+        FixSpec conflicting = new FixSpec(spec.major(), spec.minor(), spec.header(), spec.trailer(), messages,
+            spec.components(), spec.fields());
+
+        // When / Then
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> new FixMessageParser(conflicting));
+        assertTrue(e.getMessage().contains("NoPartyIDs"), e.getMessage());
+    }
+
     @Test
     @DisplayName("Should parse message with repeating groups")
     void testParseMessageWithRepeatingGroups() {
@@ -121,6 +242,357 @@ class FixMessageParserTest {
         assertEquals(2, parties[1].getPartyRole());
     }
 
+    @Test
+    @DisplayName("Should close group instances at the first non-member field")
+    void testGroupBoundaries() {
+        // Given
+        MutableFixMessage holder = new MutableFixMessage();
+        byte[] messageBytes = TestMessages.fix(
+            "35=D\u000149=BUYER\u000156=SELLER\u000134=1\u000152=20230615-14:30:00.000\u000111=1\u0001" +
+            "453=2\u0001448=A\u0001447=D\u0001452=1\u0001802=2\u0001523=S1\u0001803=1\u0001523=S2\u0001803=2\u0001" +
+            "448=B\u0001447=D\u0001452=2\u0001" +
+            "55=IBM\u000154=1\u000160=20230615-14:30:00.000\u000138=100\u0001");
+
+        // When
+        NewOrderSingleMessage message = (NewOrderSingleMessage) parser.parseInto(messageBytes, holder);
+
+        // Then
+        NoPartyIDsGroup[] parties = message.getParties().getPartyIDs();
+        assertEquals(2, parties.length);
+        assertEquals(2, parties[0].getPartySubIDs().length);
+        assertEquals("S2", parties[0].getPartySubIDs()[1].getPartySubID());
+        assertEquals(2, parties[0].getPartySubIDs()[1].getPartySubIDType());
+        assertEquals("B", parties[1].getPartyID());
+        assertEquals(0, parties[1].getPartySubIDs().length);
+
+        Segment lastParty = holder.segment().segment(1);
+        assertEquals(3, lastParty.end() - lastParty.start(), "Symbol and later fields must not join the last party");
+        assertEquals("IBM", message.getInstrument().getSymbol());
+    }
+
+    @Test
+    @DisplayName("Should link group fields to their NUMINGROUP field in the packed index")
+    void testPackedIndexGroupParents() {
+        // Given
+        MutableFixMessage holder = new MutableFixMessage();
+        byte[] messageBytes = TestMessages.fix(
+            "35=D\u000149=BUYER\u000156=SELLER\u000134=1\u000152=20230615-14:30:00.000\u000111=1\u0001" +
+            "453=2\u0001448=A\u0001447=D\u0001452=1\u0001802=2\u0001523=S1\u0001803=1\u0001523=S2\u0001803=2\u0001" +
+            "448=B\u0001447=D\u0001452=2\u0001" +
+            "55=IBM\u000154=1\u000160=20230615-14:30:00.000\u000138=100\u0001");
+
+        // When
+        parser.parseInto(messageBytes, holder);
+        UnderlyingMessage message = holder.underlyingMessage();
+
+        // Then
+        assertEquals(Fields.NOPARTYIDS, message.tag(8));
+        assertEquals("2", new String(messageBytes, message.valuePosition(8), message.valueLength(8), StandardCharsets.ISO_8859_1));
+        assertEquals(-1, message.groupParent(8));
+        assertEquals(8, message.groupParent(9));
+        assertEquals(8, message.groupParent(12), "The NUMINGROUP field of a nested group belongs to the outer instance");
+        assertEquals(12, message.groupParent(16));
+        assertEquals(2, message.groupDepth(16));
+        assertEquals(8, message.groupParent(19));
+        assertEquals(Fields.SYMBOL, message.tag(20));
+        assertEquals(0, message.groupDepth(20));
+    }
+
+    @Test
+    @DisplayName("Should find the delimiter of a group that starts with a component")
+    void testGroupStartingWithComponent() {
+        // Given
+        byte[] messageBytes = TestMessages.fix(
+            "35=R\u000149=BUYER\u000156=SELLER\u000134=1\u000152=20230615-14:30:00.000\u0001131=Q1\u0001" +
+            "146=3\u000155=IBM\u000138=100\u000155=MSFT\u000154=2\u000155=AAPL\u000138=300\u000158=done\u0001");
+
+        // When
+        QuoteRequestMessage message = (QuoteRequestMessage) parser.parse(messageBytes);
+
+        // Then
+        NoRelatedSymGroup[] relatedSym = message.getRelatedSym();
+        assertEquals(3, relatedSym.length);
+        assertEquals("IBM", relatedSym[0].getInstrument().getSymbol());
+        assertEquals("MSFT", relatedSym[1].getInstrument().getSymbol());
+        assertEquals("AAPL", relatedSym[2].getInstrument().getSymbol());
+        assertEquals("done", message.getText());
+    }
+
+    @Test
+    @DisplayName("Should access repeating groups through counts, indexes and cursors")
+    void testGroupCursors() {
+        // Given
+        byte[] messageBytes = TestMessages.fix(
+            "35=D\u000149=BUYER\u000156=SELLER\u000134=1\u000152=20230615-14:30:00.000\u000111=1\u0001" +
+            "453=2\u0001448=A\u0001447=D\u0001452=1\u0001802=2\u0001523=S1\u0001803=1\u0001523=S2\u0001803=2\u0001" +
+            "448=B\u0001447=D\u0001452=2\u0001" +
+            "55=IBM\u000154=1\u000160=20230615-14:30:00.000\u000138=100\u0001");
+        NewOrderSingleMessage message = (NewOrderSingleMessage) parser.parse(messageBytes);
+
+        // When
+        NoPartyIDsGroup.Cursor parties = message.getParties().getPartyIDsCursor();
+        List<String> visited = new ArrayList<>();
+        while (parties.next()) {
+            NoPartySubIDsGroup.Cursor subIds = parties.getPartySubIDsCursor();
+            visited.add(parties.getPartyID() + "/" + subIds.count());
+            while (subIds.next()) {
+                visited.add(subIds.getPartySubID());
+            }
+        }
+        parties.reset();
+
+        // Then
+        assertEquals(List.of("A/2", "S1", "S2", "B/0"), visited);
+        assertTrue(parties.next());
+        assertEquals("A", parties.getPartyID());
+
+        assertEquals(2, message.getParties().getPartyIDsCount());
+        assertEquals("B", message.getParties().getPartyIDs(1).getPartyID());
+        assertEquals("S2", message.getParties().getPartyIDs(0).getPartySubIDs(1).getPartySubID());
+        assertEquals(0, message.getParties().getPartyIDs(1).getPartySubIDsCount());
+        assertThrows(IndexOutOfBoundsException.class, () -> message.getParties().getPartyIDs(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> message.getParties().getPartyIDs(1).getPartySubIDs(0));
+    }
+
+    @Test
+    @DisplayName("Should not allocate when reading group instances by index or through a cursor")
+    void testGroupAccessDoesNotAllocate() {
+        // Given
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        byte[] messageBytes = TestMessages.fix(
+            "35=D\u000149=BUYER\u000156=SELLER\u000134=1\u000152=20230615-14:30:00.000\u000111=1\u0001" +
+            "453=2\u0001448=A\u0001447=D\u0001452=1\u0001802=1\u0001523=S1\u0001803=7\u0001" +
+            "448=B\u0001447=D\u0001452=2\u0001" +
+            "55=IBM\u000154=1\u000160=20230615-14:30:00.000\u000138=100\u0001");
+        NewOrderSingleMessage message = (NewOrderSingleMessage) parser.parseInto(messageBytes, new MutableFixMessage());
+        long sum = sumPartyRoles(message, 100_000);
+
+        // When
+        long before = threads.getCurrentThreadAllocatedBytes();
+        sum += sumPartyRoles(message, 10_000);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // Then
+        assertEquals(110_000 * (1 + 2 + 7 + 1 + 2), sum);
+        assertTrue(allocated < 1024, "Allocated " + allocated + " bytes for 10,000 reads");
+    }
+
+    private static long sumPartyRoles(NewOrderSingleMessage message, int iterations) {
+        long sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            for (int party = 0; party < message.getParties().getPartyIDsCount(); party++) {
+                sum += message.getParties().getPartyIDs(party).getPartyRole();
+            }
+            sum += message.getParties().getPartyIDs(0).getPartySubIDs(0).getPartySubIDType();
+            NoPartyIDsGroup.Cursor parties = message.getParties().getPartyIDsCursor();
+            while (parties.next()) {
+                sum += parties.getPartyRole();
+            }
+        }
+        return sum;
+    }
+
+    @Test
+    @DisplayName("Should re-point the components of a group cursor as it moves")
+    void testGroupCursorComponents() {
+        // Given
+        FixMessageParser lazyParser = new FixMessageParser(spec, FixParserConfig.DEFAULT.withLazyGroups(true));
+        byte[] messageBytes = TestMessages.fix(
+            "35=R\u000149=BUYER\u000156=SELLER\u000134=1\u000152=20230615-14:30:00.000\u0001131=Q1\u0001" +
+            "146=3\u000155=IBM\u000138=100\u000155=MSFT\u000154=2\u000155=AAPL\u000138=300\u000158=done\u0001");
+
+        for (FixMessageParser candidate : List.of(parser, lazyParser)) {
+            // When
+            QuoteRequestMessage message = (QuoteRequestMessage) candidate.parse(messageBytes);
+            NoRelatedSymGroup.Cursor relatedSym = message.getRelatedSymCursor();
+            List<String> symbols = new ArrayList<>();
+            while (relatedSym.next()) {
+                symbols.add(relatedSym.getInstrument().getSymbol());
+            }
+
+            // Then
+            assertEquals(3, relatedSym.count());
+            assertEquals(List.of("IBM", "MSFT", "AAPL"), symbols);
+            NoRelatedSymGroup.Cursor again = message.getRelatedSymCursor();
+            assertTrue(again.next());
+            assertEquals("IBM", again.getInstrument().getSymbol());
+        }
+    }
+
+    @Test
+    @DisplayName("Should build repeating groups on first access in lazy mode")
+    void testLazyGroups() {
+        // Given
+        FixMessageParser lazyParser = new FixMessageParser(spec, FixParserConfig.DEFAULT.withLazyGroups(true));
+        MutableFixMessage holder = new MutableFixMessage();
+        byte[] first = TestMessages.fix(
+            "35=D\u000149=BUYER\u000156=SELLER\u000134=1\u000152=20230615-14:30:00.000\u000111=1\u0001" +
+            "453=2\u0001448=A\u0001447=D\u0001452=1\u0001802=1\u0001523=S1\u0001803=1\u0001" +
+            "448=B\u0001447=D\u0001452=2\u000155=IBM\u000154=1\u000138=100\u0001");
+        byte[] second = TestMessages.fix(
+            "35=D\u000149=BUYER\u000156=SELLER\u000134=2\u000152=20230615-14:30:00.000\u000111=2\u0001" +
+            "453=1\u0001448=C\u0001447=D\u0001452=3\u000155=MSFT\u000154=2\u000138=200\u0001");
+
+        // When
+        NewOrderSingleMessage parsed = (NewOrderSingleMessage) lazyParser.parse(first);
+        String symbol = parsed.getInstrument().getSymbol();
+        NoPartyIDsGroup[] parties = parsed.getParties().getPartyIDs();
+
+        lazyParser.parseInto(first, holder);  // groups never read
+        NewOrderSingleMessage reused = (NewOrderSingleMessage) lazyParser.parseInto(second, holder);
+
+        // Then
+        assertEquals("IBM", symbol);
+        assertEquals(2, parties.length);
+        assertEquals("S1", parties[0].getPartySubIDs()[0].getPartySubID());
+        assertEquals("B", parties[1].getPartyID());
+
+        assertEquals("MSFT", reused.getInstrument().getSymbol());
+        assertEquals(1, reused.getParties().getPartyIDs().length);
+        assertEquals("C", reused.getParties().getPartyIDs()[0].getPartyID());
+        assertEquals(1, holder.segment().segmentCount());
+    }
+
+    @Test
+    @DisplayName("Should stop tokenizing once the routing tags have been read")
+    void testRoutingParse() {
+        // Given
+        FixMessageParser router = new FixMessageParser(spec,
+            FixParserConfig.DEFAULT.withRoutingTags(Set.of(8, 35, 49, 56, 34, 43)));
+        MutableFixMessage holder = new MutableFixMessage();
+        byte[] withPossDup = TestMessages.fix(
+            "35=D\u000149=BUYER\u000156=SELLER\u000134=7\u000143=Y\u000152=20230615-14:30:00.000\u0001" +
+            "11=1\u000155=IBM\u000154=1\u000138=100\u0001");
+        byte[] withoutPossDup = TestMessages.newOrderSingle("2", "MSFT");
+
+        // When
+        NewOrderSingleMessage first = (NewOrderSingleMessage) router.parseInto(withPossDup, holder);
+        int firstFieldCount = holder.underlyingMessage().fieldCount();
+        String firstSender = first.getHeader().getSenderCompID();
+        boolean possDup = first.getHeader().getPossDupFlag();
+        NewOrderSingleMessage second = (NewOrderSingleMessage) router.parseInto(withoutPossDup, holder);
+
+        // Then
+        assertEquals(7, firstFieldCount);
+        assertEquals("BUYER", firstSender);
+        assertTrue(possDup);
+        assertEquals("SELLER", second.getHeader().getTargetCompID());
+        assertEquals(1, second.getHeader().getMsgSeqNum());
+        assertEquals(7, holder.underlyingMessage().fieldCount(), "Tokenizing should stop where the body starts");
+        assertThrows(IllegalArgumentException.class, () -> new FixMessageParser(spec,
+            FixParserConfig.DEFAULT.withRoutingTags(Set.of(55))));
+    }
+
+    @Test
+    @DisplayName("Should read MsgType in routing mode even when the routing tags leave it out or come first")
+    void testRoutingTagsWithoutMsgType() {
+        // Given
+        FixMessageParser router = new FixMessageParser(spec, FixParserConfig.DEFAULT.withRoutingTags(Set.of(8, 49)));
+        MutableFixMessage holder = new MutableFixMessage();
+        byte[] senderFirst = TestMessages.fix(
+            "49=BUYER\u000135=D\u000156=SELLER\u000134=7\u000152=20230615-14:30:00.000\u000111=1\u0001");
+
+        // When
+        NewOrderSingleMessage standard = (NewOrderSingleMessage) router.parseInto(
+            TestMessages.newOrderSingle("1", "IBM"), holder);
+        String standardSender = standard.getHeader().getSenderCompID();
+        NewOrderSingleMessage reordered = (NewOrderSingleMessage) router.parseInto(senderFirst, holder);
+
+        // Then
+        assertEquals("BUYER", standardSender);
+        assertEquals("BUYER", reordered.getHeader().getSenderCompID());
+        assertEquals(4, holder.underlyingMessage().fieldCount(), "Tokenizing should stop once 8, 49 and 35 are read");
+    }
+
+    @Test
+    @DisplayName("Should count a repeated routing tag once")
+    void testRepeatedRoutingTag() {
+        // Given
+        FixMessageParser router = new FixMessageParser(spec,
+            FixParserConfig.DEFAULT.withRoutingTags(Set.of(8, 35, 49, 56)));
+        MutableFixMessage holder = new MutableFixMessage();
+        byte[] repeatedSender = TestMessages.fix(
+            "35=D\u000149=BUYER\u000149=BUYER\u000156=SELLER\u000134=7\u000152=20230615-14:30:00.000\u000111=1\u0001");
+
+        // When
+        NewOrderSingleMessage message = (NewOrderSingleMessage) router.parseInto(repeatedSender, holder);
+
+        // Then
+        assertEquals("SELLER", message.getHeader().getTargetCompID());
+        assertEquals(6, holder.underlyingMessage().fieldCount());
+    }
+
+    @Test
+    @DisplayName("Should skip message types that are not subscribed")
+    void testSubscribedMsgTypes() {
+        // Given
+        FixMessageParser subscriber = new FixMessageParser(spec,
+            FixParserConfig.DEFAULT.withSubscribedMsgTypes(Set.of("D", "BE")));
+        byte[] heartbeat = TestMessages.fix("35=0\u000149=BUYER\u000156=SELLER\u000134=3\u0001");
+        byte[] order = TestMessages.newOrderSingle("1", "IBM");
+        FixStreamDecoder decoder = new FixStreamDecoder(subscriber);
+        List<String> clOrdIds = new ArrayList<>();
+
+        // When
+        int count = decoder.decode(ByteBuffer.wrap(TestMessages.concat(heartbeat, order, heartbeat)),
+            message -> clOrdIds.add(((NewOrderSingleMessage) message).getClOrdID()));
+
+        // Then
+        assertNull(subscriber.parse(heartbeat));
+        assertNull(subscriber.parseInto(heartbeat, new MutableFixMessage()));
+        assertInstanceOf(NewOrderSingleMessage.class, subscriber.parse(order));
+        assertEquals(1, count);
+        assertEquals(List.of("1"), clOrdIds);
+        assertThrows(IllegalArgumentException.class, () -> new FixMessageParser(spec,
+            FixParserConfig.DEFAULT.withSubscribedMsgTypes(Set.of("ZZ"))));
+    }
+
+    @Test
+    @DisplayName("Should accept messages whose BodyLength and CheckSum match their bytes")
+    void testVerifyChecksum() {
+        // Given
+        FixMessageParser verifier = new FixMessageParser(spec, FixParserConfig.DEFAULT.withVerifyChecksum(true));
+        String rawData = "a=b\u0001\u00ff".repeat(100);
+        StringBuilder body = new StringBuilder("35=BE\u000149=SENDER\u000156=TARGET\u000134=15\u0001" +
+            "52=20240115-12:34:56.789\u0001923=REQ12345\u0001924=1\u0001");
+        body.append("95=").append(rawData.length()).append("\u000196=").append(rawData).append('\u0001');
+        for (int i = 0; i < 100; i++) {
+            body.append("58=note ").append(i).append("\u0001");
+        }
+        byte[] large = TestMessages.fix(body.append("553=testuser\u0001").toString());
+        byte[] order = TestMessages.newOrderSingle("1", "IBM");
+
+        // When
+        UserRequestMessage parsed = (UserRequestMessage) verifier.parse(large);
+        NewOrderSingleMessage reused = (NewOrderSingleMessage) verifier.parseInto(order, new MutableFixMessage());
+
+        // Then
+        assertEquals("testuser", parsed.getUsername());
+        assertEquals("1", reused.getClOrdID());
+    }
+
+    @Test
+    @DisplayName("Should reject messages whose BodyLength or CheckSum does not match their bytes")
+    void testRejectCorruptMessages() {
+        // Given
+        FixMessageParser verifier = new FixMessageParser(spec, FixParserConfig.DEFAULT.withVerifyChecksum(true));
+        byte[] order = TestMessages.newOrderSingle("1", "IBM");
+        String text = new String(order, StandardCharsets.ISO_8859_1);
+        byte[] flippedByte = order.clone();
+        flippedByte[text.indexOf("SELLER")] ^= 0x20;  // 's' instead of 'S'
+        byte[] wrongLength = text.replaceFirst("\u00019=\\d+", "\u00019=1").getBytes(StandardCharsets.ISO_8859_1);
+        byte[] noChecksum = Arrays.copyOf(order, order.length - 7);
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> verifier.parse(flippedByte));
+        assertThrows(IllegalArgumentException.class, () -> verifier.parseInto(flippedByte, new MutableFixMessage()));
+        assertThrows(IllegalArgumentException.class, () -> verifier.parse(wrongLength));
+        assertThrows(IllegalArgumentException.class, () -> verifier.parse(noChecksum));
+        assertInstanceOf(NewOrderSingleMessage.class, parser.parse(flippedByte));
+        assertThrows(IllegalArgumentException.class, () -> FixParserConfig.DEFAULT
+            .withRoutingTags(Set.of(Fields.SENDERCOMPID)).withVerifyChecksum(true));
+    }
+
     @Test
     @DisplayName("Should parse UserRequest message with RawData")
     void testParseUserRequestMessage() {
@@ -184,4 +656,520 @@ class FixMessageParserTest {
         assertEquals(1, message.getUserRequestType());
         assertEquals("testuser", message.getUsername());
     }
+
+    @Test
+    @DisplayName("Should parse a large message with delimiters inside a DATA value")
+    void testParseLargeMessageWithDataValue() {
+        // Given
+        StringBuilder fixMessage = new StringBuilder("8=FIX.4.4\u00019=9999\u000135=BE\u000149=SENDER\u0001" +
+            "56=TARGET\u000134=15\u000152=20240115-12:34:56.789\u0001923=REQ12345\u0001924=1\u0001");
+        String rawData = "a=b\u0001".repeat(100);
+        fixMessage.append("95=").append(rawData.length()).append("\u000196=").append(rawData).append('\u0001');
+        for (int i = 0; i < 100; i++) {
+            fixMessage.append("58=note ").append(i).append("=x\u0001");
+        }
+        fixMessage.append("553=testuser\u000110=123\u0001");
+        byte[] messageBytes = fixMessage.toString().getBytes(StandardCharsets.ISO_8859_1);
+
+        // When
+        UserRequestMessage parsed = (UserRequestMessage) parser.parse(messageBytes);
+        UserRequestMessage reused = (UserRequestMessage) parser.parseInto(messageBytes, new MutableFixMessage());
+
+        // Then
+        for (UserRequestMessage message : new UserRequestMessage[]{parsed, reused}) {
+            assertArrayEquals(rawData.getBytes(StandardCharsets.ISO_8859_1), message.getRawData());
+            assertEquals("testuser", message.getUsername());
+            assertEquals("123", message.getTrailer().getCheckSum());
+        }
+    }
+
+    @Test
+    @DisplayName("Should parse into a reusable holder")
+    void testParseIntoReusableHolder() {
+        // Given
+        MutableFixMessage holder = new MutableFixMessage();
+        byte[] groupMessage = """
+            8=FIX.4.4\u00019=200\u000135=D\u000149=BUYER\u000156=SELLER\u000134=1\u0001\
+            52=20230615-14:30:00.000\u000111=123456\u000155=IBM\u000154=1\u000144=150.25\u0001\
+            38=1000\u0001453=2\u0001448=TRADER1\u0001447=D\u0001452=1\u0001\
+            448=TRADER2\u0001447=D\u0001452=2\u000110=128\u0001""".getBytes(StandardCharsets.ISO_8859_1);
+        byte[] userRequest = """
+            8=FIX.4.4\u00019=103\u000135=BE\u000149=SENDER\u000156=TARGET\u000134=16\u0001\
+            52=20240115-12:34:56.789\u0001923=REQ12346\u0001924=1\u0001553=testuser\u0001\
+            10=123\u0001""".getBytes(StandardCharsets.ISO_8859_1);
+        byte[] simpleMessage = """
+            8=FIX.4.4\u00019=176\u000135=D\u000149=BUYER\u000156=SELLER\u000134=7\u0001\
+            52=20230615-14:30:00.000\u000111=654321\u000155=MSFT\u000154=2\u000144=99.5\u0001\
+            38=500\u000110=128\u0001""".getBytes(StandardCharsets.ISO_8859_1);
+
+        // When
+        NewOrderSingleMessage first = (NewOrderSingleMessage) parser.parseInto(groupMessage, holder);
+        assertEquals(2, first.getParties().getPartyIDs().length);
+        assertEquals("TRADER2", first.getParties().getPartyIDs()[1].getPartyID());
+
+        UserRequestMessage second = (UserRequestMessage) parser.parseInto(userRequest, holder);
+        assertEquals("REQ12346", second.getUserRequestID());
+
+        NewOrderSingleMessage third = (NewOrderSingleMessage) parser.parseInto(simpleMessage, holder);
+
+        // Then
+        assertSame(first, third);
+        assertEquals("654321", third.getClOrdID());
+        assertEquals("MSFT", third.getInstrument().getSymbol());
+        assertEquals(99.5, third.getPrice(), 0.001);
+        assertEquals(7, third.getHeader().getMsgSeqNum());
+        assertEquals(0, third.getParties().getPartyIDs().length);
+    }
+
+    @Test
+    @DisplayName("Should parse messages from heap and direct ByteBuffers")
+    void testParseFromByteBuffers() {
+        // Given
+        FixMessageParser verifier = new FixMessageParser(spec, FixParserConfig.DEFAULT.withVerifyChecksum(true));
+        FixMessageParser subscriber = new FixMessageParser(spec, FixParserConfig.DEFAULT.withSubscribedMsgTypes(Set.of("BE")));
+        String rawData = "a=b\u0001\u00ff".repeat(100);
+        StringBuilder body = new StringBuilder("35=BE\u000149=SENDER\u000156=TARGET\u000134=15\u0001" +
+            "52=20240115-12:34:56.789\u0001923=REQ12345\u0001924=1\u0001");
+        body.append("95=").append(rawData.length()).append("\u000196=").append(rawData).append('\u0001');
+        byte[] large = TestMessages.fix(body.append("553=testuser\u0001").toString());
+        byte[] order = TestMessages.newOrderSingle("1", "IBM");
+        MutableFixMessage holder = new MutableFixMessage();
+
+        for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(1024), ByteBuffer.allocateDirect(1024)}) {
+            buffer.position(7).put(large).put(order).position(7).limit(7 + large.length);
+
+            // When
+            UserRequestMessage userRequest = (UserRequestMessage) verifier.parseInto(buffer, holder);
+            byte[] parsedRawData = userRequest.getRawData();
+            String username = userRequest.getUsername();
+            buffer.position(7 + large.length).limit(7 + large.length + order.length);
+            NewOrderSingleMessage newOrder = (NewOrderSingleMessage) verifier.parseInto(buffer, holder);
+            FixMessage skipped = subscriber.parseInto(buffer, holder);
+
+            // Then
+            assertArrayEquals(rawData.getBytes(StandardCharsets.ISO_8859_1), parsedRawData);
+            assertEquals("testuser", username);
+            assertEquals("IBM", newOrder.getInstrument().getSymbol());
+            assertEquals(150.25, newOrder.getPrice());
+            assertEquals(7 + large.length, buffer.position());
+            assertNull(skipped);
+        }
+    }
+
+    @Test
+    @DisplayName("Should read a direct buffer in place, without copying or allocating")
+    void testParseDirectBufferInPlace() {
+        // Given
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        FixMessageParser verifier = new FixMessageParser(spec, FixParserConfig.DEFAULT.withVerifyChecksum(true));
+        byte[] order = TestMessages.fix(
+            "35=D\u000149=BUYER\u000156=SELLER\u000134=1\u000152=20230615-14:30:00.000\u000111=ORD-1\u0001" +
+            "453=2\u0001448=A\u0001447=D\u0001452=1\u0001448=B\u0001447=D\u0001452=2\u0001" +
+            "55=IBM\u000154=1\u000160=20230615-14:30:00.000\u000144=150.25\u000138=100\u0001");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(order.length).put(order).flip();
+        MutableFixMessage holder = new MutableFixMessage();
+        long sum = 0;
+        for (int i = 0; i < 100_000; i++) {
+            sum += readDirect(verifier.parseInto(buffer, holder));
+        }
+
+        // When
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 10_000; i++) {
+            sum += readDirect(verifier.parseInto(buffer, holder));
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        NewOrderSingleMessage message = (NewOrderSingleMessage) parser.parseInto(buffer, holder);
+        int clOrdIdEnd = new String(order, StandardCharsets.ISO_8859_1).indexOf("11=ORD-1\u0001") + "11=ORD-1".length();
+        buffer.put(clOrdIdEnd - 1, (byte) '2');
+
+        // Then
+        assertNotEquals(0, sum);
+        assertTrue(allocated < 1024, "Allocated " + allocated + " bytes for 10,000 parses");
+        assertSame(buffer, holder.underlyingMessage().bytes().buffer());
+        assertEquals("ORD-2", message.getClOrdID(), "The getter should read the buffer, not a copy of it");
+        assertEquals(2, message.getParties().getPartyIDsCount());
+        assertEquals("B", message.getParties().getPartyIDs(1).getPartyID());
+    }
+
+    private static long readDirect(FixMessage parsed) {
+        NewOrderSingleMessage message = (NewOrderSingleMessage) parsed;
+        long sum = message.getPriceAsDecimal(2) + message.getHeader().getSendingTimeEpochNanos()
+            + message.getClOrdIDView().hashCode() + message.getSide();
+        NoPartyIDsGroup.Cursor parties = message.getParties().getPartyIDsCursor();
+        while (parties.next()) {
+            sum += parties.getPartyRole();
+        }
+        return sum;
+    }
+
+    @Test
+    @DisplayName("Should look up fields through the tag index")
+    void testParseWithTagIndex() {
+        // Given
+        FixMessageParser indexedParser = new FixMessageParser(spec, FixParserConfig.DEFAULT.withTagIndex(true));
+        MutableFixMessage holder = new MutableFixMessage();
+        byte[] groupMessage = """
+            8=FIX.4.4\u00019=200\u000135=D\u000149=BUYER\u000156=SELLER\u000134=1\u0001\
+            52=20230615-14:30:00.000\u000111=123456\u000155=IBM\u000154=1\u000144=150.25\u0001\
+            38=1000\u0001453=2\u0001448=TRADER1\u0001447=D\u0001452=1\u0001\
+            448=TRADER2\u0001447=D\u0001452=2\u000110=128\u0001""".getBytes(StandardCharsets.ISO_8859_1);
+        byte[] simpleMessage = """
+            8=FIX.4.4\u00019=176\u000135=D\u000149=BUYER\u000156=SELLER\u000134=7\u0001\
+            52=20230615-14:30:00.000\u000111=654321\u000155=MSFT\u000154=2\u000144=99.5\u0001\
+            38=500\u000110=128\u0001""".getBytes(StandardCharsets.ISO_8859_1);
+
+        // When
+        NewOrderSingleMessage parsed = (NewOrderSingleMessage) indexedParser.parse(groupMessage);
+        indexedParser.parseInto(groupMessage, holder);
+        NewOrderSingleMessage reused = (NewOrderSingleMessage) indexedParser.parseInto(simpleMessage, holder);
+
+        // Then
+        NoPartyIDsGroup[] parties = parsed.getParties().getPartyIDs();
+        assertEquals(2, parties.length);
+        assertEquals("TRADER1", parties[0].getPartyID());
+        assertEquals(1, parties[0].getPartyRole());
+        assertEquals("TRADER2", parties[1].getPartyID());
+        assertEquals(2, parties[1].getPartyRole());
+        assertEquals("IBM", parsed.getInstrument().getSymbol());
+        assertEquals("128", parsed.getTrailer().getCheckSum());
+
+        assertEquals("654321", reused.getClOrdID());
+        assertEquals("MSFT", reused.getInstrument().getSymbol());
+        assertEquals(7, reused.getHeader().getMsgSeqNum());
+        assertEquals(0, reused.getParties().getPartyIDs().length);
+    }
+
+    @Test
+    @DisplayName("Should decode decimal fields as fixed-point values")
+    void testDecodeDecimalFields() {
+        // Given
+        MutableFixMessage holder = new MutableFixMessage();
+        String[][] cases = {
+            // price, scale, expected
+            {"150.25", "4", "1502500"},
+            {"150", "2", "15000"},
+            {"-0.5", "1", "-5"},
+            {"0.00015", "4", "2"},
+            {"-0.00014", "4", "-1"},
+            {"99.999", "0", "100"},
+            {".5", "3", "500"},
+        };
+
+        for (String[] c : cases) {
+            byte[] messageBytes = TestMessages.fix(
+                "35=D\u000149=BUYER\u000156=SELLER\u000134=1\u000152=20230615-14:30:00.000\u0001" +
+                "11=1\u000155=IBM\u000154=1\u000144=" + c[0] + "\u000138=1000\u0001");
+
+            // When
+            NewOrderSingleMessage message = (NewOrderSingleMessage) parser.parseInto(messageBytes, holder);
+
+            // Then
+            assertEquals(Long.parseLong(c[2]), message.getPriceAsDecimal(Integer.parseInt(c[1])), c[0] + " at scale " + c[1]);
+            assertEquals(1000_00L, message.getOrderQtyData().getOrderQtyAsDecimal(2));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject decimals that do not fit in a long")
+    void testDecimalOverflow() {
+        // Given
+        byte[] messageBytes = TestMessages.fix(
+            "35=D\u000149=BUYER\u000156=SELLER\u000134=1\u000152=20230615-14:30:00.000\u0001" +
+            "11=1\u000155=IBM\u000154=1\u000144=92233720368547758.08\u000138=1000\u0001");
+
+        // When
+        NewOrderSingleMessage message = (NewOrderSingleMessage) parser.parse(messageBytes);
+
+        // Then
+        assertEquals(92233720368547758L, message.getPriceAsDecimal(0));
+        assertThrows(ArithmeticException.class, () -> message.getPriceAsDecimal(2));
+        assertThrows(IllegalArgumentException.class, () -> message.getPriceAsDecimal(19));
+    }
+
+    @Test
+    @DisplayName("Should decode FIX timestamps and dates to primitives")
+    void testDecodeTimestamps() {
+        // Given
+        byte[] messageBytes = TestMessages.fix(
+            "35=D\u000149=BUYER\u000156=SELLER\u000134=1\u000152=20230615-14:30:00.123\u0001" +
+            "11=1\u000155=IBM\u000154=1\u000160=20240229-23:59:59.123456789\u000164=20240301\u0001" +
+            "168=19691231-23:59:59.999999\u000138=1000\u0001");
+
+        // When
+        NewOrderSingleMessage message = (NewOrderSingleMessage) parser.parse(messageBytes);
+
+        // Then
+        Instant sendingTime = Instant.parse("2023-06-15T14:30:00.123Z");
+        assertEquals(sendingTime.toEpochMilli(), message.getHeader().getSendingTimeEpochMillis());
+        assertEquals(sendingTime, message.getHeader().getSendingTime());
+
+        Instant transactTime = Instant.parse("2024-02-29T23:59:59.123456789Z");
+        assertEquals(transactTime.getEpochSecond() * 1_000_000_000L + transactTime.getNano(), message.getTransactTimeEpochNanos());
+        assertEquals(transactTime.getEpochSecond() * 1_000_000L + 123_456, message.getTransactTimeEpochMicros());
+        assertEquals(transactTime.toEpochMilli(), message.getTransactTimeEpochMillis());
+
+        assertEquals(Instant.parse("1969-12-31T23:59:59.999999Z"), message.getEffectiveTime());
+        assertEquals(20240301, message.getSettlDateAsInt());
+        assertEquals(LocalDate.of(2024, 3, 1), message.getSettlDate());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed timestamps")
+    void testRejectMalformedTimestamps() {
+        // Given
+        String[] timestamps = {"2023-06-15T14:30:00Z", "20230615-14:30", "20230615-24:00:00", "20231315-14:30:00",
+            "20230615-14:30:00.", "20230615-14:30:00.1234567890", "20230231-14:30:00", "20230229-14:30:00",
+            "19000229-14:30:00", "20230431-14:30:00", "20230600-14:30:00", "20230615-14:30:61"};
+
+        for (String timestamp : timestamps) {
+            byte[] messageBytes = TestMessages.fix(
+                "35=D\u000149=BUYER\u000156=SELLER\u000134=1\u000152=" + timestamp + "\u0001" +
+                "11=1\u000155=IBM\u000154=1\u000138=1000\u0001");
+
+            // When
+            NewOrderSingleMessage message = (NewOrderSingleMessage) parser.parse(messageBytes);
+
+            // Then
+            assertThrows(IllegalArgumentException.class, () -> message.getHeader().getSendingTimeEpochNanos(), timestamp);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject dates past the end of their month")
+    void testRejectInvalidDates() {
+        for (String date : new String[]{"20230231", "20230229", "21000229", "20230931", "20230001", "20231232"}) {
+            // Given
+            byte[] messageBytes = TestMessages.fix(
+                "35=D\u000149=BUYER\u000156=SELLER\u000134=1\u000152=20230615-14:30:00\u0001" +
+                "11=1\u000155=IBM\u000154=1\u000164=" + date + "\u000138=1000\u0001");
+
+            // When
+            NewOrderSingleMessage message = (NewOrderSingleMessage) parser.parse(messageBytes);
+
+            // Then
+            assertThrows(IllegalArgumentException.class, message::getSettlDateAsInt, date);
+            assertThrows(IllegalArgumentException.class, message::getSettlDate, date);
+        }
+    }
+
+    @Test
+    @DisplayName("Should read a leap second as the second before it")
+    void testLeapSecond() {
+        // Given
+        byte[] messageBytes = TestMessages.fix(
+            "35=W\u000149=SELLER\u000156=BUYER\u000134=1\u000152=20161231-23:59:60.500\u000155=IBM\u0001" +
+            "268=1\u0001269=0\u0001272=20000229\u0001273=23:59:60.25\u0001");
+
+        // When
+        var message = (MarketDataSnapshotFullRefreshMessage) parser.parse(messageBytes);
+
+        // Then
+        assertEquals(Instant.parse("2016-12-31T23:59:60.500Z"), message.getHeader().getSendingTime());
+        assertEquals(LocalDate.of(2000, 2, 29), message.getMDEntries(0).getMDEntryDate());
+        assertEquals(LocalTime.of(23, 59, 59, 250_000_000), message.getMDEntries(0).getMDEntryTime());
+    }
+
+    @Test
+    @DisplayName("Should return the same String for repeated values of interned fields")
+    void testInternedFields() {
+        // Given
+        MutableFixMessage holder = new MutableFixMessage();
+        byte[] first = TestMessages.newOrderSingle("1", "IBM");
+        byte[] second = TestMessages.newOrderSingle("2", "IBM");
+
+        // When
+        NewOrderSingleMessage message = (NewOrderSingleMessage) parser.parseInto(first, holder);
+        String symbol = message.getInstrument().getSymbol();
+        String sender = message.getHeader().getSenderCompID();
+        String clOrdId = message.getClOrdID();
+        message = (NewOrderSingleMessage) parser.parseInto(second, holder);
+
+        // Then
+        assertEquals("IBM", symbol);
+        assertSame(symbol, message.getInstrument().getSymbol());
+        assertSame(sender, message.getHeader().getSenderCompID());
+        assertNotSame(clOrdId, message.getClOrdID());
+    }
+
+    @Test
+    @DisplayName("Should stay correct when a full intern cache evicts entries")
+    void testStringCacheEviction() {
+        // Given
+        StringCache cache = new StringCache(16);
+        byte[] array = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".getBytes(StandardCharsets.ISO_8859_1);
+        MessageBytes bytes = new MessageBytes(array);
+
+        // When
+        String first = cache.intern(bytes, 0, 3);
+        for (int i = 0; i < array.length - 2; i++) {
+            for (int length = 1; length <= 3; length++) {
+                assertEquals(new String(array, i, length, StandardCharsets.ISO_8859_1), cache.intern(bytes, i, length));
+            }
+        }
+
+        // Then
+        assertEquals(16, cache.capacity());
+        assertEquals("012", first);
+        assertEquals("012", cache.intern(bytes, 0, 3));
+    }
+
+    @Test
+    @DisplayName("Should read string fields through reusable views")
+    void testStringViews() {
+        // Given
+        byte[] messageBytes = TestMessages.fix(
+            "35=D\u000149=BUYER\u000156=SELLER\u000134=1\u000152=20230615-14:30:00.000\u0001" +
+            "11=ORD-42\u000155=Caf\u00e9\u000154=1\u000138=1000\u0001");
+        NewOrderSingleMessage message = (NewOrderSingleMessage) parser.parse(messageBytes);
+        AsciiSequence clOrdId = new AsciiSequence();
+
+        // When
+        message.getClOrdIDView(clOrdId);
+        AsciiSequence symbol = message.getInstrument().getSymbolView();
+
+        // Then
+        assertTrue(clOrdId.contentEquals("ORD-42"));
+        assertTrue(clOrdId.contentEquals("ORD-42".getBytes(StandardCharsets.ISO_8859_1)));
+        assertTrue(clOrdId.startsWith("ORD-"));
+        assertFalse(clOrdId.startsWith("ORD-420"));
+        assertEquals("ORD-42".hashCode(), clOrdId.hashCode());
+        assertEquals("ORD-42", clOrdId.toString());
+        assertEquals("42", clOrdId.subSequence(4, 6).toString());
+        assertEquals(new AsciiSequence("xORD-42".getBytes(StandardCharsets.ISO_8859_1), 1, 6), clOrdId);
+
+        assertTrue(symbol.contentEquals("Caf\u00e9"));
+        assertEquals("Caf\u00e9", message.getInstrument().getSymbol());
+        assertSame(symbol, message.getInstrument().getSymbolView());
+    }
+
+    @Test
+    @DisplayName("Should decode numeric fields directly from the raw bytes")
+    void testDecodeNumericFields() {
+        // Given
+        String[] prices = {"150.25", "0.0001", "-12.5", "100", "100.", ".5", "0", "123456789.123456", "1.00000000000000000001"};
+        MutableFixMessage holder = new MutableFixMessage();
+
+        for (String price : prices) {
+            byte[] messageBytes = TestMessages.fix(
+                "35=D\u000149=BUYER\u000156=SELLER\u000134=4294967296\u000152=20230615-14:30:00.000\u0001" +
+                "11=1\u000155=IBM\u000154=1\u000144=" + price + "\u000138=1000\u0001");
+
+            // When
+            NewOrderSingleMessage message = (NewOrderSingleMessage) parser.parseInto(messageBytes, holder);
+
+            // Then
+            assertEquals(Double.parseDouble(price), message.getPrice(), price);
+            assertEquals(4294967296L, message.getHeader().getMsgSeqNumAsLong());
+            assertThrows(NumberFormatException.class, () -> message.getHeader().getMsgSeqNum());
+            assertEquals('1', message.getSide());
+        }
+    }
+
+    @Test
+    @DisplayName("Should not allocate when reading numeric, timestamp and string view fields")
+    void testNumericGettersDoNotAllocate() {
+        // Given
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        NewOrderSingleMessage message = (NewOrderSingleMessage) parser.parse(TestMessages.newOrderSingle("1", "IBM"));
+        double sum = 0;
+        for (int i = 0; i < 100_000; i++) {
+            sum += message.getPrice() + message.getHeader().getMsgSeqNum() + message.getHeader().getBodyLength()
+                + message.getHeader().getSendingTimeEpochNanos() + message.getInstrument().getSymbolView().hashCode();
+        }
+
+        // When
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 10_000; i++) {
+            sum += message.getPrice() + message.getHeader().getMsgSeqNum() + message.getHeader().getBodyLength()
+                + message.getHeader().getSendingTimeEpochNanos() + message.getInstrument().getSymbolView().hashCode();
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // Then
+        assertTrue(sum > 0);
+        assertTrue(allocated < 1024, "Allocated " + allocated + " bytes for 10,000 reads");
+    }
+
+    @Test
+    @DisplayName("Should reuse cached component wrappers across parses into the same holder")
+    void testCachedComponentWrappers() {
+        // Given
+        MutableFixMessage holder = new MutableFixMessage();
+
+        // When
+        NewOrderSingleMessage first = (NewOrderSingleMessage) parser.parseInto(TestMessages.newOrderSingle("1", "IBM"), holder);
+        Header header = first.getHeader();
+        InstrumentComponent instrument = first.getInstrument();
+        NewOrderSingleMessage second = (NewOrderSingleMessage) parser.parseInto(TestMessages.newOrderSingle("2", "MSFT"), holder);
+
+        // Then
+        assertSame(first, second);
+        assertSame(header, second.getHeader());
+        assertSame(instrument, second.getInstrument());
+        assertEquals("MSFT", instrument.getSymbol());
+        assertEquals("2", second.getClOrdID());
+    }
+
+    @Test
+    @DisplayName("Should not allocate when iterating repeating groups through cursors")
+    void testGroupCursorsDoNotAllocate() {
+        // Given
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        NewOrderSingleMessage message = (NewOrderSingleMessage) parser.parse(TestMessages.fix(
+            "35=D\u000149=BUYER\u000156=SELLER\u000134=1\u000152=20230615-14:30:00.000\u000111=1\u0001" +
+            "453=3\u0001448=A\u0001447=D\u0001452=1\u0001448=B\u0001447=D\u0001452=2\u0001448=C\u0001447=D\u0001452=3\u0001" +
+            "55=IBM\u000154=1\u000160=20230615-14:30:00.000\u000138=100\u0001"));
+        long sum = 0;
+        for (int i = 0; i < 100_000; i++) {
+            sum += sumPartyRoles(message);
+        }
+
+        // When
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 10_000; i++) {
+            sum += sumPartyRoles(message);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // Then
+        assertEquals(110_000 * 6, sum);
+        assertTrue(allocated < 1024, "Allocated " + allocated + " bytes for 10,000 iterations");
+    }
+
+    private static long sumPartyRoles(NewOrderSingleMessage message) {
+        long sum = 0;
+        NoPartyIDsGroup.Cursor parties = message.getParties().getPartyIDsCursor();
+        while (parties.next()) {
+            sum += parties.getPartyRole();
+        }
+        return sum;
+    }
+
+    @Test
+    @DisplayName("Should not allocate when parsing into a warmed-up holder")
+    void testParseIntoDoesNotAllocate() {
+        // Given
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        MutableFixMessage holder = new MutableFixMessage();
+        byte[] messageBytes = """
+            8=FIX.4.4\u00019=200\u000135=D\u000149=BUYER\u000156=SELLER\u000134=1\u0001\
+            52=20230615-14:30:00.000\u000111=123456\u000155=IBM\u000154=1\u000144=150.25\u0001\
+            38=1000\u0001453=2\u0001448=TRADER1\u0001447=D\u0001452=1\u0001\
+            448=TRADER2\u0001447=D\u0001452=2\u000110=128\u0001""".getBytes(StandardCharsets.ISO_8859_1);
+        // Long enough for C2 to compile the Vector API scan, whose vectors are only scalarized once compiled
+        for (int i = 0; i < 200_000; i++) {
+            parser.parseInto(messageBytes, holder);
+        }
+
+        // When
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 10_000; i++) {
+            parser.parseInto(messageBytes, holder);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // Then
+        assertTrue(allocated < 1024, "Allocated " + allocated + " bytes for 10,000 parses");
+    }
 }
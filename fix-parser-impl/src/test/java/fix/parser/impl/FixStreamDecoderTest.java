@@ -0,0 +1,132 @@
+package fix.parser.impl;
+
+import fix.parser.messages44.NewOrderSingleMessage;
+import fix.parser.spec.FixSpec;
+import fix.parser.spec.FixSpecParser;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static fix.parser.impl.TestMessages.concat;
+import static fix.parser.impl.TestMessages.newOrderSingle;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixStreamDecoderTest {
+    private static FixMessageParser parser;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        File specFile = new File("../fix-parser-messages44/src/main/resources/FIX44.xml");
+        FixSpecParser specParser = new FixSpecParser(specFile);
+        FixSpec spec = specParser.parse();
+        parser = new FixMessageParser(spec);
+    }
+
+    @Test
+    @DisplayName("Should decode several messages from one buffer")
+    void testDecodeSeveralMessagesPerRead() {
+        // Given
+        FixStreamDecoder decoder = new FixStreamDecoder(parser);
+        byte[] stream = concat(newOrderSingle("1", "IBM"), newOrderSingle("2", "MSFT"), newOrderSingle("3", "AAPL"));
+        List<String> clOrdIds = new ArrayList<>();
+
+        // When
+        int count = decoder.decode(ByteBuffer.wrap(stream),
+            message -> clOrdIds.add(((NewOrderSingleMessage) message).getClOrdID()));
+
+        // Then
+        assertEquals(3, count);
+        assertEquals(List.of("1", "2", "3"), clOrdIds);
+        assertEquals(0, decoder.bufferedBytes());
+    }
+
+    @Test
+    @DisplayName("Should decode messages split across reads")
+    void testDecodePartialMessages() {
+        // Given
+        FixStreamDecoder decoder = new FixStreamDecoder(parser, 16);
+        byte[] stream = concat(newOrderSingle("1", "IBM"), newOrderSingle("2", "MSFT"));
+        List<String> symbols = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < stream.length; i += 7) {
+            ByteBuffer chunk = ByteBuffer.allocateDirect(Math.min(7, stream.length - i));
+            chunk.put(stream, i, chunk.capacity()).flip();
+            decoder.decode(chunk,
+                message -> symbols.add(((NewOrderSingleMessage) message).getInstrument().getSymbol()));
+        }
+
+        // Then
+        assertEquals(List.of("IBM", "MSFT"), symbols);
+        assertEquals(0, decoder.bufferedBytes());
+    }
+
+    @Test
+    @DisplayName("Should parse the frames of a direct buffer in place, buffering only a trailing partial message")
+    void testDecodeDirectBuffer() {
+        // Given
+        FixStreamDecoder decoder = new FixStreamDecoder(parser);
+        byte[] third = newOrderSingle("3", "AAPL");
+        byte[] stream = concat(newOrderSingle("1", "IBM"), newOrderSingle("2", "MSFT"), third,
+            newOrderSingle("4", "GOOG"));
+        int split = stream.length - newOrderSingle("4", "GOOG").length - third.length / 2;
+        List<String> clOrdIds = new ArrayList<>();
+
+        // When
+        int first = decoder.decode(direct(stream, 0, split),
+            message -> clOrdIds.add(((NewOrderSingleMessage) message).getClOrdID()));
+        int buffered = decoder.bufferedBytes();
+        int second = decoder.decode(direct(stream, split, stream.length),
+            message -> clOrdIds.add(((NewOrderSingleMessage) message).getClOrdID()));
+
+        // Then
+        assertEquals(2, first);
+        assertEquals(third.length - third.length / 2, buffered);
+        assertEquals(2, second);
+        assertEquals(List.of("1", "2", "3", "4"), clOrdIds);
+        assertEquals(0, decoder.bufferedBytes());
+    }
+
+    @Test
+    @DisplayName("Should decode messages read from a channel")
+    void testReadFromChannel() throws Exception {
+        // Given
+        FixStreamDecoder decoder = new FixStreamDecoder(parser, 64);
+        byte[] stream = concat(newOrderSingle("1", "IBM"), newOrderSingle("2", "MSFT"), newOrderSingle("3", "AAPL"));
+        ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(stream));
+        List<String> clOrdIds = new ArrayList<>();
+
+        // When
+        while (decoder.read(channel, message -> clOrdIds.add(((NewOrderSingleMessage) message).getClOrdID())) >= 0) {
+            // keep reading until end of stream
+        }
+
+        // Then
+        assertEquals(List.of("1", "2", "3"), clOrdIds);
+    }
+
+    @Test
+    @DisplayName("Should reject a stream that is not on a message boundary")
+    void testRejectMisalignedStream() {
+        // Given
+        FixStreamDecoder decoder = new FixStreamDecoder(parser);
+        byte[] stream = "35=D\u000149=BUYER\u0001".getBytes(StandardCharsets.ISO_8859_1);
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(ByteBuffer.wrap(stream), message -> {
+        }));
+    }
+
+    private static ByteBuffer direct(byte[] bytes, int from, int to) {
+        return ByteBuffer.allocateDirect(to - from).put(bytes, from, to - from).flip();
+    }
+}
@@ -0,0 +1,186 @@
+package fix.parser.impl;
+
+import fix.parser.message.base.HeaderAmender;
+import fix.parser.message.base.MutableFixMessage;
+import fix.parser.message.base.UnderlyingMessage;
+import fix.parser.messages44.Fields;
+import fix.parser.messages44.NewOrderSingleMessage;
+import fix.parser.spec.FixSpec;
+import fix.parser.spec.FixSpecParser;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeaderAmenderTest {
+    private static final String ORDER_BODY = "11=1\u000155=IBM\u000154=1\u000144=150.25\u000138=1000\u0001";
+
+    private static FixSpec spec;
+    private static FixMessageParser verifyingParser;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        spec = new FixSpecParser(new File("../fix-parser-messages44/src/main/resources/FIX44.xml")).parse();
+        verifyingParser = new FixMessageParser(spec, FixParserConfig.DEFAULT.withVerifyChecksum(true));
+    }
+
+    @Test
+    @DisplayName("Should splice replaced and added header fields with a correct BodyLength and CheckSum")
+    void testAmendHeader() {
+        // Given
+        MutableFixMessage holder = new MutableFixMessage();
+        verifyingParser.parseInto(TestMessages.newOrderSingle("1", "IBM"), holder);
+        long sendingTime = Instant.parse("2024-01-02T03:04:05.678Z").toEpochMilli();
+        byte[] target = new byte[512];
+
+        // When
+        int length = new HeaderAmender(spec).wrap(holder.underlyingMessage())
+            .set(Fields.SENDERCOMPID, "ROUTER")
+            .set(Fields.TARGETCOMPID, "EXCHANGE")
+            .setLong(Fields.MSGSEQNUM, 12345)
+            .setEpochMillis(Fields.SENDINGTIME, sendingTime)
+            .set(Fields.ONBEHALFOFCOMPID, "BUYER")
+            .writeTo(target, 0);
+
+        // Then
+        byte[] expected = TestMessages.fix("35=D\u0001115=BUYER\u000149=ROUTER\u000156=EXCHANGE\u000134=12345\u0001" +
+            "52=20240102-03:04:05.678\u0001" + ORDER_BODY);
+        assertEquals(new String(expected, StandardCharsets.ISO_8859_1),
+            new String(target, 0, length, StandardCharsets.ISO_8859_1));
+        NewOrderSingleMessage message = (NewOrderSingleMessage) verifyingParser.parse(Arrays.copyOf(target, length));
+        assertEquals("BUYER", message.getHeader().getOnBehalfOfCompID());
+    }
+
+    @Test
+    @DisplayName("Should amend a message parsed only up to its routing tags")
+    void testAmendRoutingParse() {
+        // Given
+        FixMessageParser router = new FixMessageParser(spec,
+            FixParserConfig.DEFAULT.withRoutingTags(Set.of(8, 35, 49, 56, 34)));
+        MutableFixMessage holder = new MutableFixMessage();
+        byte[] stream = TestMessages.concat(TestMessages.newOrderSingle("1", "IBM"), TestMessages.newOrderSingle("2", "MSFT"));
+        router.parseInto(stream, 0, stream.length / 2, holder);
+        byte[] target = new byte[512];
+
+        // When
+        int length = new HeaderAmender(spec).wrap(holder.underlyingMessage())
+            .set(Fields.TARGETCOMPID, "X")
+            .setLong(Fields.MSGSEQNUM, 9)
+            .writeTo(target, 0);
+
+        // Then
+        byte[] expected = TestMessages.fix("35=D\u000149=BUYER\u000156=X\u000134=9\u0001" +
+            "52=20230615-14:30:00.000\u0001" + ORDER_BODY);
+        assertArrayEquals(expected, Arrays.copyOf(target, length));
+    }
+
+    @Test
+    @DisplayName("Should amend a message routed from a direct buffer")
+    void testAmendFromDirectBuffer() {
+        // Given
+        FixMessageParser router = new FixMessageParser(spec,
+            FixParserConfig.DEFAULT.withRoutingTags(Set.of(8, 35, 49, 56)));
+        MutableFixMessage holder = new MutableFixMessage();
+        StringBuilder body = new StringBuilder("35=D\u000149=BUYER\u000156=SELLER\u000134=1\u0001" +
+            "52=20230615-14:30:00.000\u0001");
+        for (int i = 0; i < 50; i++) {
+            body.append("58=padding beyond the first scan window ").append(i).append('\u0001');
+        }
+        String tail = body.substring("35=D\u000149=BUYER\u000156=SELLER\u0001".length());
+        ByteBuffer source = ByteBuffer.allocateDirect(4096).put(TestMessages.fix(body.toString())).flip();
+        ByteBuffer target = ByteBuffer.allocateDirect(4096);
+        router.parseInto(source, holder);
+
+        // When
+        new HeaderAmender(spec).wrap(holder.underlyingMessage()).set(Fields.TARGETCOMPID, "EXCHANGE").writeTo(target);
+
+        // Then
+        byte[] written = new byte[target.flip().remaining()];
+        target.get(written);
+        assertArrayEquals(TestMessages.fix("35=D\u000149=BUYER\u000156=EXCHANGE\u0001" + tail), written);
+    }
+
+    @Test
+    @DisplayName("Should add a header field missing from a large message without searching its body")
+    void testAddAbsentFieldToLargeMessage() {
+        // Given a body of a thousand fields that repeats a header tag after the header has ended
+        StringBuilder body = new StringBuilder("11=1\u000155=IBM\u000154=1\u0001");
+        for (int i = 0; i < 1000; i++) {
+            body.append("58=text ").append(i).append('\u0001');
+        }
+        body.append("115=NOT-IN-HEADER\u0001");
+        String header = "35=D\u000149=BUYER\u000156=SELLER\u000134=1\u000152=20230615-14:30:00.000\u0001";
+        MutableFixMessage holder = new MutableFixMessage();
+        new FixMessageParser(spec).parseInto(TestMessages.fix(header + body), holder);
+        byte[] target = new byte[64 * 1024];
+
+        // When
+        int length = new HeaderAmender(spec).wrap(holder.underlyingMessage())
+            .set(Fields.ONBEHALFOFCOMPID, "BUYER")
+            .writeTo(target, 0);
+
+        // Then the field is inserted after MsgType and the body field is left alone
+        byte[] expected = TestMessages.fix("35=D\u0001115=BUYER\u0001" + header.substring("35=D\u0001".length()) + body);
+        assertArrayEquals(expected, Arrays.copyOf(target, length));
+    }
+
+    @Test
+    @DisplayName("Should remove fields and keep only the last value set for a tag")
+    void testRemoveAndOverride() {
+        // Given
+        MutableFixMessage holder = new MutableFixMessage();
+        verifyingParser.parseInto(TestMessages.newOrderSingle("1", "IBM"), holder);
+        HeaderAmender amender = new HeaderAmender(spec);
+
+        // When
+        int length = amender.wrap(holder.underlyingMessage())
+            .set(Fields.SENDERCOMPID, "FIRST")
+            .remove(Fields.SENDINGTIME)
+            .set(Fields.DELIVERTOCOMPID, "NOBODY")
+            .remove(Fields.DELIVERTOCOMPID)
+            .set(Fields.SENDERCOMPID, "SECOND")
+            .remove(Fields.POSSDUPFLAG)
+            .writeTo(ByteBuffer.wrap(new byte[512]));
+        ByteBuffer direct = ByteBuffer.allocateDirect(512).position(3);
+        int directLength = amender.writeTo(direct);
+
+        // Then
+        byte[] expected = TestMessages.fix("35=D\u000149=SECOND\u000156=SELLER\u000134=1\u0001" + ORDER_BODY);
+        assertEquals(expected.length, length);
+        assertEquals(expected.length, directLength);
+        assertEquals(3 + directLength, direct.position());
+        byte[] written = new byte[directLength];
+        direct.get(3, written);
+        assertArrayEquals(expected, written);
+    }
+
+    @Test
+    @DisplayName("Should reject framing fields and messages without a CheckSum where BodyLength says")
+    void testRejectInvalidAmendments() {
+        // Given
+        MutableFixMessage holder = new MutableFixMessage();
+        verifyingParser.parseInto(TestMessages.newOrderSingle("1", "IBM"), holder);
+        HeaderAmender amender = new HeaderAmender(spec).wrap(holder.underlyingMessage());
+        String valid = new String(TestMessages.newOrderSingle("1", "IBM"), StandardCharsets.ISO_8859_1);
+        int bodyLength = valid.indexOf("\u000110=") - valid.indexOf("\u000135=");
+        byte[] wrongLength = valid.replace("9=" + bodyLength, "9=" + (bodyLength - 1)).getBytes(StandardCharsets.ISO_8859_1);
+        MutableFixMessage wrongHolder = new MutableFixMessage();
+        new FixMessageParser(spec).parseInto(wrongLength, wrongHolder);
+        HeaderAmender wrongAmender = new HeaderAmender(spec).wrap(wrongHolder.underlyingMessage());
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> amender.set(Fields.MSGTYPE, "8"));
+        assertThrows(IllegalArgumentException.class, () -> amender.setLong(Fields.BODYLENGTH, 1));
+        assertThrows(IllegalArgumentException.class, () -> amender.set(Fields.SYMBOL, "MSFT"));
+        assertThrows(IllegalArgumentException.class, () -> amender.set(Fields.HOPCOMPID, "HOP"));
+        assertThrows(IllegalArgumentException.class, () -> wrongAmender.writeTo(new byte[512], 0));
+    }
+}
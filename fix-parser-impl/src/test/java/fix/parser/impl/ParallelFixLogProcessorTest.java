@@ -0,0 +1,84 @@
+package fix.parser.impl;
+
+import fix.parser.messages44.NewOrderSingleMessage;
+import fix.parser.spec.FixSpec;
+import fix.parser.spec.FixSpecParser;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static fix.parser.impl.TestMessages.newOrderSingle;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelFixLogProcessorTest {
+    private static final int MESSAGE_COUNT = 2_000;
+
+    private static FixMessageParser parser;
+    private static ForkJoinPool pool;
+
+    @TempDir
+    static Path tempDir;
+    private static Path file;
+    private static List<String> expectedClOrdIds;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        File specFile = new File("../fix-parser-messages44/src/main/resources/FIX44.xml");
+        FixSpecParser specParser = new FixSpecParser(specFile);
+        FixSpec spec = specParser.parse();
+        parser = new FixMessageParser(spec);
+        pool = new ForkJoinPool(4);
+
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        expectedClOrdIds = new ArrayList<>();
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            log.write(newOrderSingle(String.valueOf(i), "IBM"));
+            log.write('\n');
+            expectedClOrdIds.add(String.valueOf(i));
+        }
+        file = Files.write(tempDir.resolve("fix.log"), log.toByteArray());
+    }
+
+    @Test
+    @DisplayName("Should keep file order when mapping chunks in parallel")
+    void testMapKeepsOrder() throws Exception {
+        // Given
+        ParallelFixLogProcessor processor = new ParallelFixLogProcessor(parser, pool, 1000);
+
+        // When
+        List<String> clOrdIds = processor.map(file, message -> ((NewOrderSingleMessage) message).getClOrdID());
+
+        // Then
+        assertEquals(expectedClOrdIds, clOrdIds);
+    }
+
+    @Test
+    @DisplayName("Should reduce every message exactly once whatever the chunk size")
+    void testReduceVisitsEveryMessageOnce() throws Exception {
+        for (long chunkSize : new long[]{97, 1000, 4096, Files.size(file)}) {
+            // Given
+            ParallelFixLogProcessor processor = new ParallelFixLogProcessor(parser, pool, chunkSize);
+
+            // When
+            long[] totals = processor.reduce(file, () -> new long[2],
+                (acc, message) -> {
+                    acc[0]++;
+                    acc[1] += Long.parseLong(((NewOrderSingleMessage) message).getClOrdID());
+                },
+                (left, right) -> new long[]{left[0] + right[0], left[1] + right[1]});
+
+            // Then
+            assertEquals(MESSAGE_COUNT, totals[0], "chunk size " + chunkSize);
+            assertEquals((long) MESSAGE_COUNT * (MESSAGE_COUNT - 1) / 2, totals[1], "chunk size " + chunkSize);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package fix.parser.impl;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Builds well-formed FIX 4.4 test messages with correct BodyLength(9) and CheckSum(10).
+ */
+final class TestMessages {
+    private TestMessages() {
+    }
+
+    static byte[] newOrderSingle(String clOrdId, String symbol) {
+        return fix("35=D\u000149=BUYER\u000156=SELLER\u000134=1\u000152=20230615-14:30:00.000\u0001" +
+            "11=" + clOrdId + "\u000155=" + symbol + "\u000154=1\u000144=150.25\u000138=1000\u0001");
+    }
+
+    static byte[] fix(String body) {
+        String header = "8=FIX.4.4\u00019=" + body.length() + "\u0001";
+        int checksum = 0;
+        for (byte b : (header + body).getBytes(StandardCharsets.ISO_8859_1)) {
+            checksum += b;
+        }
+        return (header + body + "10=%03d\u0001".formatted(checksum & 0xFF)).getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    static byte[] concat(byte[]... messages) {
+        int length = 0;
+        for (byte[] message : messages) {
+            length += message.length;
+        }
+        byte[] stream = new byte[length];
+        int position = 0;
+        for (byte[] message : messages) {
+            System.arraycopy(message, 0, stream, position, message.length);
+            position += message.length;
+        }
+        return stream;
+    }
+}
@@ -0,0 +1,102 @@
+package fix.parser.jmh;
+
+import fix.parser.spec.FixSpec;
+import fix.parser.spec.FixSpecParser;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The FIX 4.4 specification and well-formed messages of several types and sizes, with correct BodyLength(9) and
+ * CheckSum(10), shared by the benchmarks.
+ */
+final class BenchmarkMessages {
+    static final String HEADER = "49=BUYER\u000156=SELLER\u000134=1\u000152=20230615-14:30:00.000\u0001";
+
+    private BenchmarkMessages() {
+    }
+
+    static FixSpec spec() {
+        try (InputStream xml = BenchmarkMessages.class.getResourceAsStream("/FIX44.xml")) {
+            if (xml == null) {
+                throw new IllegalStateException("FIX44.xml is not on the classpath");
+            }
+            return new FixSpecParser(xml).parse();
+        } catch (IOException | SAXException | ParserConfigurationException e) {
+            throw new IllegalStateException("Cannot read FIX44.xml", e);
+        }
+    }
+
+    /**
+     * Looks up a message by the name used in the {@code @Param} values of the benchmarks.
+     */
+    static byte[] byName(String name) {
+        return switch (name) {
+            case "heartbeat" -> fix("35=0\u0001" + HEADER);
+            case "newOrderSingle" -> newOrderSingle(0);
+            case "newOrderSingleParties" -> newOrderSingle(4);
+            case "allFieldTypes" -> allFieldTypes();
+            case "userRequestData" -> userRequest(1024);
+            case "marketData10" -> marketData(10);
+            case "marketData100" -> marketData(100);
+            case "marketData1000" -> marketData(1000);
+            default -> throw new IllegalArgumentException("Unknown benchmark message: " + name);
+        };
+    }
+
+    static byte[] newOrderSingle(int parties) {
+        StringBuilder body = new StringBuilder("35=D\u0001").append(HEADER).append("11=123456\u0001");
+        appendParties(body, parties);
+        body.append("55=IBM\u000154=1\u000160=20230615-14:30:00.123\u000138=1000\u000140=2\u000144=150.25\u0001");
+        return fix(body.toString());
+    }
+
+    /**
+     * A NewOrderSingle with a field for every getter family: string, char, int, long, double and decimal,
+     * boolean, timestamp, date and DATA.
+     */
+    static byte[] allFieldTypes() {
+        return fix("35=D\u0001" + HEADER + "11=123456\u00011=ACCOUNT-7\u0001" +
+            "55=IBM\u000154=1\u000160=20230615-14:30:00.123456789\u000138=1000\u000140=2\u000144=150.25\u0001" +
+            "423=2\u000159=6\u0001432=20230630\u0001114=Y\u0001354=11\u0001355=hello\u0001world\u0001");
+    }
+
+    static byte[] userRequest(int rawDataLength) {
+        String rawData = "a=b\u0001".repeat(rawDataLength / 4);
+        return fix("35=BE\u0001" + HEADER + "923=REQ12345\u0001924=1\u0001553=testuser\u0001" +
+            "95=" + rawData.length() + "\u000196=" + rawData + "\u0001");
+    }
+
+    /**
+     * A MarketDataSnapshotFullRefresh with {@code entries} instances of the NoMDEntries group.
+     */
+    static byte[] marketData(int entries) {
+        StringBuilder body = new StringBuilder("35=W\u0001").append(HEADER).append("55=IBM\u0001268=").append(entries).append('\u0001');
+        for (int i = 0; i < entries; i++) {
+            body.append("269=").append(i % 2).append("\u0001270=").append(150 + i % 100).append('.').append(i % 100)
+                .append("\u0001271=").append(100 * (i + 1)).append('\u0001');
+        }
+        return fix(body.toString());
+    }
+
+    private static void appendParties(StringBuilder body, int parties) {
+        if (parties > 0) {
+            body.append("453=").append(parties).append('\u0001');
+            for (int i = 0; i < parties; i++) {
+                body.append("448=TRADER").append(i).append("\u0001447=D\u0001452=").append(i + 1).append('\u0001');
+            }
+        }
+    }
+
+    static byte[] fix(String body) {
+        String header = "8=FIX.4.4\u00019=" + body.length() + "\u0001";
+        int checksum = 0;
+        for (byte b : (header + body).getBytes(StandardCharsets.ISO_8859_1)) {
+            checksum += b;
+        }
+        return (header + body + "10=%03d\u0001".formatted(checksum & 0xFF)).getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
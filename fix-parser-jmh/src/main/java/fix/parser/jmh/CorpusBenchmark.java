@@ -0,0 +1,71 @@
+package fix.parser.jmh;
+
+import fix.parser.impl.CorpusConfig;
+import fix.parser.impl.FixCorpusGenerator;
+import fix.parser.impl.FixMessageParser;
+import fix.parser.message.base.FixMessage;
+import fix.parser.message.base.MutableFixMessage;
+import fix.parser.spec.FixSpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing cost over a generated corpus, one message per operation, so that the parser sees a mix of message
+ * types and shapes instead of the same bytes every time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class CorpusBenchmark {
+    private static final int CORPUS_SIZE = 10_000;
+
+    // Mostly orders and executions, with some cancels, replaces and market data
+    static final Map<String, Integer> TRADING_MIX = Map.of(
+        "D", 40, "8", 40, "F", 5, "G", 5, "W", 5, "X", 5);
+
+    @Param({"trading", "allTypes"})
+    public String mix;
+
+    private byte[][] corpus;
+    private int next;
+    private FixMessageParser parser;
+    private final MutableFixMessage holder = new MutableFixMessage();
+
+    @Setup
+    public void setUp() {
+        FixSpec spec = BenchmarkMessages.spec();
+        CorpusConfig config = switch (mix) {
+            case "trading" -> CorpusConfig.DEFAULT.withMessageMix(TRADING_MIX);
+            case "allTypes" -> CorpusConfig.DEFAULT;
+            default -> throw new IllegalArgumentException("Unknown mix: " + mix);
+        };
+        FixCorpusGenerator generator = new FixCorpusGenerator(spec, config);
+        corpus = new byte[CORPUS_SIZE][];
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            corpus[i] = generator.next();
+        }
+        parser = new FixMessageParser(spec);
+    }
+
+    @Benchmark
+    public FixMessage parseInto() {
+        byte[] message = corpus[next];
+        next = next + 1 == CORPUS_SIZE ? 0 : next + 1;
+        return parser.parseInto(message, holder);
+    }
+}
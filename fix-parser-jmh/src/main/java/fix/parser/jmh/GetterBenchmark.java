@@ -0,0 +1,163 @@
+package fix.parser.jmh;
+
+import fix.parser.impl.FixMessageParser;
+import fix.parser.impl.FixParserConfig;
+import fix.parser.message.base.AsciiSequence;
+import fix.parser.message.base.MutableFixMessage;
+import fix.parser.messages44.Header;
+import fix.parser.messages44.NewOrderSingleMessage;
+import fix.parser.messages44.Trailer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one getter of each family on a parsed NewOrderSingle, looking fields up by linear scan or through the
+ * tag index. The {@code header} and {@code trailer} benchmarks read the fields every message type shares from
+ * messages of several types and sizes, so their scores show how a lookup scales with the fields before it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class GetterBenchmark {
+    @Param({"false", "true"})
+    public boolean tagIndex;
+
+    private FixMessageParser parser;
+    private NewOrderSingleMessage message;
+
+    @Setup
+    public void setUp() {
+        parser = new FixMessageParser(BenchmarkMessages.spec(), FixParserConfig.DEFAULT.withTagIndex(tagIndex));
+        message = (NewOrderSingleMessage) parser.parseInto(BenchmarkMessages.allFieldTypes(), new MutableFixMessage());
+    }
+
+    /**
+     * A message of one of the {@link BenchmarkMessages}, read through the header and trailer wrappers, which fit
+     * any message type.
+     */
+    @State(Scope.Thread)
+    public static class AnyMessage {
+        @Param({"heartbeat", "newOrderSingleParties", "userRequestData", "marketData100", "marketData1000"})
+        public String message;
+
+        private Header header;
+        private Trailer trailer;
+
+        @Setup
+        public void setUp(GetterBenchmark benchmark) {
+            MutableFixMessage holder = new MutableFixMessage();
+            benchmark.parser.parseInto(BenchmarkMessages.byName(message), holder);
+            header = new Header(holder.segment());
+            trailer = new Trailer(holder.segment());
+        }
+    }
+
+    @Benchmark
+    public String string() {
+        return message.getClOrdID();
+    }
+
+    @Benchmark
+    public AsciiSequence stringView() {
+        return message.getClOrdIDView();
+    }
+
+    @Benchmark
+    public String internedString() {
+        return message.getInstrument().getSymbol();
+    }
+
+    @Benchmark
+    public char charValue() {
+        return message.getSide();
+    }
+
+    @Benchmark
+    public int intValue() {
+        return message.getPriceType();
+    }
+
+    @Benchmark
+    public long longValue() {
+        return message.getHeader().getMsgSeqNumAsLong();
+    }
+
+    @Benchmark
+    public double doubleValue() {
+        return message.getPrice();
+    }
+
+    @Benchmark
+    public long decimal() {
+        return message.getPriceAsDecimal(4);
+    }
+
+    @Benchmark
+    public boolean booleanValue() {
+        return message.getLocateReqd();
+    }
+
+    @Benchmark
+    public long timestampEpochNanos() {
+        return message.getTransactTimeEpochNanos();
+    }
+
+    @Benchmark
+    public Instant timestampInstant() {
+        return message.getTransactTime();
+    }
+
+    @Benchmark
+    public int dateAsInt() {
+        return message.getExpireDateAsInt();
+    }
+
+    @Benchmark
+    public LocalDate localDate() {
+        return message.getExpireDate();
+    }
+
+    @Benchmark
+    public byte[] data() {
+        return message.getEncodedText();
+    }
+
+    @Benchmark
+    public String headerString(AnyMessage any) {
+        return any.header.getSenderCompID();
+    }
+
+    @Benchmark
+    public long headerLong(AnyMessage any) {
+        return any.header.getMsgSeqNumAsLong();
+    }
+
+    @Benchmark
+    public long headerTimestamp(AnyMessage any) {
+        return any.header.getSendingTimeEpochNanos();
+    }
+
+    /**
+     * CheckSum is the last field, so a linear scan passes every other field to reach it.
+     */
+    @Benchmark
+    public AsciiSequence trailerView(AnyMessage any) {
+        return any.trailer.getCheckSumView();
+    }
+}
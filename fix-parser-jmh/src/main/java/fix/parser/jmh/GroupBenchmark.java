@@ -0,0 +1,72 @@
+package fix.parser.jmh;
+
+import fix.parser.impl.FixMessageParser;
+import fix.parser.message.base.MutableFixMessage;
+import fix.parser.messages44.MarketDataSnapshotFullRefreshMessage;
+import fix.parser.messages44.NoMDEntriesGroup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reading every instance of a repeating group through the array getter, the indexed getter and a
+ * reusable cursor, for groups of increasing size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class GroupBenchmark {
+    @Param({"1", "10", "100", "1000"})
+    public int entries;
+
+    private MarketDataSnapshotFullRefreshMessage message;
+
+    @Setup
+    public void setUp() {
+        FixMessageParser parser = new FixMessageParser(BenchmarkMessages.spec());
+        message = (MarketDataSnapshotFullRefreshMessage) parser.parseInto(BenchmarkMessages.marketData(entries),
+            new MutableFixMessage());
+    }
+
+    @Benchmark
+    public long array() {
+        long sum = 0;
+        for (NoMDEntriesGroup entry : message.getMDEntries()) {
+            sum += entry.getMDEntryPxAsDecimal(2);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long indexed() {
+        long sum = 0;
+        int count = message.getMDEntriesCount();
+        for (int i = 0; i < count; i++) {
+            sum += message.getMDEntries(i).getMDEntryPxAsDecimal(2);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long cursor() {
+        long sum = 0;
+        NoMDEntriesGroup.Cursor cursor = message.getMDEntriesCursor();
+        while (cursor.next()) {
+            sum += cursor.getMDEntryPxAsDecimal(2);
+        }
+        return sum;
+    }
+}
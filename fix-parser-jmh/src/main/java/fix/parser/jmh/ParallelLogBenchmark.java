@@ -0,0 +1,76 @@
+package fix.parser.jmh;
+
+import fix.parser.impl.CorpusConfig;
+import fix.parser.impl.FixCorpusGenerator;
+import fix.parser.impl.FixMessageParser;
+import fix.parser.impl.ParallelFixLogProcessor;
+import fix.parser.spec.FixSpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to parse a whole generated log with {@link ParallelFixLogProcessor}, by number of worker threads, so that
+ * the scores show how scanning mapped chunks scales. Divide the message count or the file size by the score for
+ * the throughput.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class ParallelLogBenchmark {
+    private static final long CHUNK_SIZE = 16L * 1024 * 1024;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int threads;
+
+    @Param({"1000000"})
+    public int messages;
+
+    private Path file;
+    private ForkJoinPool pool;
+    private ParallelFixLogProcessor processor;
+
+    @Setup
+    public void setUp() throws IOException {
+        FixSpec spec = BenchmarkMessages.spec();
+        file = Files.createTempFile("fix-parallel-benchmark", ".log");
+        new FixCorpusGenerator(spec, CorpusConfig.DEFAULT.withMessageMix(CorpusBenchmark.TRADING_MIX))
+            .writeCorpus(file, messages);
+        pool = new ForkJoinPool(threads);
+        processor = new ParallelFixLogProcessor(new FixMessageParser(spec), pool, CHUNK_SIZE);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        pool.shutdown();
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public long countMessages() throws IOException {
+        long[] count = processor.reduce(file, () -> new long[1], (acc, message) -> acc[0]++,
+            (left, right) -> new long[]{left[0] + right[0]});
+        if (count[0] != messages) {
+            throw new IllegalStateException("Expected " + messages + " messages but counted " + count[0]);
+        }
+        return count[0];
+    }
+}
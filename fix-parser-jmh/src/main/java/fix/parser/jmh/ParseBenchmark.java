@@ -0,0 +1,85 @@
+package fix.parser.jmh;
+
+import fix.parser.impl.FixMessageParser;
+import fix.parser.impl.FixParserConfig;
+import fix.parser.message.base.FixMessage;
+import fix.parser.message.base.MutableFixMessage;
+import fix.parser.spec.FixSpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing cost per message type and size, allocating a new message or reusing a holder, with each parser option.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class ParseBenchmark {
+    @Param({"heartbeat", "newOrderSingle", "newOrderSingleParties", "userRequestData",
+        "marketData10", "marketData100", "marketData1000"})
+    public String message;
+
+    private byte[] bytes;
+    private ByteBuffer direct;
+    private FixMessageParser parser;
+    private FixMessageParser tagIndexParser;
+    private FixMessageParser lazyGroupsParser;
+    private FixMessageParser verifyingParser;
+    private final MutableFixMessage holder = new MutableFixMessage();
+
+    @Setup
+    public void setUp() {
+        FixSpec spec = BenchmarkMessages.spec();
+        bytes = BenchmarkMessages.byName(message);
+        direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        parser = new FixMessageParser(spec);
+        tagIndexParser = new FixMessageParser(spec, FixParserConfig.DEFAULT.withTagIndex(true));
+        lazyGroupsParser = new FixMessageParser(spec, FixParserConfig.DEFAULT.withLazyGroups(true));
+        verifyingParser = new FixMessageParser(spec, FixParserConfig.DEFAULT.withVerifyChecksum(true));
+    }
+
+    @Benchmark
+    public FixMessage parse() {
+        return parser.parse(bytes);
+    }
+
+    @Benchmark
+    public FixMessage parseInto() {
+        return parser.parseInto(bytes, holder);
+    }
+
+    @Benchmark
+    public FixMessage parseIntoFromDirectBuffer() {
+        return parser.parseInto(direct, holder);
+    }
+
+    @Benchmark
+    public FixMessage parseIntoWithTagIndex() {
+        return tagIndexParser.parseInto(bytes, holder);
+    }
+
+    @Benchmark
+    public FixMessage parseIntoWithLazyGroups() {
+        return lazyGroupsParser.parseInto(bytes, holder);
+    }
+
+    @Benchmark
+    public FixMessage parseIntoVerifyingChecksum() {
+        return verifyingParser.parseInto(bytes, holder);
+    }
+}